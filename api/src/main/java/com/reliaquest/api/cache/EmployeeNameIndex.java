@@ -0,0 +1,206 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Case-insensitive substring index over {@link Employee#getEmployeeName()}, built from trigram posting lists.
+ *
+ * <p>A query of three or more characters intersects the posting lists of its trigrams and verifies each candidate
+ * against the snapshot being searched, so results are exact even while the index is being updated. Shorter queries
+ * fall back to a scan. Neither path allocates per employee.
+ *
+ * <p>The index is maintained incrementally: {@link #update} only touches employees whose name was added, changed or
+ * removed between two snapshots. New postings are added before the new snapshot is published and stale postings are
+ * dropped after it, so the postings always cover the snapshot indexed last. They are shared, though, so an older
+ * snapshot may already have lost some of its postings; a search that finds its snapshot superseded once it has read
+ * the postings scans it instead. Updates must be serialized by the caller; searches may run concurrently with them.
+ */
+public class EmployeeNameIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final ConcurrentMap<Long, Set<String>> postings = new ConcurrentHashMap<>();
+
+    /** The snapshot the postings cover; set before it is published, so before its stale postings are dropped. */
+    private volatile EmployeeSnapshot indexed;
+
+    public void update(EmployeeSnapshot previous, EmployeeSnapshot next, Runnable publish) {
+        for (Map.Entry<String, Integer> entry : next.positionsById().entrySet()) {
+            String name = next.getEmployees().get(entry.getValue()).getEmployeeName();
+            addPostings(entry.getKey(), name, nameOf(previous, entry.getKey()));
+        }
+        indexed = next;
+        publish.run();
+        if (previous == null) {
+            return;
+        }
+        for (Map.Entry<String, Integer> entry : previous.positionsById().entrySet()) {
+            String previousName = previous.getEmployees().get(entry.getValue()).getEmployeeName();
+            removePostings(entry.getKey(), previousName, nameOf(next, entry.getKey()));
+        }
+    }
+
+    /**
+     * Same as {@link #update(EmployeeSnapshot, EmployeeSnapshot, Runnable)} when only the employees with the given
+     * ids may differ between the two snapshots, touching just those.
+     */
+    public void update(
+            EmployeeSnapshot previous, EmployeeSnapshot next, Collection<String> changedIds, Runnable publish) {
+        for (String id : changedIds) {
+            addPostings(id, nameOf(next, id), nameOf(previous, id));
+        }
+        indexed = next;
+        publish.run();
+        for (String id : changedIds) {
+            removePostings(id, nameOf(previous, id), nameOf(next, id));
+        }
+    }
+
+    public List<Employee> search(EmployeeSnapshot snapshot, String needle) {
+        if (needle.length() < GRAM_LENGTH) {
+            return scan(snapshot, needle);
+        }
+        List<String> candidates = candidates(needle);
+        if (snapshot != indexed) {
+            return scan(snapshot, needle);
+        }
+        List<Employee> employees = snapshot.getEmployees();
+        List<Integer> positions = new ArrayList<>();
+        for (String id : candidates) {
+            int position = snapshot.positionOf(id);
+            if (position >= 0 && matches(employees.get(position), needle)) {
+                positions.add(position);
+            }
+        }
+        for (int position : snapshot.unindexedPositions()) {
+            if (matches(employees.get(position), needle)) {
+                positions.add(position);
+            }
+        }
+        Collections.sort(positions);
+        List<Employee> matches = new ArrayList<>(positions.size());
+        positions.forEach(position -> matches.add(employees.get(position)));
+        return matches;
+    }
+
+    int postingListCount() {
+        return postings.size();
+    }
+
+    private List<String> candidates(String needle) {
+        long[] grams = grams(needle);
+        List<Set<String>> lists = new ArrayList<>(grams.length);
+        Set<String> smallest = null;
+        for (long gram : grams) {
+            Set<String> ids = postings.get(gram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+            if (smallest == null || ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        List<String> candidates = new ArrayList<>();
+        for (String id : smallest) {
+            if (containedInAll(lists, id)) {
+                candidates.add(id);
+            }
+        }
+        return candidates;
+    }
+
+    private static boolean containedInAll(List<Set<String>> lists, String id) {
+        for (Set<String> ids : lists) {
+            if (!ids.contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Employee> scan(EmployeeSnapshot snapshot, String needle) {
+        List<Employee> matches = new ArrayList<>();
+        for (Employee employee : snapshot.getEmployees()) {
+            if (matches(employee, needle)) {
+                matches.add(employee);
+            }
+        }
+        return matches;
+    }
+
+    private void addPostings(String id, String name, String previousName) {
+        if (name != null && !name.equals(previousName)) {
+            for (long gram : grams(name)) {
+                postings.computeIfAbsent(gram, ignored -> ConcurrentHashMap.newKeySet())
+                        .add(id);
+            }
+        }
+    }
+
+    private void removePostings(String id, String previousName, String name) {
+        if (previousName != null && !previousName.equals(name)) {
+            long[] retained = name == null ? new long[0] : grams(name);
+            for (long gram : grams(previousName)) {
+                if (Arrays.binarySearch(retained, gram) < 0) {
+                    postings.computeIfPresent(gram, (ignored, ids) -> {
+                        ids.remove(id);
+                        return ids.isEmpty() ? null : ids;
+                    });
+                }
+            }
+        }
+    }
+
+    private static String nameOf(EmployeeSnapshot snapshot, String id) {
+        if (snapshot == null) {
+            return null;
+        }
+        Employee employee = snapshot.findById(id);
+        return employee == null ? null : employee.getEmployeeName();
+    }
+
+    static boolean matches(Employee employee, String needle) {
+        String name = employee.getEmployeeName();
+        if (name == null) {
+            return false;
+        }
+        int last = name.length() - needle.length();
+        for (int offset = 0; offset <= last; offset++) {
+            if (name.regionMatches(true, offset, needle, 0, needle.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns the distinct, sorted trigrams of {@code value}, each packed into a long after case folding. */
+    static long[] grams(String value) {
+        int count = value.length() - GRAM_LENGTH + 1;
+        if (count <= 0) {
+            return new long[0];
+        }
+        long[] grams = new long[count];
+        for (int i = 0; i < count; i++) {
+            grams[i] = ((long) fold(value.charAt(i)) << 32)
+                    | ((long) fold(value.charAt(i + 1)) << 16)
+                    | fold(value.charAt(i + 2));
+        }
+        Arrays.sort(grams);
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    /** Folds case the same way {@link String#regionMatches(boolean, int, String, int, int)} compares characters. */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
@@ -0,0 +1,171 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Immutable point-in-time copy of the upstream employee list. Every read endpoint is answered from one of these, so
+ * derived read models are computed once here rather than per request.
+ *
+ * <p>Once published by {@link EmployeeSnapshotCache} a snapshot carries a {@link #version} and {@link #lastModified}
+ * time that only change when its employees do, which makes them usable as HTTP validators.
+ */
+@Getter
+public final class EmployeeSnapshot {
+
+    private final List<Employee> employees;
+    private final Instant fetchedAt;
+    private final SalaryAggregates salaryAggregates;
+
+    /** Opaque token identifying the employee list; {@code null} until the snapshot is published. */
+    private final String version;
+
+    /** When the employee list last changed, to whole seconds; {@code null} until the snapshot is published. */
+    private final Instant lastModified;
+
+    @Getter(AccessLevel.NONE)
+    private final int topK;
+
+    /** Position in {@link #employees} of every employee with a unique, non-null id. */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Integer> positionsById;
+
+    /** Positions of employees that cannot be looked up by id (missing or duplicated id). */
+    @Getter(AccessLevel.NONE)
+    private final int[] unindexedPositions;
+
+    private EmployeeSnapshot(
+            List<Employee> employees,
+            Instant fetchedAt,
+            SalaryAggregates salaryAggregates,
+            String version,
+            Instant lastModified,
+            int topK,
+            Map<String, Integer> positionsById,
+            int[] unindexedPositions) {
+        this.employees = employees;
+        this.fetchedAt = fetchedAt;
+        this.salaryAggregates = salaryAggregates;
+        this.version = version;
+        this.lastModified = lastModified;
+        this.topK = topK;
+        this.positionsById = positionsById;
+        this.unindexedPositions = unindexedPositions;
+    }
+
+    public static EmployeeSnapshot of(@NonNull List<Employee> employees, @NonNull Instant fetchedAt, int topK) {
+        List<Employee> copy = Collections.unmodifiableList(new ArrayList<>(employees));
+        Map<String, Integer> positionsById = new HashMap<>(Math.max(16, copy.size() * 4 / 3 + 1));
+        List<Integer> unindexed = new ArrayList<>();
+        for (int position = 0; position < copy.size(); position++) {
+            String id = copy.get(position).getId();
+            if (id == null || positionsById.putIfAbsent(id, position) != null) {
+                unindexed.add(position);
+            }
+        }
+        return new EmployeeSnapshot(
+                copy,
+                fetchedAt,
+                SalaryAggregates.from(copy, topK),
+                null,
+                null,
+                topK,
+                Collections.unmodifiableMap(positionsById),
+                unindexed.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /** Returns this snapshot labelled with the given validators; nothing is recomputed. */
+    public EmployeeSnapshot withVersion(@NonNull String version, @NonNull Instant lastModified) {
+        return new EmployeeSnapshot(
+                employees, fetchedAt, salaryAggregates, version, lastModified, topK, positionsById, unindexedPositions);
+    }
+
+    /** Returns this snapshot as if fetched again at {@code fetchedAt}, for an upstream that reported no change. */
+    public EmployeeSnapshot renewedAt(@NonNull Instant fetchedAt) {
+        return new EmployeeSnapshot(
+                employees, fetchedAt, salaryAggregates, version, lastModified, topK, positionsById, unindexedPositions);
+    }
+
+    public Duration ageAt(Instant now) {
+        return Duration.between(fetchedAt, now);
+    }
+
+    /** Returns the position of the employee with the given id, or {@code -1} if it is not in this snapshot. */
+    public int positionOf(String id) {
+        Integer position = positionsById.get(id);
+        return position == null ? -1 : position;
+    }
+
+    public Employee findById(String id) {
+        int position = positionOf(id);
+        return position < 0 ? null : employees.get(position);
+    }
+
+    /**
+     * Returns a copy of this snapshot with {@code employee} appended, or replacing the entry with the same id. The
+     * fetch time is kept, so local writes never extend the snapshot's lifetime.
+     */
+    public EmployeeSnapshot withEmployee(@NonNull Employee employee) {
+        List<Employee> next = new ArrayList<>(employees);
+        int position = employee.getId() == null ? -1 : positionOf(employee.getId());
+        if (position >= 0) {
+            next.set(position, employee);
+        } else {
+            next.add(employee);
+        }
+        return of(next, fetchedAt, topK);
+    }
+
+    /** Returns a copy of this snapshot without the employee with the given id, or this snapshot if it is absent. */
+    public EmployeeSnapshot withoutEmployee(String id) {
+        int position = positionOf(id);
+        if (position < 0) {
+            return this;
+        }
+        List<Employee> next = new ArrayList<>(employees);
+        next.remove(position);
+        return of(next, fetchedAt, topK);
+    }
+
+    /**
+     * Returns a copy of this snapshot with {@code changes} applied in one pass, fetched at {@code fetchedAt}. Each
+     * entry maps an id to the employee replacing it, appended if the id is new, or to {@code null} to remove it.
+     */
+    public EmployeeSnapshot withChanges(@NonNull Map<String, Employee> changes, @NonNull Instant fetchedAt) {
+        List<Employee> next = new ArrayList<>(employees.size() + changes.size());
+        Set<String> applied = new HashSet<>();
+        for (Employee employee : employees) {
+            String id = employee.getId();
+            if (id == null || !changes.containsKey(id)) {
+                next.add(employee);
+            } else if (applied.add(id) && changes.get(id) != null) {
+                next.add(changes.get(id));
+            }
+        }
+        changes.forEach((id, employee) -> {
+            if (employee != null && !applied.contains(id)) {
+                next.add(employee);
+            }
+        });
+        return of(next, fetchedAt, topK);
+    }
+
+    Map<String, Integer> positionsById() {
+        return positionsById;
+    }
+
+    int[] unindexedPositions() {
+        return unindexedPositions;
+    }
+}
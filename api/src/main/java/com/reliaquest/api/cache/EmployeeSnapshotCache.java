@@ -0,0 +1,380 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiUnavailableException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the last good {@link EmployeeSnapshot} and decides when it has to be refreshed from the upstream API.
+ *
+ * <p>A snapshot younger than {@code ttl - refreshAhead} is served as is. Past that point it is still served, but a
+ * single background refresh is kicked off (refresh-ahead while fresh, stale-while-revalidate once past the TTL).
+ * Only when no snapshot exists, or the current one is older than {@code maxStaleness}, does the caller block on the
+ * upstream. If that load is rejected because the upstream circuit is open, the last known snapshot is served
+ * regardless of its age.
+ *
+ * <p>Published snapshots are versioned: a new version, with a later last-modified second, is assigned only when the
+ * employee list differs from the previous snapshot's. A refresh that hands back the very list published last, as
+ * {@link EmployeeApiClient} does when the upstream answers a conditional GET with 304, just renews the current
+ * snapshot's fetch time.
+ *
+ * <p>When the upstream reports which version of its listing a refresh read, later refreshes first ask for the changes
+ * since that version and apply them to the current snapshot, updating the name index only for the employees they
+ * touch. If the upstream can no longer serve them, or they exceed {@code maxChanges}, the whole listing is reloaded.
+ */
+@Slf4j
+@Component
+public class EmployeeSnapshotCache {
+
+    private final EmployeeApiClient apiClient;
+    private final EmployeeApiProperties properties;
+    private final TaskExecutor refreshExecutor;
+    private final Clock clock;
+
+    private final AtomicReference<EmployeeSnapshot> current = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    /** Held across the upstream call, so it must not be a monitor: that would pin a virtual thread to its carrier. */
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final Object publishLock = new Object();
+    private final EmployeeNameIndex nameIndex = new EmployeeNameIndex();
+    private final String epoch;
+    private EmployeeSnapshot indexedSnapshot;
+    /** List the indexed snapshot was last published from; cleared once a local write diverges from it. */
+    private List<Employee> publishedSource;
+    /** Upstream listing version the indexed snapshot reflects, or {@code null} if unknown. */
+    private String upstreamVersion;
+    private long versions;
+
+    @Autowired
+    public EmployeeSnapshotCache(
+            EmployeeApiClient apiClient, EmployeeApiProperties properties, TaskExecutor refreshExecutor) {
+        this(apiClient, properties, refreshExecutor, Clock.systemUTC());
+    }
+
+    EmployeeSnapshotCache(
+            EmployeeApiClient apiClient, EmployeeApiProperties properties, TaskExecutor refreshExecutor, Clock clock) {
+        this.apiClient = apiClient;
+        this.properties = properties;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.epoch = Long.toString(clock.millis(), 36);
+    }
+
+    public EmployeeSnapshot get() {
+        if (!properties.getCache().isEnabled()) {
+            return refreshOrFallback();
+        }
+        EmployeeSnapshot snapshot = getIfUsable();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        EmployeeSnapshot stale = current.get();
+        if (stale != null) {
+            log.debug("Employee snapshot is {}ms old, past max staleness; reloading", ageMillis(stale));
+        }
+        return loadBlocking(stale);
+    }
+
+    /**
+     * Non-blocking variant of {@link #get()}: returns the current snapshot if it may still be served, scheduling a
+     * background refresh as {@link #get()} would, or {@code null} if the caller has to load a fresh one.
+     */
+    public EmployeeSnapshot getIfUsable() {
+        EmployeeApiProperties.Cache settings = properties.getCache();
+        EmployeeSnapshot snapshot = current.get();
+        if (!settings.isEnabled() || snapshot == null) {
+            return null;
+        }
+        Duration age = snapshot.ageAt(clock.instant());
+        if (age.compareTo(settings.getMaxStaleness()) >= 0) {
+            return null;
+        }
+        if (age.compareTo(settings.getTtl().minus(settings.getRefreshAhead())) >= 0) {
+            scheduleRefresh();
+        }
+        return snapshot;
+    }
+
+    public List<Employee> searchByName(String needle) {
+        return searchByName(get(), needle);
+    }
+
+    public List<Employee> searchByName(EmployeeSnapshot snapshot, String needle) {
+        return nameIndex.search(snapshot, needle);
+    }
+
+    public EmployeeSnapshot refresh() {
+        EmployeeSnapshot synced = syncChanges();
+        if (synced != null) {
+            return synced;
+        }
+        List<Employee> employees = apiClient.fetchAllEmployees();
+        return publish(employees);
+    }
+
+    /**
+     * Publishes a freshly fetched employee list as the current snapshot. The list must not be modified afterwards:
+     * publishing the same instance again is taken to mean the upstream reported no change.
+     */
+    public EmployeeSnapshot publish(List<Employee> employees) {
+        return publish(employees, null);
+    }
+
+    /**
+     * Same as {@link #publish(List)} for a list the upstream reported at {@code version}, so later refreshes can catch
+     * up through its change feed. Without one, the version the blocking client read the list at is used, if the list
+     * is its own: loads of both clients are coalesced, so a non-blocking load may return the blocking client's list.
+     */
+    public EmployeeSnapshot publish(List<Employee> employees, String version) {
+        String listingVersion = version != null ? version : apiClient.versionOf(employees);
+        synchronized (publishLock) {
+            if (indexedSnapshot != null && employees == publishedSource) {
+                upstreamVersion = listingVersion;
+                log.debug("Employee snapshot revalidated with {} employees", employees.size());
+                return renew();
+            }
+            EmployeeSnapshot snapshot =
+                    install(EmployeeSnapshot.of(employees, clock.instant(), properties.getCache().getTopK()), null);
+            publishedSource = employees;
+            upstreamVersion = listingVersion;
+            log.debug("Employee snapshot refreshed with {} employees", employees.size());
+            return snapshot;
+        }
+    }
+
+    /**
+     * Brings the current snapshot up to date from the upstream change feed.
+     *
+     * @return the updated snapshot, or {@code null} if the whole listing has to be reloaded instead
+     */
+    private EmployeeSnapshot syncChanges() {
+        EmployeeApiProperties.Cache settings = properties.getCache();
+        String since;
+        synchronized (publishLock) {
+            since = upstreamVersion;
+        }
+        if (!settings.isDeltaSync() || since == null) {
+            return null;
+        }
+        EmployeeChanges delta = apiClient.fetchChanges(since, settings.getMaxChanges());
+        if (delta == null || delta.isReset() || delta.getVersion() == null) {
+            log.debug("Employee change feed cannot serve version {}; reloading the listing", since);
+            return null;
+        }
+        synchronized (publishLock) {
+            if (!since.equals(upstreamVersion)) {
+                // a concurrent refresh got there first
+                return current.get();
+            }
+            Map<String, Employee> changes = new LinkedHashMap<>();
+            if (delta.getChanges() != null) {
+                for (EmployeeChange change : delta.getChanges()) {
+                    if (change.getId() != null) {
+                        changes.put(change.getId(), change.isDelete() ? null : change.getEmployee());
+                    }
+                }
+            }
+            upstreamVersion = delta.getVersion();
+            if (changes.isEmpty()) {
+                return renew();
+            }
+            EmployeeSnapshot snapshot =
+                    install(indexedSnapshot.withChanges(changes, clock.instant()), changes.keySet());
+            publishedSource = null;
+            log.debug("Employee snapshot caught up to version {} with {} changes", upstreamVersion, changes.size());
+            return snapshot;
+        }
+    }
+
+    private EmployeeSnapshot renew() {
+        EmployeeSnapshot renewed = indexedSnapshot.renewedAt(clock.instant());
+        current.set(renewed);
+        indexedSnapshot = renewed;
+        return renewed;
+    }
+
+    /** Returns the last snapshot published, however old, or {@code null} if none was ever loaded. */
+    public EmployeeSnapshot lastKnown() {
+        return current.get();
+    }
+
+    /** Looks the employee up in the current snapshot without loading one; the result may be stale. */
+    public Employee findCached(String id) {
+        EmployeeSnapshot snapshot = current.get();
+        return snapshot == null ? null : snapshot.findById(id);
+    }
+
+    /** Applies a successful upstream create to the current snapshot, if there is one. */
+    public void add(Employee employee) {
+        if (employee.getId() != null) {
+            mutate(Collections.singletonMap(employee.getId(), employee));
+        }
+    }
+
+    /** Applies a successful upstream delete to the current snapshot, if there is one. */
+    public void remove(String id) {
+        mutate(Collections.singletonMap(id, null));
+    }
+
+    /** Applies successful upstream creates to the current snapshot in one pass, if there is one. */
+    public void addAll(Collection<Employee> employees) {
+        Map<String, Employee> changes = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            if (employee.getId() != null) {
+                changes.put(employee.getId(), employee);
+            }
+        }
+        mutate(changes);
+    }
+
+    /** Applies successful upstream deletes to the current snapshot in one pass, if there is one. */
+    public void removeAll(Collection<String> ids) {
+        Map<String, Employee> changes = new LinkedHashMap<>();
+        for (String id : ids) {
+            changes.put(id, null);
+        }
+        mutate(changes);
+    }
+
+    public void invalidate() {
+        synchronized (publishLock) {
+            current.set(null);
+            upstreamVersion = null;
+        }
+    }
+
+    /**
+     * Versions and indexes {@code snapshot} and makes it current. With {@code changedIds}, only those employees may
+     * differ from the indexed snapshot and the snapshot always gets a new version.
+     */
+    private EmployeeSnapshot install(EmployeeSnapshot snapshot, Collection<String> changedIds) {
+        synchronized (publishLock) {
+            EmployeeSnapshot previous = indexedSnapshot;
+            boolean unchanged = changedIds == null
+                    && previous != null
+                    && previous.getEmployees().equals(snapshot.getEmployees());
+            EmployeeSnapshot versioned = unchanged
+                    ? snapshot.withVersion(previous.getVersion(), previous.getLastModified())
+                    : snapshot.withVersion(epoch + "-" + ++versions, nextLastModified(previous));
+            if (changedIds == null) {
+                nameIndex.update(previous, versioned, () -> current.set(versioned));
+            } else {
+                nameIndex.update(previous, versioned, changedIds, () -> current.set(versioned));
+            }
+            indexedSnapshot = versioned;
+            return versioned;
+        }
+    }
+
+    /**
+     * HTTP dates only carry whole seconds, so every new version gets a later second than the one before it; otherwise
+     * an {@code If-Modified-Since} sent for a version could match the next one.
+     */
+    private Instant nextLastModified(EmployeeSnapshot previous) {
+        Instant now = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+        if (previous == null || now.isAfter(previous.getLastModified())) {
+            return now;
+        }
+        return previous.getLastModified().plusSeconds(1);
+    }
+
+    /**
+     * Applies {@code changes}, as {@link EmployeeSnapshot#withChanges} takes them, to the current snapshot if there is
+     * one, reindexing only the employees they touch. Deleting employees the snapshot does not hold changes nothing.
+     */
+    private void mutate(Map<String, Employee> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        synchronized (publishLock) {
+            EmployeeSnapshot snapshot = current.get();
+            if (snapshot != null && !onlyDeletesAbsent(snapshot, changes)) {
+                install(snapshot.withChanges(changes, snapshot.getFetchedAt()), changes.keySet());
+                publishedSource = null;
+            }
+        }
+    }
+
+    private static boolean onlyDeletesAbsent(EmployeeSnapshot snapshot, Map<String, Employee> changes) {
+        for (Map.Entry<String, Employee> change : changes.entrySet()) {
+            if (change.getValue() != null || snapshot.positionOf(change.getKey()) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private EmployeeSnapshot loadBlocking(EmployeeSnapshot expected) {
+        loadLock.lock();
+        try {
+            EmployeeSnapshot latest = current.get();
+            if (latest != null && latest != expected && isUsable(latest, clock.instant())) {
+                return latest;
+            }
+            return refreshOrFallback();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private EmployeeSnapshot refreshOrFallback() {
+        try {
+            return refresh();
+        } catch (EmployeeApiUnavailableException ex) {
+            EmployeeSnapshot lastKnown = lastKnown();
+            if (lastKnown == null) {
+                throw ex;
+            }
+            log.warn("Employee API unavailable; serving last known snapshot, {}ms old", ageMillis(lastKnown));
+            return lastKnown;
+        }
+    }
+
+    private long ageMillis(EmployeeSnapshot snapshot) {
+        return snapshot.ageAt(clock.instant()).toMillis();
+    }
+
+    private boolean isUsable(EmployeeSnapshot snapshot, Instant now) {
+        return snapshot.ageAt(now).compareTo(properties.getCache().getMaxStaleness()) < 0;
+    }
+
+    private void scheduleRefresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    refresh();
+                } catch (RuntimeException ex) {
+                    log.warn("Background refresh of employee snapshot failed; serving last good snapshot", ex);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            refreshing.set(false);
+            log.warn("Background refresh of employee snapshot rejected", ex);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import lombok.Getter;
+
+/**
+ * Salary read model derived once per {@link EmployeeSnapshot}: the highest salary and the K highest earners.
+ *
+ * <p>The top-K list is built with a bounded min-heap in O(n log K) and preserves the ordering of a stable descending
+ * sort: equal salaries keep upstream order, and employees without a salary only fill remaining slots, at the end.
+ */
+@Getter
+public final class SalaryAggregates {
+
+    /** Minimum number of top earners kept, as required by the top ten endpoint. */
+    public static final int MIN_TOP_K = 10;
+
+    private static final Comparator<Ranked> WORST_FIRST =
+            Comparator.comparingInt(Ranked::salary).thenComparing(Ranked::position, Comparator.reverseOrder());
+
+    private final int highestSalary;
+    private final List<Employee> topEarners;
+
+    private SalaryAggregates(int highestSalary, List<Employee> topEarners) {
+        this.highestSalary = highestSalary;
+        this.topEarners = topEarners;
+    }
+
+    public static SalaryAggregates from(List<Employee> employees, int topK) {
+        int k = Math.max(MIN_TOP_K, topK);
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(k, WORST_FIRST);
+        List<Employee> withoutSalary = new ArrayList<>();
+        int highestSalary = 0;
+        boolean anySalary = false;
+        for (int position = 0; position < employees.size(); position++) {
+            Employee employee = employees.get(position);
+            Integer salary = employee.getEmployeeSalary();
+            if (salary == null) {
+                if (withoutSalary.size() < k) {
+                    withoutSalary.add(employee);
+                }
+                continue;
+            }
+            if (!anySalary || salary > highestSalary) {
+                highestSalary = salary;
+                anySalary = true;
+            }
+            Ranked candidate = new Ranked(salary, position, employee);
+            if (heap.size() < k) {
+                heap.offer(candidate);
+            } else if (WORST_FIRST.compare(candidate, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(candidate);
+            }
+        }
+
+        List<Ranked> ranked = new ArrayList<>(heap);
+        ranked.sort(WORST_FIRST.reversed());
+        List<Employee> topEarners = new ArrayList<>(k);
+        ranked.forEach(entry -> topEarners.add(entry.employee()));
+        for (int i = 0; topEarners.size() < k && i < withoutSalary.size(); i++) {
+            topEarners.add(withoutSalary.get(i));
+        }
+        return new SalaryAggregates(anySalary ? highestSalary : 0, Collections.unmodifiableList(topEarners));
+    }
+
+    public List<String> topEarnerNames(int limit) {
+        return topEarners.stream()
+                .limit(limit)
+                .map(Employee::getEmployeeName)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private record Ranked(int salary, int position, Employee employee) {}
+}
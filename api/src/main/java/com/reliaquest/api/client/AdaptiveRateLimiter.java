@@ -0,0 +1,208 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiRateLimitException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token bucket shared by every upstream call, blocking and non-blocking, whose rate is learned with AIMD: each
+ * success adds {@code additiveIncrease / rate} permits per second, each 429 multiplies the rate by
+ * {@code multiplicativeDecrease}. A {@code Retry-After} on the 429 closes the bucket until it has passed.
+ *
+ * <p>Callers take a {@link Permit} before sending. A permit may only be granted up to {@code maxWait} in the future;
+ * beyond that the call fails fast with {@link EmployeeApiRateLimitException} rather than queueing behind a backlog
+ * the upstream will not serve. Only 429s for permits granted after the last decrease shrink the rate again, so a
+ * burst of rejections for requests that were already in flight counts as one congestion signal.
+ */
+@Slf4j
+@Component
+public class AdaptiveRateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final EmployeeApiProperties.RateLimit settings;
+    private final LongSupplier nanoClock;
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private double rate;
+    private double storedPermits;
+    private long nextFreeNanos;
+    private long blockedUntilNanos;
+    private long lastDecreaseNanos;
+
+    @Autowired
+    public AdaptiveRateLimiter(EmployeeApiProperties properties, MeterRegistry meterRegistry) {
+        this(properties.getRateLimit(), System::nanoTime);
+        Gauge.builder("employee.api.rate-limit.rate", this, AdaptiveRateLimiter::currentRate)
+                .description("Upstream calls per second the client currently allows itself")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.api.rate-limit.throttled", throttled, LongAdder::sum)
+                .description("Upstream responses with status 429")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.api.rate-limit.rejected", rejected, LongAdder::sum)
+                .description("Calls failed fast because no permit was available within the wait budget")
+                .register(meterRegistry);
+    }
+
+    AdaptiveRateLimiter(EmployeeApiProperties.RateLimit settings, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.rate = clamp(settings.getInitialRate());
+        this.storedPermits = settings.getBurst();
+        long now = nanoClock.getAsLong();
+        this.nextFreeNanos = now;
+        this.blockedUntilNanos = now;
+        this.lastDecreaseNanos = now - 1;
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /** Reserves a permit and blocks until it is due. */
+    public Permit acquire() {
+        Permit permit = reserve();
+        if (permit.delayNanos() > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(permit.delayNanos());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return permit;
+    }
+
+    /**
+     * Reserves a permit without waiting; the caller must delay the call by {@link Permit#delayNanos()}.
+     *
+     * @throws EmployeeApiRateLimitException if the permit would be due later than {@code maxWait} from now
+     */
+    public synchronized Permit reserve() {
+        long now = nanoClock.getAsLong();
+        if (!settings.isEnabled()) {
+            return new Permit(now, 0);
+        }
+        refill(now);
+        long start = Math.max(nextFreeNanos, blockedUntilNanos);
+        long delay = start - now;
+        if (delay > settings.getMaxWait().toNanos()) {
+            rejected.increment();
+            throw new EmployeeApiRateLimitException(
+                    "Employee API rate limit reached; retry after " + TimeUnit.NANOSECONDS.toMillis(delay) + "ms",
+                    Duration.ofNanos(delay));
+        }
+        double fromStored = start == nextFreeNanos ? Math.min(1.0, storedPermits) : 0.0;
+        storedPermits -= fromStored;
+        nextFreeNanos = start + (long) ((1.0 - fromStored) * intervalNanos());
+        return new Permit(start, Math.max(0, delay));
+    }
+
+    /**
+     * Whether a whole permit is stored and no {@code Retry-After} pause is in effect, so that an optional call could
+     * be sent now without delaying the calls queued behind it. Stored permits are dropped on every 429.
+     */
+    public synchronized boolean hasSparePermit() {
+        if (!settings.isEnabled()) {
+            return true;
+        }
+        long now = nanoClock.getAsLong();
+        refill(now);
+        return storedPermits >= 1.0 && nextFreeNanos <= now && blockedUntilNanos <= now;
+    }
+
+    /** Additive increase after an upstream call that was not throttled. */
+    public synchronized void onSuccess() {
+        if (settings.isEnabled()) {
+            rate = clamp(rate + settings.getAdditiveIncrease() / rate);
+        }
+    }
+
+    /**
+     * Multiplicative decrease after a 429 for {@code permit}, and a pause until {@code retryAfter} if the upstream
+     * sent one.
+     */
+    public synchronized void onThrottled(Permit permit, Duration retryAfter) {
+        throttled.increment();
+        if (!settings.isEnabled()) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        if (permit.grantedAtNanos() > lastDecreaseNanos) {
+            double previous = rate;
+            rate = clamp(rate * settings.getMultiplicativeDecrease());
+            lastDecreaseNanos = now;
+            storedPermits = 0;
+            nextFreeNanos = Math.max(nextFreeNanos, now + intervalNanos());
+            log.info("Employee API throttled; lowering client rate from {}/s to {}/s", previous, rate);
+        }
+        if (retryAfter != null && !retryAfter.isNegative()) {
+            blockedUntilNanos = Math.max(blockedUntilNanos, now + retryAfter.toNanos());
+        }
+    }
+
+    public synchronized double currentRate() {
+        return rate;
+    }
+
+    /**
+     * Parses a {@code Retry-After} header, given either as delay seconds or as an HTTP date.
+     *
+     * @return the remaining delay, or {@code null} if the header is absent or malformed
+     */
+    public static Duration parseRetryAfter(String value, Instant now) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(trimmed)));
+        } catch (NumberFormatException ignored) {
+            // not delay-seconds, try HTTP-date
+        }
+        try {
+            Instant until = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            Duration delay = Duration.between(now, until);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    private void refill(long now) {
+        if (now > nextFreeNanos) {
+            double idlePermits = (now - nextFreeNanos) * rate / NANOS_PER_SECOND;
+            storedPermits = Math.min(settings.getBurst(), storedPermits + idlePermits);
+            nextFreeNanos = now;
+        }
+    }
+
+    private long intervalNanos() {
+        return (long) (NANOS_PER_SECOND / rate);
+    }
+
+    private double clamp(double candidate) {
+        return Math.max(settings.getMinRate(), Math.min(settings.getMaxRate(), candidate));
+    }
+
+    /**
+     * A reservation for one upstream call.
+     *
+     * @param grantedAtNanos {@link System#nanoTime()} at which the call may be sent
+     * @param delayNanos how long the caller has to wait before sending
+     */
+    public record Permit(long grantedAtNanos, long delayNanos) {}
+}
@@ -0,0 +1,308 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiException;
+import com.reliaquest.api.exception.EmployeeApiRateLimitException;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeApiClient} built on the JDK {@link HttpClient}. No thread is held while
+ * a request is in flight; waiting for a {@link AdaptiveRateLimiter} permit, or for 429 backoff when the limiter is
+ * disabled, is scheduled on a delayed executor instead of sleeping. Attempts are recorded in the same
+ * {@link UpstreamMetrics} as blocking ones.
+ */
+@Slf4j
+@Component
+public class AsyncEmployeeApiClient {
+
+    private static final long INITIAL_BACKOFF_MILLIS = 250L;
+
+    private final EmployeeApiProperties properties;
+    private final RequestCoalescer requestCoalescer;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final ObjectMapper objectMapper;
+    private final UpstreamMetrics upstreamMetrics;
+    private final HttpClient httpClient;
+
+    /** Last listing that came with a version. */
+    private final AtomicReference<Listing> lastListing = new AtomicReference<>();
+
+    @Autowired
+    public AsyncEmployeeApiClient(
+            EmployeeApiProperties properties,
+            RequestCoalescer requestCoalescer,
+            AdaptiveRateLimiter rateLimiter,
+            CircuitBreaker circuitBreaker,
+            ObjectMapper objectMapper,
+            UpstreamMetrics upstreamMetrics) {
+        this(
+                properties,
+                requestCoalescer,
+                rateLimiter,
+                circuitBreaker,
+                objectMapper,
+                upstreamMetrics,
+                HttpClient.newBuilder()
+                        .connectTimeout(properties.getHttp().getConnectTimeout())
+                        .build());
+    }
+
+    AsyncEmployeeApiClient(
+            EmployeeApiProperties properties,
+            RequestCoalescer requestCoalescer,
+            AdaptiveRateLimiter rateLimiter,
+            CircuitBreaker circuitBreaker,
+            ObjectMapper objectMapper,
+            UpstreamMetrics upstreamMetrics,
+            HttpClient httpClient) {
+        this.properties = properties;
+        this.requestCoalescer = requestCoalescer;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.objectMapper = objectMapper;
+        this.upstreamMetrics = upstreamMetrics;
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Loads the whole employee list, page by page when {@code pageSize} is set. Concurrent loads are coalesced as a
+     * whole, with blocking loads of {@link EmployeeApiClient#fetchAllEmployees()} too.
+     */
+    public CompletableFuture<List<Employee>> fetchAllEmployees() {
+        if (requestCoalescer.isCoalescable(HttpMethod.GET, null)) {
+            return requestCoalescer.executeAsync(HttpMethod.GET, properties.getBaseUrl(), this::loadAllEmployees);
+        }
+        return loadAllEmployees();
+    }
+
+    /**
+     * Same as {@link EmployeeApiClient#versionOf(List)}, for the lists returned by {@link #fetchAllEmployees()} that
+     * this client loaded itself.
+     */
+    public String versionOf(List<Employee> employees) {
+        Listing last = lastListing.get();
+        return last != null && last.employees() == employees ? last.version() : null;
+    }
+
+    private CompletableFuture<List<Employee>> loadAllEmployees() {
+        if (properties.getPageSize() > 0) {
+            return fetchAllEmployeePages(properties.getPageSize(), null, null, new ArrayList<>());
+        }
+        TypeReference<ApiResponse<List<Employee>>> type = new TypeReference<>() {};
+        return sendWithRetry(properties.getBaseUrl(), HttpMethod.GET, null, 1, INITIAL_BACKOFF_MILLIS)
+                .thenApply(response -> {
+                    ApiResponse<List<Employee>> listing = readResponse(response, type);
+                    if (listing == null || listing.getData() == null) {
+                        log.info("Employee API returned empty response for getAllEmployees");
+                        return remember(versionHeader(response), new ArrayList<>());
+                    }
+                    return remember(versionHeader(response), listing.getData());
+                });
+    }
+
+    private CompletableFuture<List<Employee>> fetchAllEmployeePages(
+            int pageSize, String cursor, String version, List<Employee> employees) {
+        String url =
+                EmployeeApiClient.resolveUrl(properties.getBaseUrl(), EmployeeApiClient.pagePath(pageSize, cursor));
+        TypeReference<ApiResponse<EmployeePage>> type = new TypeReference<>() {};
+        return sendWithRetry(url, HttpMethod.GET, null, 1, INITIAL_BACKOFF_MILLIS)
+                .thenCompose(response -> {
+                    ApiResponse<EmployeePage> body = readResponse(response, type);
+                    EmployeePage page = body == null ? null : body.getData();
+                    String listingVersion = cursor == null ? versionHeader(response) : version;
+                    if (page != null && page.getEmployees() != null) {
+                        employees.addAll(page.getEmployees());
+                    }
+                    if (page == null || page.getNextCursor() == null) {
+                        return CompletableFuture.completedFuture(remember(listingVersion, employees));
+                    }
+                    return fetchAllEmployeePages(pageSize, page.getNextCursor(), listingVersion, employees);
+                });
+    }
+
+    private List<Employee> remember(String version, List<Employee> employees) {
+        List<Employee> fetched = Collections.unmodifiableList(employees);
+        lastListing.set(version == null ? null : new Listing(version, fetched));
+        return fetched;
+    }
+
+    private static String versionHeader(HttpResponse<byte[]> response) {
+        return response.headers().firstValue(EmployeeApiClient.VERSION_HEADER).orElse(null);
+    }
+
+    public <T> CompletableFuture<ApiResponse<T>> exchange(
+            String path, HttpMethod method, Object body, TypeReference<ApiResponse<T>> responseType) {
+        String url = EmployeeApiClient.resolveUrl(properties.getBaseUrl(), path);
+        if (requestCoalescer.isCoalescable(method, body)) {
+            return requestCoalescer.executeAsync(method, url, () -> exchangeWithRetry(url, method, null, responseType));
+        }
+        return exchangeWithRetry(url, method, body, responseType);
+    }
+
+    private <T> CompletableFuture<ApiResponse<T>> exchangeWithRetry(
+            String url, HttpMethod method, Object body, TypeReference<ApiResponse<T>> responseType) {
+        return sendWithRetry(url, method, body, 1, INITIAL_BACKOFF_MILLIS)
+                .thenApply(response -> readResponse(response, responseType));
+    }
+
+    /** Sends the request until it is answered with anything but 429, or the attempts run out. */
+    private CompletableFuture<HttpResponse<byte[]>> sendWithRetry(
+            String url, HttpMethod method, Object body, int attemptNumber, long backoffMillis) {
+        int maxAttempts = Math.max(1, properties.getMaxAttempts());
+        HttpRequest request;
+        try {
+            request = buildRequest(url, method, body);
+        } catch (IOException ex) {
+            return CompletableFuture.failedFuture(new EmployeeApiException("Failed to serialize request body", ex));
+        }
+        AdaptiveRateLimiter.Permit permit;
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (EmployeeApiException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        try {
+            permit = rateLimiter.reserve();
+        } catch (EmployeeApiRateLimitException ex) {
+            circuitBreaker.onIgnored();
+            return CompletableFuture.failedFuture(ex);
+        }
+        String path = url.substring(Math.min(url.length(), properties.getBaseUrl().length()));
+        return after(permit.delayNanos(), () -> send(request, method, path))
+                .handle((response, ex) -> {
+                    long elapsedNanos = System.nanoTime() - permit.grantedAtNanos();
+                    if (ex != null) {
+                        circuitBreaker.onFailure(elapsedNanos);
+                        throw new EmployeeApiException("Employee API request failed: " + properties.getBaseUrl(), ex);
+                    }
+                    if (response.statusCode() >= 500) {
+                        circuitBreaker.onFailure(elapsedNanos);
+                    } else {
+                        circuitBreaker.onSuccess(elapsedNanos);
+                    }
+                    return response;
+                })
+                .thenCompose(response -> {
+                    if (response.statusCode() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                        if (response.statusCode() >= 200 && response.statusCode() < 300) {
+                            rateLimiter.onSuccess();
+                        }
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    Duration retryAfter = AdaptiveRateLimiter.parseRetryAfter(
+                            response.headers().firstValue(HttpHeaders.RETRY_AFTER).orElse(null), Instant.now());
+                    rateLimiter.onThrottled(permit, retryAfter);
+                    if (attemptNumber >= maxAttempts) {
+                        throw new EmployeeApiRateLimitException(
+                                "Employee API request failed with status=" + HttpStatus.TOO_MANY_REQUESTS,
+                                retryAfter == null ? Duration.ofMillis(backoffMillis) : retryAfter);
+                    }
+                    upstreamMetrics.retried(method, path);
+                    long backoffNanos = 0;
+                    if (rateLimiter.isEnabled()) {
+                        log.info(
+                                "Rate limited by employee API (attempt {}/{}), retrying at {}/s",
+                                attemptNumber,
+                                maxAttempts,
+                                rateLimiter.currentRate());
+                    } else {
+                        log.info(
+                                "Rate limited by employee API (attempt {}/{}), backing off {}ms",
+                                attemptNumber,
+                                maxAttempts,
+                                backoffMillis);
+                        backoffNanos = TimeUnit.MILLISECONDS.toNanos(backoffMillis);
+                    }
+                    return after(
+                            backoffNanos,
+                            () -> sendWithRetry(url, method, body, attemptNumber + 1, backoffMillis * 2));
+                });
+    }
+
+    /** Sends one attempt, timed from when it leaves until its response or failure arrives. */
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request, HttpMethod method, String path) {
+        UpstreamMetrics.Attempt attempt = upstreamMetrics.start(method, path);
+        return httpClient
+                .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, ex) -> {
+                    if (ex != null) {
+                        upstreamMetrics.failed(attempt, ex);
+                    } else {
+                        upstreamMetrics.responded(attempt, response.statusCode());
+                    }
+                });
+    }
+
+    private static <T> CompletableFuture<T> after(long delayNanos, Supplier<CompletableFuture<T>> action) {
+        if (delayNanos <= 0) {
+            return action.get();
+        }
+        Executor delayed = CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS);
+        return CompletableFuture.supplyAsync(() -> null, delayed).thenCompose(ignored -> action.get());
+    }
+
+    private HttpRequest buildRequest(String url, HttpMethod method, Object body) throws IOException {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(properties.getHttp().getReadTimeout())
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .method(method.name(), publisher);
+        if (body != null) {
+            builder.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        }
+        return builder.build();
+    }
+
+    private <T> ApiResponse<T> readResponse(HttpResponse<byte[]> response, TypeReference<ApiResponse<T>> type) {
+        int statusCode = response.statusCode();
+        if (statusCode == HttpStatus.NOT_FOUND.value()) {
+            throw HttpClientErrorException.create(
+                    HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, response.body(), null);
+        }
+        if (statusCode < 200 || statusCode >= 300) {
+            HttpStatus status = HttpStatus.resolve(statusCode);
+            throw new EmployeeApiException(
+                    "Employee API request failed with status=" + (status == null ? statusCode : status));
+        }
+        if (response.body() == null || response.body().length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException ex) {
+            throw new EmployeeApiException("Failed to parse employee API response", ex);
+        }
+    }
+
+    private record Listing(String version, List<Employee> employees) {}
+}
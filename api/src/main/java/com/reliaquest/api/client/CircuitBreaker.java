@@ -0,0 +1,235 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Circuit breaker guarding every upstream call.
+ *
+ * <p>While {@link State#CLOSED} the outcome of the last {@code slidingWindowSize} calls is kept; once at least
+ * {@code minimumCalls} are recorded and either the failure rate or the slow call rate reaches its threshold, the
+ * breaker opens. While {@link State#OPEN} calls are rejected with {@link EmployeeApiUnavailableException} without
+ * touching the network. After {@code waitDurationInOpenState} it turns {@link State#HALF_OPEN} and lets
+ * {@code permittedCallsInHalfOpenState} probes through; their rates decide whether it closes or opens again.
+ *
+ * <p>Every permitted call must be completed with exactly one of {@link #onSuccess}, {@link #onFailure} or
+ * {@link #onIgnored}.
+ */
+@Slf4j
+@Component
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final EmployeeApiProperties.CircuitBreaker settings;
+    private final LongSupplier nanoClock;
+    private final LongAdder successful = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder slow = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final Window window;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private Window probes;
+    private int probesInFlight;
+
+    @Autowired
+    public CircuitBreaker(EmployeeApiProperties properties, MeterRegistry meterRegistry) {
+        this(properties.getCircuitBreaker(), System::nanoTime);
+        for (State candidate : State.values()) {
+            Gauge.builder(
+                            "employee.api.circuit-breaker.state",
+                            this,
+                            breaker -> breaker.getState() == candidate ? 1 : 0)
+                    .description("1 for the state the upstream circuit breaker is in, 0 otherwise")
+                    .tag("state", candidate.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        registerCalls(meterRegistry, "successful", successful);
+        registerCalls(meterRegistry, "failed", failed);
+        registerCalls(meterRegistry, "slow", slow);
+        registerCalls(meterRegistry, "rejected", rejected);
+        Gauge.builder("employee.api.circuit-breaker.failure-rate", this, CircuitBreaker::failureRate)
+                .description("Percentage of failed calls in the sliding window")
+                .register(meterRegistry);
+    }
+
+    CircuitBreaker(EmployeeApiProperties.CircuitBreaker settings, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.window = new Window(Math.max(1, settings.getSlidingWindowSize()));
+    }
+
+    /**
+     * Admits one call.
+     *
+     * @throws EmployeeApiUnavailableException if the breaker is open, or half-open with all probes taken
+     */
+    public synchronized void acquirePermission() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        if (state == State.OPEN) {
+            long remaining = settings.getWaitDurationInOpenState().toNanos() - (nanoClock.getAsLong() - openedAtNanos);
+            if (remaining > 0) {
+                reject(Duration.ofNanos(remaining));
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight + probes.recorded >= settings.getPermittedCallsInHalfOpenState()) {
+                reject(settings.getWaitDurationInOpenState());
+            }
+            probesInFlight++;
+        }
+    }
+
+    /** Records a call that reached the upstream and got a non-5xx answer. */
+    public synchronized void onSuccess(long durationNanos) {
+        successful.increment();
+        record(false, durationNanos);
+    }
+
+    /** Records a call that failed with an I/O error, a timeout or a 5xx. */
+    public synchronized void onFailure(long durationNanos) {
+        failed.increment();
+        record(true, durationNanos);
+    }
+
+    /** Releases a permitted call that never reached the upstream. */
+    public synchronized void onIgnored() {
+        if (settings.isEnabled() && state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double failureRate() {
+        return window.failureRate();
+    }
+
+    private void record(boolean failure, long durationNanos) {
+        boolean slowCall = durationNanos >= settings.getSlowCallDuration().toNanos();
+        if (slowCall) {
+            slow.increment();
+        }
+        if (!settings.isEnabled()) {
+            return;
+        }
+        switch (state) {
+            case CLOSED -> {
+                window.add(failure, slowCall);
+                if (window.recorded >= settings.getMinimumCalls() && exceedsThresholds(window)) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case HALF_OPEN -> {
+                probesInFlight = Math.max(0, probesInFlight - 1);
+                probes.add(failure, slowCall);
+                if (probes.recorded >= settings.getPermittedCallsInHalfOpenState()) {
+                    transitionTo(exceedsThresholds(probes) ? State.OPEN : State.CLOSED);
+                }
+            }
+            case OPEN -> {
+                // a call admitted before the breaker opened; its outcome no longer matters
+            }
+        }
+    }
+
+    private boolean exceedsThresholds(Window outcomes) {
+        return outcomes.failureRate() >= settings.getFailureRateThreshold()
+                || outcomes.slowCallRate() >= settings.getSlowCallRateThreshold();
+    }
+
+    private void transitionTo(State next) {
+        log.warn("Employee API circuit breaker {} -> {} (failure rate {}%)", state, next, window.failureRate());
+        state = next;
+        switch (next) {
+            case OPEN -> openedAtNanos = nanoClock.getAsLong();
+            case HALF_OPEN -> {
+                probes = new Window(Math.max(1, settings.getPermittedCallsInHalfOpenState()));
+                probesInFlight = 0;
+            }
+            case CLOSED -> window.clear();
+        }
+    }
+
+    private void reject(Duration retryAfter) {
+        rejected.increment();
+        throw new EmployeeApiUnavailableException(
+                "Employee API is unavailable; circuit breaker is " + state + ", retry after "
+                        + TimeUnit.NANOSECONDS.toMillis(retryAfter.toNanos()) + "ms",
+                retryAfter);
+    }
+
+    private static void registerCalls(MeterRegistry meterRegistry, String kind, LongAdder counter) {
+        FunctionCounter.builder("employee.api.circuit-breaker.calls", counter, LongAdder::sum)
+                .description("Upstream calls seen by the circuit breaker, by outcome")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    /** Ring buffer of call outcomes with running totals. */
+    private static final class Window {
+
+        private final boolean[] failures;
+        private final boolean[] slowCalls;
+        private int next;
+        private int recorded;
+        private int failureCount;
+        private int slowCount;
+
+        private Window(int size) {
+            this.failures = new boolean[size];
+            this.slowCalls = new boolean[size];
+        }
+
+        private void add(boolean failure, boolean slowCall) {
+            if (recorded == failures.length) {
+                failureCount -= failures[next] ? 1 : 0;
+                slowCount -= slowCalls[next] ? 1 : 0;
+            } else {
+                recorded++;
+            }
+            failures[next] = failure;
+            slowCalls[next] = slowCall;
+            failureCount += failure ? 1 : 0;
+            slowCount += slowCall ? 1 : 0;
+            next = (next + 1) % failures.length;
+        }
+
+        private double failureRate() {
+            return recorded == 0 ? 0.0 : failureCount * 100.0 / recorded;
+        }
+
+        private double slowCallRate() {
+            return recorded == 0 ? 0.0 : slowCount * 100.0 / recorded;
+        }
+
+        private void clear() {
+            next = 0;
+            recorded = 0;
+            failureCount = 0;
+            slowCount = 0;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiException;
+import com.reliaquest.api.exception.EmployeeApiRateLimitException;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.DeleteEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.metrics.RequestTimings;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Thin wrapper around the upstream Mock Employee API. Owns URL building and the retry policy for rate limited
+ * responses; callers decide how to interpret the {@link ApiResponse} payload. Every attempt, retries included, is
+ * admitted by the {@link CircuitBreaker}, paced by the shared {@link AdaptiveRateLimiter} and recorded in
+ * {@link UpstreamMetrics}; time spent in here also counts as upstream time of the request being served. Slow reads
+ * of a single employee may be hedged by the {@link RequestHedger}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeApiClient {
+
+    /** Response header carrying the upstream listing version, the starting point of its change feed. */
+    static final String VERSION_HEADER = "X-Employee-Version";
+
+    private static final long INITIAL_BACKOFF_MILLIS = 250L;
+
+    private final RestTemplate employeeRestTemplate;
+    private final EmployeeApiProperties properties;
+    private final RequestCoalescer requestCoalescer;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final ObjectMapper objectMapper;
+    private final UpstreamMetrics upstreamMetrics;
+    private final RequestHedger requestHedger;
+
+    /** Last listing that came with an ETag or a version; the ETag is revalidated on the next unpaged load. */
+    private final AtomicReference<Listing> lastListing = new AtomicReference<>();
+
+    /**
+     * Loads the whole employee list, page by page when {@code pageSize} is set. Bodies are parsed as they arrive and
+     * each employee goes straight into the returned list. Concurrent loads are coalesced as a whole, with
+     * non-blocking loads of {@link AsyncEmployeeApiClient#fetchAllEmployees()} too.
+     *
+     * <p>An unpaged load is a conditional GET whenever the previous one carried an ETag; if the upstream answers 304,
+     * the previously returned list instance is returned again.
+     */
+    public List<Employee> fetchAllEmployees() {
+        return RequestTimings.upstream(() -> {
+            if (requestCoalescer.isCoalescable(HttpMethod.GET, null)) {
+                return requestCoalescer.execute(HttpMethod.GET, buildUrl(""), this::loadAllEmployees);
+            }
+            return loadAllEmployees();
+        });
+    }
+
+    /**
+     * Returns the upstream version {@code employees} was read at, if it is the list last returned by
+     * {@link #fetchAllEmployees()} and the upstream sent one; changes since then are served by
+     * {@link #fetchChanges(String, int)}.
+     */
+    public String versionOf(List<Employee> employees) {
+        Listing last = lastListing.get();
+        return last != null && last.employees() == employees ? last.version() : null;
+    }
+
+    /**
+     * GETs one employee. Concurrent GETs of the same id are coalesced as a whole; with hedging enabled, a GET that is
+     * still running after the hedge delay is raced against a second one that is neither coalesced nor retried.
+     */
+    public ApiResponse<Employee> fetchEmployee(String id) {
+        String path = "/" + id;
+        String url = buildUrl(path);
+        ParameterizedTypeReference<ApiResponse<Employee>> responseType = new ParameterizedTypeReference<>() {};
+        Supplier<ApiResponse<Employee>> exchange = () -> employeeRestTemplate
+                .exchange(url, HttpMethod.GET, null, responseType)
+                .getBody();
+        Supplier<ApiResponse<Employee>> call = () -> retrying(HttpMethod.GET, path, exchange);
+        Supplier<ApiResponse<Employee>> read = requestHedger.isEnabled()
+                ? () -> requestHedger.execute(call, () -> retrying(HttpMethod.GET, path, 1, exchange))
+                : call;
+        return RequestTimings.upstream(() -> {
+            if (requestCoalescer.isCoalescable(HttpMethod.GET, null)) {
+                return requestCoalescer.execute(HttpMethod.GET, url, read);
+            }
+            return read.get();
+        });
+    }
+
+    /** Fetches at most {@code limit} upstream changes made after listing version {@code since}. */
+    public EmployeeChanges fetchChanges(String since, int limit) {
+        ApiResponse<EmployeeChanges> response = exchangeWithRetry(
+                "/changes?since=" + since + "&limit=" + limit,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {});
+        return response == null ? null : response.getData();
+    }
+
+    /** Creates the employees in one upstream call, with one result per input in the same order. */
+    public List<BatchItemResult<Employee>> createEmployees(List<CreateEmployeeInput> inputs) {
+        return batch(HttpMethod.POST, inputs, new ParameterizedTypeReference<>() {});
+    }
+
+    /**
+     * Deletes the first employee with each name in one upstream call, with one result per name in the same order; a
+     * successful result carries {@code true}.
+     */
+    public List<BatchItemResult<Boolean>> deleteEmployeesByName(List<String> names) {
+        List<DeleteEmployeeInput> inputs = new ArrayList<>(names.size());
+        for (String name : names) {
+            DeleteEmployeeInput input = new DeleteEmployeeInput();
+            input.setName(name);
+            inputs.add(input);
+        }
+        return batch(HttpMethod.DELETE, inputs, new ParameterizedTypeReference<>() {});
+    }
+
+    private <T> List<BatchItemResult<T>> batch(
+            HttpMethod method,
+            List<?> inputs,
+            ParameterizedTypeReference<ApiResponse<List<BatchItemResult<T>>>> responseType) {
+        ApiResponse<List<BatchItemResult<T>>> response =
+                exchangeWithRetry("/batch", method, new HttpEntity<>(inputs), responseType);
+        List<BatchItemResult<T>> results = response == null ? null : response.getData();
+        if (results == null || results.size() != inputs.size()) {
+            throw new EmployeeApiException("Employee API answered a batch of " + inputs.size() + " with "
+                    + (results == null ? "no" : results.size()) + " results");
+        }
+        return results;
+    }
+
+    private List<Employee> loadAllEmployees() {
+        log.debug("Fetching all employees from employee API");
+        int pageSize = properties.getPageSize();
+        if (pageSize <= 0) {
+            return revalidateListing();
+        }
+        List<Employee> employees = new ArrayList<>();
+        String version = null;
+        String cursor = null;
+        int pages = 0;
+        do {
+            ListingPage page = streamEmployees(pagePath(pageSize, cursor), employees::add);
+            if (cursor == null) {
+                version = page.version();
+            }
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+        log.debug("Fetched {} employees in {} pages", employees.size(), pages);
+        return remember(null, version, employees);
+    }
+
+    private List<Employee> revalidateListing() {
+        Listing last = lastListing.get();
+        String url = buildUrl("");
+        List<Employee> listing = retrying(HttpMethod.GET, "", () -> employeeRestTemplate.execute(
+                url,
+                HttpMethod.GET,
+                request -> {
+                    request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                    if (last != null && last.eTag() != null) {
+                        request.getHeaders().setIfNoneMatch(last.eTag());
+                    }
+                },
+                response -> {
+                    if (last != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        log.debug("Employee list not modified upstream; reusing {} employees", last.employees().size());
+                        return last.employees();
+                    }
+                    List<Employee> employees = new ArrayList<>();
+                    readListing(response, employees::add);
+                    log.debug("Fetched {} employees", employees.size());
+                    return remember(
+                            response.getHeaders().getETag(), response.getHeaders().getFirst(VERSION_HEADER), employees);
+                }));
+        if (listing == null) {
+            throw new EmployeeApiException("Employee API returned no employee list");
+        }
+        return listing;
+    }
+
+    private List<Employee> remember(String eTag, String version, List<Employee> employees) {
+        List<Employee> fetched = Collections.unmodifiableList(employees);
+        lastListing.set(eTag == null && version == null ? null : new Listing(eTag, version, fetched));
+        return fetched;
+    }
+
+    /** GETs one listing response and streams its employees into {@code sink}. */
+    private ListingPage streamEmployees(String path, Consumer<Employee> sink) {
+        String url = buildUrl(path);
+        return retrying(HttpMethod.GET, path, () -> employeeRestTemplate.execute(
+                url,
+                HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> new ListingPage(
+                        readListing(response, sink), response.getHeaders().getFirst(VERSION_HEADER))));
+    }
+
+    private String readListing(ClientHttpResponse response, Consumer<Employee> sink) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(response.getBody())) {
+            return EmployeeStreamReader.read(parser, sink);
+        }
+    }
+
+    public <T> ApiResponse<T> exchangeWithRetry(
+            String path,
+            HttpMethod method,
+            HttpEntity<?> entity,
+            ParameterizedTypeReference<ApiResponse<T>> responseType) {
+        String url = buildUrl(path);
+        return RequestTimings.upstream(() -> {
+            if (requestCoalescer.isCoalescable(method, entity)) {
+                return requestCoalescer.execute(
+                        method,
+                        url,
+                        () -> retrying(method, path, () -> employeeRestTemplate
+                                .exchange(url, method, null, responseType)
+                                .getBody()));
+            }
+            return retrying(method, path, () -> employeeRestTemplate
+                    .exchange(url, method, entity, responseType)
+                    .getBody());
+        });
+    }
+
+    private <T> T retrying(HttpMethod method, String path, Supplier<T> call) {
+        return retrying(method, path, properties.getMaxAttempts(), call);
+    }
+
+    private <T> T retrying(HttpMethod method, String path, int attempts, Supplier<T> call) {
+        int maxAttempts = Math.max(1, attempts);
+        long backoffMillis = INITIAL_BACKOFF_MILLIS;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            int attemptNumber = attempt + 1;
+            circuitBreaker.acquirePermission();
+            AdaptiveRateLimiter.Permit permit;
+            try {
+                permit = rateLimiter.acquire();
+            } catch (RuntimeException ex) {
+                circuitBreaker.onIgnored();
+                throw ex;
+            }
+            long startNanos = System.nanoTime();
+            UpstreamMetrics.Attempt measured = upstreamMetrics.start(method, path);
+            try {
+                T result = call.get();
+                upstreamMetrics.succeeded(measured);
+                circuitBreaker.onSuccess(System.nanoTime() - startNanos);
+                rateLimiter.onSuccess();
+                return result;
+            } catch (HttpStatusCodeException ex) {
+                upstreamMetrics.responded(measured, ex.getStatusCode().value());
+                if (ex.getStatusCode().is5xxServerError()) {
+                    circuitBreaker.onFailure(System.nanoTime() - startNanos);
+                } else {
+                    circuitBreaker.onSuccess(System.nanoTime() - startNanos);
+                }
+                if (ex.getStatusCode() == HttpStatus.NOT_FOUND) {
+                    throw ex;
+                }
+                if (ex.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                    Duration retryAfter = AdaptiveRateLimiter.parseRetryAfter(
+                            ex.getResponseHeaders() == null
+                                    ? null
+                                    : ex.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER),
+                            Instant.now());
+                    rateLimiter.onThrottled(permit, retryAfter);
+                    if (attemptNumber >= maxAttempts) {
+                        throw new EmployeeApiRateLimitException(
+                                "Employee API request failed with status=" + ex.getStatusCode(),
+                                retryAfter == null ? Duration.ofMillis(backoffMillis) : retryAfter,
+                                ex);
+                    }
+                    upstreamMetrics.retried(method, path);
+                    if (rateLimiter.isEnabled()) {
+                        log.info(
+                                "Rate limited by employee API (attempt {}/{}), retrying at {}/s",
+                                attemptNumber,
+                                maxAttempts,
+                                rateLimiter.currentRate());
+                        continue;
+                    }
+                    log.info(
+                            "Rate limited by employee API (attempt {}/{}), backing off {}ms",
+                            attemptNumber,
+                            maxAttempts,
+                            backoffMillis);
+                    sleep(backoffMillis);
+                    backoffMillis *= 2;
+                    continue;
+                }
+                throw new EmployeeApiException("Employee API request failed with status=" + ex.getStatusCode(), ex);
+            } catch (ResourceAccessException ex) {
+                if (Thread.currentThread().isInterrupted()) {
+                    // abandoned for a hedge, which says nothing about the upstream's health
+                    upstreamMetrics.cancelled(measured);
+                    circuitBreaker.onIgnored();
+                    throw new EmployeeApiException("Employee API request interrupted: " + properties.getBaseUrl(), ex);
+                }
+                upstreamMetrics.failed(measured, ex);
+                circuitBreaker.onFailure(System.nanoTime() - startNanos);
+                throw new EmployeeApiException("Employee API request failed: " + properties.getBaseUrl(), ex);
+            } catch (RuntimeException ex) {
+                upstreamMetrics.failed(measured, ex);
+                circuitBreaker.onIgnored();
+                throw ex;
+            }
+        }
+        throw new EmployeeApiException("Employee API request failed after retries");
+    }
+
+    private String buildUrl(String path) {
+        return resolveUrl(properties.getBaseUrl(), path);
+    }
+
+    /** Path of one page of the listing; cursors are URL-safe, so they are passed through as issued. */
+    static String pagePath(int pageSize, String cursor) {
+        return "?limit=" + pageSize + (cursor == null ? "" : "&cursor=" + cursor);
+    }
+
+    static String resolveUrl(String baseUrl, String path) {
+        if (path == null || path.isBlank()) {
+            return baseUrl;
+        }
+        if (path.startsWith("/") || path.startsWith("?")) {
+            return baseUrl + path;
+        }
+        return baseUrl + "/" + path;
+    }
+
+    private void sleep(long backoffMillis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(backoffMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Listing(String eTag, String version, List<Employee> employees) {}
+
+    private record ListingPage(String nextCursor, String version) {}
+}
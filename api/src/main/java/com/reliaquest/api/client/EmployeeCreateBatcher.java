@@ -0,0 +1,156 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects concurrent single creates into one call to the upstream's batch endpoint.
+ *
+ * <p>The first create to arrive opens a batch and waits up to {@code window} for others to join; it then sends the
+ * batch on its own thread and hands every caller its own result. A batch that reaches {@code maxBatchSize} is sent at
+ * once and the next create opens a new one. No thread is dedicated to batching, so an idle batcher costs nothing.
+ */
+@Slf4j
+@Component
+public class EmployeeCreateBatcher {
+
+    private final EmployeeApiClient apiClient;
+    private final EmployeeApiProperties.Batching settings;
+
+    /** Guards {@link #open}; never held across the upstream call or the window. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Batch open;
+
+    public EmployeeCreateBatcher(EmployeeApiClient apiClient, EmployeeApiProperties properties) {
+        this.apiClient = apiClient;
+        this.settings = properties.getBatching();
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * Creates one employee as part of whichever batch is open, blocking until the batch has been answered.
+     *
+     * @throws EmployeeApiException if the upstream rejected this item, or any exception the batch call failed with
+     */
+    public Employee create(CreateEmployeeInput input) {
+        Item item = new Item(input, new CompletableFuture<>());
+        Batch batch;
+        boolean leader;
+        lock.lock();
+        try {
+            leader = open == null;
+            if (leader) {
+                open = new Batch(Math.max(1, settings.getMaxBatchSize()));
+            }
+            batch = open;
+            batch.items.add(item);
+            if (batch.items.size() >= batch.capacity) {
+                open = null;
+                batch.full.countDown();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (leader) {
+            awaitWindow(batch);
+            send(batch.items);
+        }
+        return await(item.result);
+    }
+
+    private void awaitWindow(Batch batch) {
+        try {
+            batch.full.await(settings.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            if (open == batch) {
+                open = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Only called once the batch is closed, so {@code items} no longer changes. */
+    private void send(List<Item> items) {
+        List<CreateEmployeeInput> inputs = new ArrayList<>(items.size());
+        for (Item item : items) {
+            inputs.add(item.input());
+        }
+        log.debug("Sending batch of {} employee creates", items.size());
+        try {
+            List<BatchItemResult<Employee>> results = apiClient.createEmployees(inputs);
+            int received = results == null ? 0 : results.size();
+            if (received < items.size()) {
+                EmployeeApiException unanswered = new EmployeeApiException(
+                        "Employee API returned " + received + " results for " + items.size() + " items");
+                for (Item item : items.subList(received, items.size())) {
+                    item.result().completeExceptionally(unanswered);
+                }
+            }
+            for (int i = 0; i < Math.min(received, items.size()); i++) {
+                BatchItemResult<Employee> result = results.get(i);
+                if (result.isSuccessful() && result.getData() != null) {
+                    items.get(i).result().complete(result.getData());
+                } else {
+                    String error = result.getError() == null ? "" : ", " + result.getError();
+                    items.get(i)
+                            .result()
+                            .completeExceptionally(new EmployeeApiException(
+                                    "Failed to create employee: status=" + result.getStatus() + error));
+                }
+            }
+        } catch (RuntimeException | Error ex) {
+            for (Item item : items) {
+                item.result().completeExceptionally(ex);
+            }
+        }
+    }
+
+    private static Employee await(CompletableFuture<Employee> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private record Item(CreateEmployeeInput input, CompletableFuture<Employee> result) {}
+
+    private static final class Batch {
+
+        private final int capacity;
+        private final List<Item> items = new ArrayList<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+
+        private Batch(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Reads an upstream {@code {"data": ...}} envelope token by token and hands each employee to a consumer as soon as it
+ * is parsed, so no intermediate list or envelope object is built. {@code data} may be an array of employees or a page
+ * object with {@code employees} and {@code nextCursor}; all other fields are skipped.
+ */
+final class EmployeeStreamReader {
+
+    private EmployeeStreamReader() {}
+
+    /**
+     * Consumes the whole envelope from {@code parser}, which must have an object codec.
+     *
+     * @return the page's {@code nextCursor}, or {@code null} for a plain array, the last page or an empty body
+     */
+    static String read(JsonParser parser, Consumer<Employee> sink) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        String nextCursor = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                readEmployees(parser, sink);
+            } else if ("data".equals(field) && value == JsonToken.START_OBJECT) {
+                nextCursor = readPage(parser, sink);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return nextCursor;
+    }
+
+    private static String readPage(JsonParser parser, Consumer<Employee> sink) throws IOException {
+        String nextCursor = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("employees".equals(field) && value == JsonToken.START_ARRAY) {
+                readEmployees(parser, sink);
+            } else if ("nextCursor".equals(field) && value == JsonToken.VALUE_STRING) {
+                nextCursor = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return nextCursor;
+    }
+
+    private static void readEmployees(JsonParser parser, Consumer<Employee> sink) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+            if (token == JsonToken.START_OBJECT) {
+                sink.accept(parser.readValueAs(Employee.class));
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.EmployeeApiProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+/**
+ * Shares one in-flight upstream exchange between concurrent identical idempotent requests, keyed by method and URL.
+ * Publishes how many calls ran against the upstream ({@code role=leader}) versus how many piggybacked on another
+ * call ({@code role=follower}), plus the resulting coalescing ratio.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final EmployeeApiProperties properties;
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+
+    public RequestCoalescer(EmployeeApiProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        FunctionCounter.builder("employee.api.upstream.coalescing", singleFlight, SingleFlight::executedCount)
+                .description("Upstream calls by whether they ran or joined an identical in-flight call")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.api.upstream.coalescing", singleFlight, SingleFlight::sharedCount)
+                .description("Upstream calls by whether they ran or joined an identical in-flight call")
+                .tag("role", "follower")
+                .register(meterRegistry);
+        Gauge.builder("employee.api.upstream.coalescing.ratio", this, RequestCoalescer::coalescingRatio)
+                .description("Share of upstream calls answered by an identical in-flight call")
+                .register(meterRegistry);
+        Gauge.builder("employee.api.upstream.coalescing.in-flight", singleFlight, SingleFlight::inFlightCount)
+                .description("Distinct upstream calls currently shared between callers")
+                .register(meterRegistry);
+    }
+
+    public boolean isCoalescable(HttpMethod method, Object body) {
+        return properties.getCoalescing().isEnabled() && HttpMethod.GET.equals(method) && body == null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(HttpMethod method, String url, Supplier<T> call) {
+        return (T) singleFlight.execute(method.name() + " " + url, call::get);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> executeAsync(HttpMethod method, String url, Supplier<CompletableFuture<T>> call) {
+        return (CompletableFuture<T>) (CompletableFuture<?>) singleFlight.executeAsync(
+                method.name() + " " + url, () -> call.get().thenApply(value -> (Object) value));
+    }
+
+    public double coalescingRatio() {
+        double shared = singleFlight.sharedCount();
+        double total = shared + singleFlight.executedCount();
+        return total == 0 ? 0.0 : shared / total;
+    }
+}
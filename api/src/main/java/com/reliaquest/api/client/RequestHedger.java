@@ -0,0 +1,313 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.EmployeeApiProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hedges idempotent upstream reads: when a call has not completed within the configured percentile of recent call
+ * latencies, a second call is sent and whichever succeeds first is returned. A failure is only returned once both
+ * calls have failed, and then it is the first call's.
+ *
+ * <p>The delay follows every call, failed ones included. A call abandoned for a hedge is sampled as lasting until the
+ * hedge won, so the slowest calls keep pulling the delay up instead of dropping out of the sample.
+ *
+ * <p>The call runs on the caller's thread; only a timer is armed next to it, and only a hedge that is actually sent
+ * runs elsewhere, on a pool of at most {@code maxConcurrent} threads. A hedge that succeeds first interrupts the
+ * caller to abandon the call. That cuts the wait short wherever the blocked read is interruptible, which is the JDK
+ * client on any thread and every client on virtual threads; otherwise the caller still waits for its call, and
+ * answers with the hedge's result once it returns.
+ *
+ * <p>Hedges are budgeted twice over, when the timer fires. Every call earns {@code budgetPercent} of a hedge and
+ * every hedge spends a whole one, so hedges stay below that share of traffic however slow the upstream gets; and a
+ * hedge is only sent while the {@link AdaptiveRateLimiter} holds a spare permit, so it never queues in front of
+ * regular calls nor adds to the load of an upstream that is throttling us.
+ */
+@Slf4j
+@Component
+public class RequestHedger {
+
+    /** Hedges that may be saved up while few are needed. */
+    private static final double MAX_BUDGET = 10.0;
+    /** Latencies recorded between two recomputations of the hedge delay. */
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    private final EmployeeApiProperties.Hedging settings;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final ScheduledThreadPoolExecutor timers;
+    private final ThreadPoolExecutor hedges;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder won = new LongAdder();
+    private final LongAdder skippedForBudget = new LongAdder();
+    private final LongAdder skippedForRateLimit = new LongAdder();
+    private final LongAdder skippedForCapacity = new LongAdder();
+    private final long[] samples;
+
+    private int nextSample;
+    private int sampleCount;
+    private int sinceRecompute;
+    private double budget;
+    private long budgetedCalls;
+    /** Current hedge delay; negative until {@code minimumSamples} latencies are known. */
+    private volatile long delayNanos = -1;
+
+    public RequestHedger(
+            EmployeeApiProperties properties, AdaptiveRateLimiter rateLimiter, MeterRegistry meterRegistry) {
+        this.settings = properties.getHedging();
+        this.rateLimiter = rateLimiter;
+        this.samples = new long[Math.max(1, settings.getSampleSize())];
+        this.timers = new ScheduledThreadPoolExecutor(1, daemonThreads("employee-hedge-timer-"));
+        this.timers.setRemoveOnCancelPolicy(true);
+        this.hedges = new ThreadPoolExecutor(
+                0,
+                Math.max(1, settings.getMaxConcurrent()),
+                30,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                daemonThreads("employee-hedge-"));
+        FunctionCounter.builder("employee.api.upstream.hedges", sent, LongAdder::sum)
+                .description("Slow upstream calls hedged with a second call")
+                .register(meterRegistry);
+        FunctionCounter.builder("employee.api.upstream.hedges.won", won, LongAdder::sum)
+                .description("Hedges that succeeded before the call they hedged")
+                .register(meterRegistry);
+        registerSkipped(meterRegistry, "budget", skippedForBudget);
+        registerSkipped(meterRegistry, "rate-limit", skippedForRateLimit);
+        registerSkipped(meterRegistry, "capacity", skippedForCapacity);
+        Gauge.builder("employee.api.upstream.hedges.delay", this, hedger -> Math.max(0, hedger.delayNanos) / 1e6)
+                .description("How long a call runs before it is hedged; 0 until enough latencies are known")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    /**
+     * Runs {@code call} on the calling thread, and {@code hedge} as well if {@code call} is slow and the budget
+     * allows. Both must be idempotent and interchangeable; {@code hedge} should not retry, as a throttled hedge is
+     * better dropped.
+     */
+    public <T> T execute(Supplier<T> call, Supplier<T> hedge) {
+        calls.increment();
+        long delay = delayNanos;
+        long startNanos = System.nanoTime();
+        if (delay < 0) {
+            try {
+                return call.get();
+            } finally {
+                record(System.nanoTime() - startNanos);
+            }
+        }
+        Race<T> race = new Race<>(Thread.currentThread(), startNanos);
+        ScheduledFuture<?> timer = timers.schedule(() -> fire(race, hedge), delay, TimeUnit.NANOSECONDS);
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException ex) {
+            timer.cancel(false);
+            if (race.finishCall()) {
+                return race.hedged.join();
+            }
+            if (!race.isHedgeSent()) {
+                throw ex;
+            }
+            return awaitHedge(race, ex);
+        } catch (Error error) {
+            timer.cancel(false);
+            race.finishCall();
+            throw error;
+        }
+        timer.cancel(false);
+        if (race.finishCall()) {
+            return race.hedged.join();
+        }
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timers.shutdownNow();
+        hedges.shutdownNow();
+    }
+
+    /** Runs on the timer thread once {@code race}'s call has been running for the hedge delay. */
+    private <T> void fire(Race<T> race, Supplier<T> hedge) {
+        if (race.isCallDone()) {
+            return;
+        }
+        if (!rateLimiter.hasSparePermit()) {
+            skippedForRateLimit.increment();
+            return;
+        }
+        if (!spendBudget()) {
+            skippedForBudget.increment();
+            return;
+        }
+        race.hedgeSent();
+        try {
+            hedges.execute(() -> race.runHedge(hedge));
+        } catch (RejectedExecutionException ex) {
+            refundBudget();
+            skippedForCapacity.increment();
+            race.hedged.completeExceptionally(ex);
+            return;
+        }
+        sent.increment();
+        log.debug("Upstream call still running after {}ms; hedging", TimeUnit.NANOSECONDS.toMillis(delayNanos));
+    }
+
+    /** Credits the calls made since the last hedge decision and spends a whole hedge if there is one. */
+    private synchronized boolean spendBudget() {
+        long total = calls.sum();
+        budget = Math.min(MAX_BUDGET, budget + (total - budgetedCalls) * settings.getBudgetPercent() / 100.0);
+        budgetedCalls = total;
+        if (budget < 1.0) {
+            return false;
+        }
+        budget -= 1.0;
+        return true;
+    }
+
+    private synchronized void refundBudget() {
+        budget = Math.min(MAX_BUDGET, budget + 1.0);
+    }
+
+    /** The call failed while a hedge is in flight: the hedge's result, or the call's failure if it fails too. */
+    private <T> T awaitHedge(Race<T> race, RuntimeException callFailure) {
+        try {
+            T result = race.hedged.join();
+            won.increment();
+            return result;
+        } catch (CompletionException ex) {
+            throw callFailure;
+        }
+    }
+
+    private synchronized void record(long latencyNanos) {
+        samples[nextSample] = latencyNanos;
+        nextSample = (nextSample + 1) % samples.length;
+        sampleCount = Math.min(sampleCount + 1, samples.length);
+        if (sampleCount < Math.max(1, settings.getMinimumSamples())) {
+            return;
+        }
+        if (delayNanos >= 0 && ++sinceRecompute < RECOMPUTE_INTERVAL) {
+            return;
+        }
+        sinceRecompute = 0;
+        long[] sorted = Arrays.copyOf(samples, sampleCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(settings.getPercentile() / 100.0 * sampleCount) - 1;
+        long percentile = sorted[Math.max(0, Math.min(sampleCount - 1, index))];
+        delayNanos = Math.max(
+                settings.getMinDelay().toNanos(), Math.min(settings.getMaxDelay().toNanos(), percentile));
+    }
+
+    private void registerSkipped(MeterRegistry meterRegistry, String reason, LongAdder counter) {
+        FunctionCounter.builder("employee.api.upstream.hedges.skipped", counter, LongAdder::sum)
+                .description("Slow upstream calls that were not hedged, by what held the hedge back")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * One call and its possible hedge. The caller is only interrupted while its call is still running, and the
+     * interrupt is cleared again before the caller returns, both under the race's lock, so it never leaks.
+     */
+    private final class Race<T> {
+
+        private final Thread caller;
+        private final long startNanos;
+        private final boolean callerInterrupted;
+        private final CompletableFuture<T> hedged = new CompletableFuture<>();
+
+        private volatile boolean hedgeSent;
+        private boolean callDone;
+        private boolean abandoned;
+        private long decidedNanos;
+
+        private Race(Thread caller, long startNanos) {
+            this.caller = caller;
+            this.startNanos = startNanos;
+            this.callerInterrupted = caller.isInterrupted();
+        }
+
+        private void hedgeSent() {
+            hedgeSent = true;
+        }
+
+        private boolean isHedgeSent() {
+            return hedgeSent;
+        }
+
+        private synchronized boolean isCallDone() {
+            return callDone;
+        }
+
+        private void runHedge(Supplier<T> hedge) {
+            T result;
+            try {
+                result = hedge.get();
+            } catch (RuntimeException | Error ex) {
+                hedged.completeExceptionally(ex);
+                return;
+            }
+            synchronized (this) {
+                hedged.complete(result);
+                if (!callDone) {
+                    abandoned = true;
+                    decidedNanos = System.nanoTime();
+                    won.increment();
+                    caller.interrupt();
+                }
+            }
+        }
+
+        /**
+         * Marks the call as returned, however it returned, and records its latency, cut off where a hedge won;
+         * {@code true} if it was abandoned for a hedge that already succeeded.
+         */
+        private boolean finishCall() {
+            long latencyNanos;
+            boolean abandonedForHedge;
+            synchronized (this) {
+                callDone = true;
+                abandonedForHedge = abandoned;
+                latencyNanos = (abandoned ? decidedNanos : System.nanoTime()) - startNanos;
+                if (abandoned && !callerInterrupted) {
+                    Thread.interrupted();
+                }
+            }
+            record(latencyNanos);
+            return abandonedForHedge;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.reliaquest.api.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution. The first caller for a key runs the supplier on
+ * its own thread; everyone arriving while it is in flight waits for, and receives, the same result or exception.
+ *
+ * @param <K> key identifying identical calls
+ * @param <V> result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            shared.increment();
+            return await(existing);
+        }
+        executed.increment();
+        try {
+            V value = call.get();
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            created.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #execute}. Shares the same in-flight table, so blocking and non-blocking callers
+     * for the same key are coalesced with each other.
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            shared.increment();
+            return existing.copy();
+        }
+        executed.increment();
+        CompletableFuture<V> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error ex) {
+            result = CompletableFuture.failedFuture(ex);
+        }
+        result.whenComplete((value, ex) -> {
+            inFlight.remove(key, created);
+            if (ex == null) {
+                created.complete(value);
+            } else {
+                created.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null
+                        ? ex.getCause()
+                        : ex);
+            }
+        });
+        return created.copy();
+    }
+
+    /** Number of calls that actually ran the supplier. */
+    public long executedCount() {
+        return executed.sum();
+    }
+
+    /** Number of calls that were answered by another caller's in-flight execution. */
+    public long sharedCount() {
+        return shared.sum();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
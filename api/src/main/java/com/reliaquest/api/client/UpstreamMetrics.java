@@ -0,0 +1,140 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+/**
+ * Instrumentation of every attempt made against the upstream by {@link EmployeeApiClient} and
+ * {@link AsyncEmployeeApiClient}, retries included. Attempts are timed by method, URI template and outcome with a
+ * percentile histogram, so latency quantiles can be aggregated across instances; retries, 429s, 404s and timeouts
+ * are also counted on their own, and the attempts currently on the wire are gauged.
+ */
+@Component
+public class UpstreamMetrics {
+
+    static final String REQUESTS = "employee.api.upstream.requests";
+    static final String RETRIES = "employee.api.upstream.retries";
+    static final String THROTTLED = "employee.api.upstream.throttled";
+    static final String NOT_FOUND = "employee.api.upstream.not-found";
+    static final String TIMEOUTS = "employee.api.upstream.timeouts";
+    static final String IN_FLIGHT = "employee.api.upstream.in-flight";
+
+    /** Upstream paths other than the listing itself that are not an employee id. */
+    private static final Set<String> FIXED_PATHS = Set.of("/changes", "/batch");
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public UpstreamMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(IN_FLIGHT, inFlight, AtomicInteger::get)
+                .description("Upstream requests sent and not yet answered")
+                .register(meterRegistry);
+    }
+
+    /** Starts timing an attempt that is about to be sent; finish it with exactly one of the recording methods. */
+    public Attempt start(HttpMethod method, String path) {
+        inFlight.incrementAndGet();
+        return new Attempt(method.name(), uriTemplate(path), System.nanoTime());
+    }
+
+    /** The attempt got a response the caller accepted, whatever its exact status. */
+    public void succeeded(Attempt attempt) {
+        finish(attempt, "SUCCESS");
+    }
+
+    /** The attempt got a response with {@code status}; the blocking client only sees error statuses this way. */
+    public void responded(Attempt attempt, int status) {
+        if (status == 404) {
+            counter(NOT_FOUND, attempt.method(), attempt.uri()).increment();
+            finish(attempt, "NOT_FOUND");
+        } else if (status == 429) {
+            counter(THROTTLED, attempt.method(), attempt.uri()).increment();
+            finish(attempt, "THROTTLED");
+        } else if (status >= 500) {
+            finish(attempt, "SERVER_ERROR");
+        } else if (status >= 400) {
+            finish(attempt, "CLIENT_ERROR");
+        } else {
+            finish(attempt, "SUCCESS");
+        }
+    }
+
+    /** The attempt got no usable response: it timed out, failed on the wire or could not be read. */
+    public void failed(Attempt attempt, Throwable failure) {
+        if (isTimeout(failure)) {
+            counter(TIMEOUTS, attempt.method(), attempt.uri()).increment();
+            finish(attempt, "TIMEOUT");
+        } else {
+            finish(attempt, hasCause(failure, IOException.class) ? "IO_ERROR" : "UNKNOWN");
+        }
+    }
+
+    /** The attempt was abandoned by its caller, for a hedge that had already answered. */
+    public void cancelled(Attempt attempt) {
+        finish(attempt, "CANCELLED");
+    }
+
+    /** Another attempt of a call that was throttled is about to follow. */
+    public void retried(HttpMethod method, String path) {
+        counter(RETRIES, method.name(), uriTemplate(path)).increment();
+    }
+
+    private void finish(Attempt attempt, String outcome) {
+        inFlight.decrementAndGet();
+        Timer.builder(REQUESTS)
+                .description("Upstream request attempts, retries included")
+                .tag("method", attempt.method())
+                .tag("uri", attempt.uri())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - attempt.startNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private Counter counter(String name, String method, String uri) {
+        return Counter.builder(name)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+
+    /** Employee ids and query strings are left out so that the {@code uri} tag has a handful of values. */
+    static String uriTemplate(String path) {
+        int query = path == null ? -1 : path.indexOf('?');
+        String withoutQuery = path == null ? "" : query < 0 ? path : path.substring(0, query);
+        if (withoutQuery.isEmpty() || "/".equals(withoutQuery)) {
+            return "/";
+        }
+        String normalized = withoutQuery.startsWith("/") ? withoutQuery : "/" + withoutQuery;
+        return FIXED_PATHS.contains(normalized) ? normalized : "/{id}";
+    }
+
+    private static boolean isTimeout(Throwable failure) {
+        return hasCause(failure, SocketTimeoutException.class)
+                || hasCause(failure, HttpTimeoutException.class)
+                || hasCause(failure, TimeoutException.class);
+    }
+
+    private static boolean hasCause(Throwable failure, Class<? extends Throwable> type) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public record Attempt(String method, String uri, long startNanos) {}
+}
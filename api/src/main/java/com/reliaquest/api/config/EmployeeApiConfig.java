@@ -1,21 +1,67 @@
 package com.reliaquest.api.config;
 
-import java.time.Duration;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.metrics.RequestMetricsAdvice;
+import com.reliaquest.metrics.RequestMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 @EnableConfigurationProperties(EmployeeApiProperties.class)
 public class EmployeeApiConfig {
 
+    /*
+     * Exposed as a bean so that pooled clients are closed with the application context.
+     */
     @Bean
-    public RestTemplate employeeRestTemplate(RestTemplateBuilder builder, EmployeeApiProperties properties) {
+    public ClientHttpRequestFactory employeeClientHttpRequestFactory(EmployeeApiProperties properties) {
+        return EmployeeHttpClientFactory.create(properties.getHttp());
+    }
+
+    @Bean
+    public RestTemplate employeeRestTemplate(
+            RestTemplateBuilder builder,
+            EmployeeApiProperties properties,
+            ClientHttpRequestFactory employeeClientHttpRequestFactory) {
         return builder.rootUri(properties.getBaseUrl())
-                .setConnectTimeout(Duration.ofSeconds(2))
-                .setReadTimeout(Duration.ofSeconds(4))
+                .requestFactory(() -> employeeClientHttpRequestFactory)
                 .build();
     }
+
+    /*
+     * First in the chain, so that request latency includes every other filter.
+     */
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestMetricsFilter(meterRegistry, "employee.api"));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public RequestMetricsAdvice requestMetricsAdvice() {
+        return new RequestMetricsAdvice(EmployeeApiConfig::results);
+    }
+
+    /*
+     * The size of a list, or one for a single employee.
+     */
+    static Integer results(Object body) {
+        if (body instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (body instanceof Employee) {
+            return 1;
+        }
+        return null;
+    }
 }
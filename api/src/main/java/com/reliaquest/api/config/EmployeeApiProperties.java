@@ -1,5 +1,6 @@
 package com.reliaquest.api.config;
 
+import java.time.Duration;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -9,4 +10,143 @@ public class EmployeeApiProperties {
 
     private String baseUrl = "http://localhost:8112/api/v1/employee";
     private int maxAttempts = 3;
+    /**
+     * Employees requested per upstream call when loading the full list, following the upstream's cursors. 0 loads
+     * the list in one call, for upstreams that do not page.
+     */
+    private int pageSize = 0;
+    private Cache cache = new Cache();
+    private Coalescing coalescing = new Coalescing();
+    private Batching batching = new Batching();
+    private Http http = new Http();
+    private RateLimit rateLimit = new RateLimit();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    private Hedging hedging = new Hedging();
+
+    @Data
+    public static class Cache {
+
+        private boolean enabled = true;
+        /** Age after which the snapshot is considered stale and is revalidated in the background. */
+        private Duration ttl = Duration.ofSeconds(30);
+        /** Age after which a stale snapshot is no longer served and readers block on the upstream. */
+        private Duration maxStaleness = Duration.ofMinutes(5);
+        /** How long before the TTL expires a background refresh is started. */
+        private Duration refreshAhead = Duration.ofSeconds(5);
+        /** Number of highest earners precomputed per snapshot; never less than the ten the API exposes. */
+        private int topK = 10;
+        /** Refresh from the upstream's change feed instead of reloading the list, once a versioned list is held. */
+        private boolean deltaSync = true;
+        /** Changes applied in one refresh; with more pending, the list is reloaded instead. */
+        private int maxChanges = 10_000;
+    }
+
+    @Data
+    public static class Coalescing {
+
+        /** Share one in-flight upstream GET between concurrent identical callers. */
+        private boolean enabled = true;
+    }
+
+    @Data
+    public static class Batching {
+
+        /**
+         * Collect concurrent single creates into one call to the upstream's batch endpoint. Each create may wait up to
+         * {@link #window} for others to join it.
+         */
+        private boolean enabled = false;
+        /** How long the first create of a batch waits for others before the batch is sent. */
+        private Duration window = Duration.ofMillis(5);
+        /** Items sent in one upstream batch call, for micro-batched creates and batch requests alike. */
+        private int maxBatchSize = 100;
+    }
+
+    @Data
+    public static class Http {
+
+        private ClientType client = ClientType.POOLED;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(4);
+        /** Upper bound on pooled connections across all routes. */
+        private int maxConnections = 50;
+        /** Upper bound on pooled connections to a single host. */
+        private int maxConnectionsPerRoute = 20;
+        /** Pooled connections idle for longer than this are closed in the background. */
+        private Duration idleEviction = Duration.ofSeconds(30);
+        /** Pooled connections are never reused once older than this. */
+        private Duration connectionTimeToLive = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class RateLimit {
+
+        /** Pace upstream calls through a shared adaptive token bucket instead of per-request backoff. */
+        private boolean enabled = true;
+        /** Permits per second granted before anything has been learned about the upstream. */
+        private double initialRate = 10.0;
+        private double minRate = 0.5;
+        private double maxRate = 200.0;
+        /** Permits that may accumulate while idle and be spent back to back. */
+        private int burst = 5;
+        /** Permits per second added to the rate for every second's worth of successful calls. */
+        private double additiveIncrease = 1.0;
+        /** Factor applied to the rate when the upstream answers 429. */
+        private double multiplicativeDecrease = 0.5;
+        /** Longest a caller queues for a permit before failing fast with a rate limit error. */
+        private Duration maxWait = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class CircuitBreaker {
+
+        /** Fail fast while the upstream is failing instead of waiting out connect and read timeouts. */
+        private boolean enabled = true;
+        /** Number of most recent calls the failure and slow call rates are computed over. */
+        private int slidingWindowSize = 20;
+        /** Calls that must be recorded before the breaker may open. */
+        private int minimumCalls = 10;
+        /** Percentage of failed calls (I/O errors and 5xx) at which the breaker opens. */
+        private double failureRateThreshold = 50.0;
+        /** Percentage of calls slower than {@link #slowCallDuration} at which the breaker opens. */
+        private double slowCallRateThreshold = 80.0;
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        /** How long the breaker stays open before letting probe calls through. */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        /** Probe calls allowed while half-open; their outcome decides whether the breaker closes again. */
+        private int permittedCallsInHalfOpenState = 3;
+    }
+
+    @Data
+    public static class Hedging {
+
+        /**
+         * Send a second upstream GET for a single employee when the first is slow, and answer with whichever succeeds
+         * first.
+         */
+        private boolean enabled = false;
+        /** Percentile of recent GET latencies after which the second GET is sent. */
+        private double percentile = 95.0;
+        /** Lower bound on the hedge delay, however fast recent GETs were. */
+        private Duration minDelay = Duration.ofMillis(10);
+        /** Upper bound on the hedge delay, however slow recent GETs were. */
+        private Duration maxDelay = Duration.ofSeconds(1);
+        /** Number of most recent GET latencies the hedge delay is computed over. */
+        private int sampleSize = 1000;
+        /** GET latencies that must be recorded before anything is hedged. */
+        private int minimumSamples = 100;
+        /** Hedges sent as a percentage of GETs, at most. */
+        private double budgetPercent = 5.0;
+        /** Hedges in flight at once; slow GETs beyond that are not hedged. */
+        private int maxConcurrent = 16;
+    }
+
+    public enum ClientType {
+        /** Apache HttpClient 5 with a keep-alive connection pool. */
+        POOLED,
+        /** JDK {@code java.net.http.HttpClient}, negotiating HTTP/2 where the upstream supports it. */
+        JDK,
+        /** Plain {@code HttpURLConnection}, as used before pooling was introduced. */
+        SIMPLE
+    }
 }
@@ -0,0 +1,76 @@
+package com.reliaquest.api.config;
+
+import java.net.http.HttpClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+/**
+ * Builds the {@link ClientHttpRequestFactory} used for upstream calls, as selected by
+ * {@code employee.api.http.client}.
+ */
+public final class EmployeeHttpClientFactory {
+
+    private EmployeeHttpClientFactory() {}
+
+    public static ClientHttpRequestFactory create(EmployeeApiProperties.Http http) {
+        return switch (http.getClient()) {
+            case POOLED -> pooled(http);
+            case JDK -> jdk(http);
+            case SIMPLE -> simple(http);
+        };
+    }
+
+    /** Apache HttpClient 5 with a bounded keep-alive connection pool and background idle eviction. */
+    private static ClientHttpRequestFactory pooled(EmployeeApiProperties.Http http) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.getMaxConnections())
+                .setMaxConnPerRoute(http.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(http.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.of(http.getReadTimeout()))
+                        .setTimeToLive(TimeValue.of(http.getConnectionTimeToLive()))
+                        .build())
+                .build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(http.getReadTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(http.getIdleEviction()))
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    /**
+     * JDK {@link HttpClient} preferring HTTP/2. Its connection pool is sized by the JDK itself (see the
+     * {@code jdk.httpclient.connectionPoolSize} and {@code jdk.httpclient.keepalive.timeout} system properties).
+     */
+    private static ClientHttpRequestFactory jdk(EmployeeApiProperties.Http http) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(http.getConnectTimeout())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(http.getReadTimeout());
+        return requestFactory;
+    }
+
+    /** {@link java.net.HttpURLConnection} based factory; relies on the JDK's implicit keep-alive cache only. */
+    private static ClientHttpRequestFactory simple(EmployeeApiProperties.Http http) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) http.getConnectTimeout().toMillis());
+        requestFactory.setReadTimeout((int) http.getReadTimeout().toMillis());
+        return requestFactory;
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.AsyncEmployeeService;
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Mirrors the {@link IEmployeeController} contract with deferred results, so the servlet thread is released while
+ * the upstream call (including any rate limit backoff) is pending. Kept separate because the contract interface
+ * fixes synchronous return types.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/async/employee")
+@RequiredArgsConstructor
+public class AsyncEmployeeController {
+
+    private final AsyncEmployeeService asyncEmployeeService;
+
+    @GetMapping()
+    public CompletableFuture<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return asyncEmployeeService.getAllEmployees().thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/search/{searchString}")
+    public CompletableFuture<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(
+            @PathVariable String searchString) {
+        if (searchString == null || searchString.isBlank()) {
+            log.info("Invalid searchString for GET /api/v1/async/employee/search: value='{}'", searchString);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return asyncEmployeeService.getEmployeesByNameSearch(searchString).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        if (id == null || id.isBlank()) {
+            log.info("Invalid id for GET /api/v1/async/employee/{id}: value='{}'", id);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return asyncEmployeeService.getEmployeeById(id).thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/highestSalary")
+    public CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return asyncEmployeeService.getHighestSalaryOfEmployees().thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return asyncEmployeeService.getTop10HighestEarningEmployeeNames().thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping()
+    public CompletableFuture<ResponseEntity<Employee>> createEmployee(
+            @Valid @RequestBody CreateEmployeeInput employeeInput) {
+        return asyncEmployeeService.createEmployee(employeeInput).thenApply(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        if (id == null || id.isBlank()) {
+            log.info("Invalid id for DELETE /api/v1/async/employee/{id}: value='{}'", id);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+        return asyncEmployeeService.deleteEmployeeById(id).thenApply(ResponseEntity::ok);
+    }
+}
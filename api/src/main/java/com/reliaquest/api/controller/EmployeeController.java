@@ -1,15 +1,33 @@
 package com.reliaquest.api.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeBatchService;
 import com.reliaquest.api.service.EmployeeService;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RestController
@@ -17,11 +35,16 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class EmployeeController implements IEmployeeController<Employee, CreateEmployeeInput> {
 
+    /** Largest batch accepted by the batch endpoints; it is sent upstream in chunks of {@code maxBatchSize}. */
+    static final int MAX_BATCH_SIZE = 1_000;
+
     private final EmployeeService employeeService;
+    private final EmployeeBatchService employeeBatchService;
+    private final ObjectMapper objectMapper;
 
     @Override
     public ResponseEntity<List<Employee>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAllEmployees());
+        return conditional(employeeService::getAllEmployees);
     }
 
     @Override
@@ -30,7 +53,7 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
             log.info("Invalid searchString for GET /api/v1/employee/search: value='{}'", searchString);
             return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(employeeService.getEmployeesByNameSearch(searchString));
+        return conditional(snapshot -> employeeService.getEmployeesByNameSearch(snapshot, searchString));
     }
 
     @Override
@@ -44,12 +67,12 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
 
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        return ResponseEntity.ok(employeeService.getHighestSalaryOfEmployees());
+        return conditional(employeeService::getHighestSalaryOfEmployees);
     }
 
     @Override
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        return ResponseEntity.ok(employeeService.getTop10HighestEarningEmployeeNames());
+        return conditional(employeeService::getTop10HighestEarningEmployeeNames);
     }
 
     @Override
@@ -65,4 +88,90 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         }
         return ResponseEntity.ok(employeeService.deleteEmployeeById(id));
     }
+
+    /**
+     * Creates every employee in the body, answering one result per item in the same order. The response is 200 even
+     * when some items failed; each result carries the status its item would have got as a single request.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<Employee>>> createEmployees(
+            @RequestBody List<CreateEmployeeInput> employeeInputs) {
+        if (!isValidBatchSize(employeeInputs)) {
+            log.info("Invalid batch size for POST /api/v1/employee/batch");
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeBatchService.createEmployees(employeeInputs));
+    }
+
+    /** Batch variant of {@link #deleteEmployeeById(String)}, with the same per-item results as the batch create. */
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<String>>> deleteEmployeesByIds(@RequestBody List<String> ids) {
+        if (!isValidBatchSize(ids)) {
+            log.info("Invalid batch size for DELETE /api/v1/employee/batch");
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(employeeBatchService.deleteEmployeesByIds(ids));
+    }
+
+    /**
+     * Streams every employee as newline-delimited JSON for clients that send {@code Accept: application/x-ndjson}.
+     * Employees are written one by one straight to the response, so the body is never materialized as a whole.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        return ndjson(employeeService.getAllEmployees());
+    }
+
+    /** Newline-delimited JSON variant of {@link #getEmployeesByNameSearch(String)}. */
+    @GetMapping(value = "/search/{searchString}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployeesByNameSearch(@PathVariable String searchString) {
+        if (searchString == null || searchString.isBlank()) {
+            log.info("Invalid searchString for GET /api/v1/employee/search: value='{}'", searchString);
+            return ResponseEntity.badRequest().build();
+        }
+        return ndjson(employeeService.getEmployeesByNameSearch(searchString));
+    }
+
+    /**
+     * Answers a read derived from the current snapshot. The snapshot's version is sent as a weak ETag (the same data
+     * is also served as NDJSON) and its last-modified time as {@code Last-Modified}; when the request's
+     * {@code If-None-Match} or {@code If-Modified-Since} still matches, the response is a bodiless 304 and
+     * {@code body} is never called. Otherwise {@code body} is built from that same snapshot, so the validators always
+     * describe the body even when a refresh publishes a new snapshot in between.
+     */
+    private <T> ResponseEntity<T> conditional(Function<EmployeeSnapshot, T> body) {
+        EmployeeSnapshot snapshot = employeeService.getSnapshot();
+        ServletRequestAttributes attributes =
+                (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        ServletWebRequest request = new ServletWebRequest(attributes.getRequest(), attributes.getResponse());
+        if (request.checkNotModified(
+                "W/\"" + snapshot.getVersion() + "\"",
+                snapshot.getLastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok(body.apply(snapshot));
+    }
+
+    private static boolean isValidBatchSize(List<?> items) {
+        return items != null && !items.isEmpty() && items.size() <= MAX_BATCH_SIZE;
+    }
+
+    /** Callers resolve {@code employees} before the response is committed, so service errors keep their status. */
+    private ResponseEntity<StreamingResponseBody> ndjson(List<Employee> employees) {
+        StreamingResponseBody body = output -> {
+            try (SequenceWriter writer = objectMapper
+                    .writerFor(Employee.class)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .withRootValueSeparator("\n")
+                    .writeValues(output)) {
+                for (Employee employee : employees) {
+                    writer.write(employee);
+                }
+            }
+            if (!employees.isEmpty()) {
+                output.write('\n');
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 }
@@ -0,0 +1,22 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/** The upstream is throttling us and the request could not be sent within the configured wait budget. */
+@Getter
+public class EmployeeApiRateLimitException extends EmployeeApiException {
+
+    /** How long the caller should wait before trying again. */
+    private final Duration retryAfter;
+
+    public EmployeeApiRateLimitException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public EmployeeApiRateLimitException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+}
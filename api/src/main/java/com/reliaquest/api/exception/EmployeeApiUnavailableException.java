@@ -0,0 +1,17 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/** The upstream is considered down and the call was rejected without being attempted. */
+@Getter
+public class EmployeeApiUnavailableException extends EmployeeApiException {
+
+    /** How long until the upstream will be probed again. */
+    private final Duration retryAfter;
+
+    public EmployeeApiUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
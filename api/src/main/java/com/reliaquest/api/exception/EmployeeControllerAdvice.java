@@ -2,8 +2,10 @@ package com.reliaquest.api.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
+import java.time.Duration;
 import java.time.Instant;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -42,6 +44,24 @@ public class EmployeeControllerAdvice {
         return buildError(HttpStatus.NOT_FOUND, ex.getMessage(), request.getRequestURI());
     }
 
+    @ExceptionHandler(EmployeeApiRateLimitException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimited(
+            EmployeeApiRateLimitException ex, HttpServletRequest request) {
+        log.warn("Employee API rate limited: {}", ex.getMessage());
+        return withRetryAfter(
+                buildError(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), request.getRequestURI()),
+                ex.getRetryAfter());
+    }
+
+    @ExceptionHandler(EmployeeApiUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleUnavailable(
+            EmployeeApiUnavailableException ex, HttpServletRequest request) {
+        log.warn("Employee API unavailable: {}", ex.getMessage());
+        return withRetryAfter(
+                buildError(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request.getRequestURI()),
+                ex.getRetryAfter());
+    }
+
     @ExceptionHandler(EmployeeApiException.class)
     public ResponseEntity<ErrorResponse> handleEmployeeApi(EmployeeApiException ex, HttpServletRequest request) {
         log.error("Employee API error", ex);
@@ -54,6 +74,13 @@ public class EmployeeControllerAdvice {
         return buildError(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error occurred", request.getRequestURI());
     }
 
+    private ResponseEntity<ErrorResponse> withRetryAfter(ResponseEntity<ErrorResponse> error, Duration retryAfter) {
+        long seconds = retryAfter == null ? 1 : Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        return ResponseEntity.status(error.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(error.getBody());
+    }
+
     private ResponseEntity<ErrorResponse> buildError(HttpStatus status, String message, String path) {
         ErrorResponse response = ErrorResponse.builder()
                 .timestamp(Instant.now())
@@ -0,0 +1,37 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch request, upstream or ours. {@code status} is the HTTP status the item would have got
+ * as a single request; {@code data} is what that request would have returned and {@code error} why it failed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchItemResult<T> {
+
+    private int status;
+    private T data;
+    private String error;
+
+    public static <T> BatchItemResult<T> ok(T data) {
+        return new BatchItemResult<>(200, data, null);
+    }
+
+    public static <T> BatchItemResult<T> failed(int status, String error) {
+        return new BatchItemResult<>(status, null, error);
+    }
+
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return status >= 200 && status < 300;
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/** One entry of the upstream change feed; {@code employee} is only present for a {@code PUT}. */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EmployeeChange {
+
+    private String type;
+    private String id;
+    private Employee employee;
+
+    public boolean isDelete() {
+        return "DELETE".equals(type);
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Upstream changes since a listing version. {@code version} is where the listing stands once they are applied;
+ * {@code reset} means the changes could not be served and the listing has to be reloaded.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EmployeeChanges {
+
+    private List<EmployeeChange> changes;
+    private String version;
+    private boolean reset;
+}
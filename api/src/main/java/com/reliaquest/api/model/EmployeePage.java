@@ -0,0 +1,14 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.List;
+import lombok.Data;
+
+/** One page of the upstream employee listing; {@code nextCursor} is absent on the last page. */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EmployeePage {
+
+    private List<Employee> employees;
+    private String nextCursor;
+}
@@ -0,0 +1,170 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.AsyncEmployeeApiClient;
+import com.reliaquest.api.exception.EmployeeApiException;
+import com.reliaquest.api.exception.EmployeeApiUnavailableException;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.DeleteEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Non-blocking variant of {@link EmployeeService}. Reads are completed immediately from the snapshot when it can be
+ * served; everything else is composed on top of {@link AsyncEmployeeApiClient} without holding a thread.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AsyncEmployeeService {
+
+    private static final int TOP_EARNERS_LIMIT = 10;
+
+    private final AsyncEmployeeApiClient asyncApiClient;
+    private final EmployeeSnapshotCache snapshotCache;
+
+    public CompletableFuture<List<Employee>> getAllEmployees() {
+        return snapshot().thenApply(EmployeeSnapshot::getEmployees);
+    }
+
+    public CompletableFuture<List<Employee>> getEmployeesByNameSearch(String searchString) {
+        if (searchString == null || searchString.isBlank()) {
+            log.debug("Empty search string provided; returning empty list");
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        return snapshot().thenApply(snapshot -> snapshotCache.searchByName(snapshot, searchString));
+    }
+
+    public CompletableFuture<Employee> getEmployeeById(String id) {
+        log.debug("Fetching employee by id={}", id);
+        return asyncApiClient
+                .<Employee>exchange("/" + id, HttpMethod.GET, null, new TypeReference<>() {})
+                .handle((response, ex) -> {
+                    if (ex != null) {
+                        Throwable cause = unwrap(ex);
+                        if (cause instanceof HttpClientErrorException.NotFound) {
+                            log.info("Employee not found for id={}", id);
+                            throw new EmployeeNotFoundException("Employee not found for id=" + id);
+                        }
+                        Employee cached = snapshotCache.findCached(id);
+                        if (cause instanceof EmployeeApiUnavailableException && cached != null) {
+                            log.warn("Employee API unavailable; serving id={} from last known snapshot", id);
+                            return cached;
+                        }
+                        throw cause instanceof RuntimeException runtimeException
+                                ? runtimeException
+                                : new CompletionException(cause);
+                    }
+                    if (response == null || response.getData() == null) {
+                        log.info("Employee API returned empty response for id={}", id);
+                        throw new EmployeeNotFoundException("Employee not found for id=" + id);
+                    }
+                    return response.getData();
+                });
+    }
+
+    public CompletableFuture<Integer> getHighestSalaryOfEmployees() {
+        return snapshot().thenApply(snapshot -> snapshot.getSalaryAggregates().getHighestSalary());
+    }
+
+    public CompletableFuture<List<String>> getTop10HighestEarningEmployeeNames() {
+        return snapshot().thenApply(snapshot -> snapshot.getSalaryAggregates().topEarnerNames(TOP_EARNERS_LIMIT));
+    }
+
+    public CompletableFuture<Employee> createEmployee(CreateEmployeeInput input) {
+        log.info("Creating employee name={}", input.getName());
+        return asyncApiClient
+                .<Employee>exchange("", HttpMethod.POST, input, new TypeReference<>() {})
+                .thenApply(response -> {
+                    if (response == null || response.getData() == null) {
+                        log.error("Employee API returned empty response for createEmployee");
+                        throw new EmployeeApiException("Failed to create employee");
+                    }
+                    log.info("Created employee id={}", response.getData().getId());
+                    snapshotCache.add(response.getData());
+                    return response.getData();
+                });
+    }
+
+    /**
+     * Same resolution rules as {@link EmployeeService#deleteEmployeeById(String)}: the name comes from the snapshot
+     * when possible, and the upstream is only asked for it on a miss or when the cached name is rejected.
+     */
+    public CompletableFuture<String> deleteEmployeeById(String id) {
+        log.info("Deleting employee by id={}", id);
+        Employee cached = snapshotCache.findCached(id);
+        boolean fromCache = cached != null && cached.getEmployeeName() != null;
+        CompletableFuture<String> resolvedName = fromCache
+                ? CompletableFuture.completedFuture(cached.getEmployeeName())
+                : getEmployeeById(id).thenApply(Employee::getEmployeeName);
+        return resolvedName
+                .thenCompose(name -> deleteByName(name).thenCompose(deleted -> {
+                    if (deleted || !fromCache) {
+                        return CompletableFuture.completedFuture(deleted ? name : null);
+                    }
+                    return getEmployeeById(id).thenCompose(upstream -> {
+                        String upstreamName = upstream.getEmployeeName();
+                        log.info(
+                                "Cached name for id={} was rejected by employee API; resolved name={} upstream",
+                                id,
+                                upstreamName);
+                        if (upstreamName == null || upstreamName.equals(name)) {
+                            return CompletableFuture.completedFuture(null);
+                        }
+                        return deleteByName(upstreamName).thenApply(retried -> retried ? upstreamName : null);
+                    });
+                }))
+                .thenApply(deletedName -> {
+                    if (deletedName == null) {
+                        log.error("Employee API failed to delete employee id={}", id);
+                        throw new EmployeeApiException("Failed to delete employee with id=" + id);
+                    }
+                    log.info("Deleted employee id={} name={}", id, deletedName);
+                    snapshotCache.remove(id);
+                    return deletedName;
+                });
+    }
+
+    private CompletableFuture<Boolean> deleteByName(String name) {
+        DeleteEmployeeInput deleteInput = new DeleteEmployeeInput();
+        deleteInput.setName(name);
+        return asyncApiClient
+                .<Boolean>exchange("", HttpMethod.DELETE, deleteInput, new TypeReference<>() {})
+                .thenApply(response -> response != null && Boolean.TRUE.equals(response.getData()));
+    }
+
+    private CompletableFuture<EmployeeSnapshot> snapshot() {
+        EmployeeSnapshot snapshot = snapshotCache.getIfUsable();
+        if (snapshot != null) {
+            return CompletableFuture.completedFuture(snapshot);
+        }
+        return asyncApiClient
+                .fetchAllEmployees()
+                .thenApply(employees -> snapshotCache.publish(employees, asyncApiClient.versionOf(employees)))
+                .exceptionally(ex -> {
+                    Throwable cause = unwrap(ex);
+                    EmployeeSnapshot lastKnown = snapshotCache.lastKnown();
+                    if (cause instanceof EmployeeApiUnavailableException && lastKnown != null) {
+                        log.warn("Employee API unavailable; serving last known snapshot");
+                        return lastKnown;
+                    }
+                    throw new CompletionException(cause);
+                });
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+}
@@ -0,0 +1,232 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiException;
+import com.reliaquest.api.exception.EmployeeApiRateLimitException;
+import com.reliaquest.api.exception.EmployeeApiUnavailableException;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+/**
+ * Batch variants of {@link EmployeeService#createEmployee} and {@link EmployeeService#deleteEmployeeById}. Items are
+ * sent to the upstream's batch endpoints, {@code maxBatchSize} per call, so a batch costs one upstream call and one
+ * rate limit permit per chunk instead of one per item.
+ *
+ * <p>Every item gets its own result, in request order, and fails on its own: an invalid item is answered 400, an
+ * unknown id 404, an item the upstream rejects with its own status, and an item of a failed upstream call as a single
+ * request would have been. Only if the first upstream batch call fails, before anything was changed, does the whole
+ * request fail, with the status a single request would have got.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeBatchService {
+
+    private final EmployeeApiClient apiClient;
+    private final EmployeeSnapshotCache snapshotCache;
+    private final EmployeeService employeeService;
+    private final EmployeeApiProperties properties;
+    private final Validator validator;
+
+    public List<BatchItemResult<Employee>> createEmployees(List<CreateEmployeeInput> inputs) {
+        log.info("Creating batch of {} employees", inputs.size());
+        List<BatchItemResult<Employee>> results = new ArrayList<>(Collections.nCopies(inputs.size(), null));
+        List<Integer> valid = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            String error = validate(inputs.get(i));
+            if (error == null) {
+                valid.add(i);
+            } else {
+                results.set(i, BatchItemResult.failed(HttpStatus.BAD_REQUEST.value(), error));
+            }
+        }
+        List<Employee> created = new ArrayList<>(valid.size());
+        boolean applied = false;
+        for (List<Integer> chunk : chunks(valid)) {
+            List<BatchItemResult<Employee>> chunkResults;
+            try {
+                chunkResults = apiClient.createEmployees(chunk.stream().map(inputs::get).toList());
+            } catch (EmployeeApiException ex) {
+                if (!applied) {
+                    throw ex;
+                }
+                log.warn("Employee API failed a batch of {} creates", chunk.size(), ex);
+                chunk.forEach(i -> results.set(i, upstreamFailure(ex)));
+                continue;
+            }
+            applied = true;
+            int answered = answered(chunkResults, chunk, results);
+            for (int j = 0; j < answered; j++) {
+                BatchItemResult<Employee> result = chunkResults.get(j);
+                if (result.isSuccessful() && result.getData() != null) {
+                    created.add(result.getData());
+                    results.set(chunk.get(j), BatchItemResult.ok(result.getData()));
+                } else {
+                    results.set(chunk.get(j), rejected(result));
+                }
+            }
+        }
+        snapshotCache.addAll(created);
+        log.info("Created {} of {} employees in batch", created.size(), inputs.size());
+        return results;
+    }
+
+    /**
+     * Deletes each employee by id, answering the deleted employee's name. As with single deletes, the upstream deletes
+     * by name; ids whose cached name it no longer knows are retried one by one through {@link EmployeeService}.
+     */
+    public List<BatchItemResult<String>> deleteEmployeesByIds(List<String> ids) {
+        log.info("Deleting batch of {} employees", ids.size());
+        List<BatchItemResult<String>> results = new ArrayList<>(Collections.nCopies(ids.size(), null));
+        Map<String, Integer> firstIndexById = new HashMap<>();
+        List<Integer> pending = new ArrayList<>(ids.size());
+        List<String> names = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            if (id == null || id.isBlank()) {
+                results.set(i, BatchItemResult.failed(HttpStatus.BAD_REQUEST.value(), "id must not be blank"));
+            } else if (firstIndexById.putIfAbsent(id, i) == null) {
+                try {
+                    names.add(resolveName(id));
+                    pending.add(i);
+                } catch (EmployeeNotFoundException ex) {
+                    results.set(i, BatchItemResult.failed(HttpStatus.NOT_FOUND.value(), ex.getMessage()));
+                } catch (EmployeeApiException ex) {
+                    results.set(i, upstreamFailure(ex));
+                }
+            }
+        }
+        List<String> deleted = new ArrayList<>(pending.size());
+        boolean applied = false;
+        int offset = 0;
+        for (List<Integer> chunk : chunks(pending)) {
+            List<String> chunkNames = names.subList(offset, offset + chunk.size());
+            offset += chunk.size();
+            List<BatchItemResult<Boolean>> chunkResults;
+            try {
+                chunkResults = apiClient.deleteEmployeesByName(chunkNames);
+            } catch (EmployeeApiException ex) {
+                if (!applied) {
+                    throw ex;
+                }
+                log.warn("Employee API failed a batch of {} deletes", chunk.size(), ex);
+                chunk.forEach(i -> results.set(i, upstreamFailure(ex)));
+                continue;
+            }
+            applied = true;
+            int answered = answered(chunkResults, chunk, results);
+            for (int j = 0; j < answered; j++) {
+                int index = chunk.get(j);
+                if (Boolean.TRUE.equals(chunkResults.get(j).getData())) {
+                    deleted.add(ids.get(index));
+                    results.set(index, BatchItemResult.ok(chunkNames.get(j)));
+                } else {
+                    results.set(index, deleteOne(ids.get(index)));
+                }
+            }
+        }
+        snapshotCache.removeAll(deleted);
+        for (int i = 0; i < ids.size(); i++) {
+            if (results.get(i) == null) {
+                results.set(i, results.get(firstIndexById.get(ids.get(i))));
+            }
+        }
+        log.info("Deleted {} of {} employees in batch", deleted.size(), ids.size());
+        return results;
+    }
+
+    /**
+     * How many items of {@code chunk} the upstream answered. Results are matched to items by position, so when the
+     * upstream returns too few, every item past the last result is failed here as a failed upstream call would be.
+     */
+    private static <T> int answered(List<?> chunkResults, List<Integer> chunk, List<BatchItemResult<T>> results) {
+        int received = chunkResults == null ? 0 : chunkResults.size();
+        if (received < chunk.size()) {
+            EmployeeApiException unanswered = new EmployeeApiException(
+                    "Employee API returned " + received + " results for " + chunk.size() + " items");
+            log.warn(unanswered.getMessage());
+            chunk.subList(received, chunk.size()).forEach(i -> results.set(i, upstreamFailure(unanswered)));
+        }
+        return Math.min(received, chunk.size());
+    }
+
+    private String resolveName(String id) {
+        Employee cached = snapshotCache.findCached(id);
+        if (cached != null && cached.getEmployeeName() != null) {
+            return cached.getEmployeeName();
+        }
+        return employeeService.getEmployeeById(id).getEmployeeName();
+    }
+
+    /** Falls back to the single delete, which re-resolves the name upstream when the cached one was stale. */
+    private BatchItemResult<String> deleteOne(String id) {
+        try {
+            return BatchItemResult.ok(employeeService.deleteEmployeeById(id));
+        } catch (EmployeeNotFoundException ex) {
+            return BatchItemResult.failed(HttpStatus.NOT_FOUND.value(), ex.getMessage());
+        } catch (EmployeeApiException ex) {
+            return upstreamFailure(ex);
+        }
+    }
+
+    /** Splits {@code indexes} into consecutive chunks of at most {@code maxBatchSize}, backed by {@code indexes}. */
+    private List<List<Integer>> chunks(List<Integer> indexes) {
+        int size = Math.max(1, properties.getBatching().getMaxBatchSize());
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < indexes.size(); from += size) {
+            chunks.add(indexes.subList(from, Math.min(indexes.size(), from + size)));
+        }
+        return chunks;
+    }
+
+    private String validate(CreateEmployeeInput input) {
+        if (input == null) {
+            return "item is required";
+        }
+        Set<ConstraintViolation<CreateEmployeeInput>> violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /** Upstream 4xx results are passed on as they are; anything else is the upstream failing the item. */
+    private static <T> BatchItemResult<T> rejected(BatchItemResult<?> upstream) {
+        String error = upstream.getError() == null ? "Employee API rejected the item" : upstream.getError();
+        boolean clientError = upstream.getStatus() >= 400 && upstream.getStatus() < 500;
+        return BatchItemResult.failed(clientError ? upstream.getStatus() : HttpStatus.BAD_GATEWAY.value(), error);
+    }
+
+    /** Same status {@link com.reliaquest.api.exception.EmployeeControllerAdvice} answers a single request with. */
+    private static <T> BatchItemResult<T> upstreamFailure(EmployeeApiException ex) {
+        HttpStatus status;
+        if (ex instanceof EmployeeApiRateLimitException) {
+            status = HttpStatus.TOO_MANY_REQUESTS;
+        } else if (ex instanceof EmployeeApiUnavailableException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else {
+            status = HttpStatus.BAD_GATEWAY;
+        }
+        return BatchItemResult.failed(status.value(), ex.getMessage());
+    }
+}
@@ -0,0 +1,121 @@
+package com.reliaquest.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class EmployeeNameIndexTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final EmployeeNameIndex index = new EmployeeNameIndex();
+
+    @Test
+    void searchMatchesLinearScanInUpstreamOrder() {
+        Random random = new Random(11);
+        String[] parts = {"al", "pha", "bra", "vo", "Char", "lie", "DEL", "ta", "ECHO", "x"};
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String name = parts[random.nextInt(parts.length)] + parts[random.nextInt(parts.length)] + " "
+                    + parts[random.nextInt(parts.length)];
+            employees.add(employee(String.valueOf(i), name));
+        }
+        EmployeeSnapshot snapshot = indexed(null, employees);
+
+        for (String needle : List.of("a", "Al", "pha", "ALPHA", "lie ta", "echox", "avo", "zzz", "h", "ta del")) {
+            assertThat(index.search(snapshot, needle)).as(needle).isEqualTo(scan(employees, needle));
+        }
+    }
+
+    @Test
+    void updateAddsChangesAndRemovesNames() {
+        EmployeeSnapshot first = indexed(null, List.of(employee("1", "Alpha"), employee("2", "Bravo")));
+        EmployeeSnapshot second = indexed(first, List.of(employee("1", "Charlie"), employee("3", "Alphonse")));
+
+        assertThat(index.search(second, "alph")).extracting(Employee::getId).containsExactly("3");
+        assertThat(index.search(second, "charl")).extracting(Employee::getId).containsExactly("1");
+        assertThat(index.search(second, "bravo")).isEmpty();
+
+        indexed(second, List.of());
+
+        assertThat(index.postingListCount()).isZero();
+    }
+
+    @Test
+    void readersOfPreviousSnapshotStillSeeTheirEmployeesDuringPublish() {
+        EmployeeSnapshot first = indexed(null, List.of(employee("1", "Alpha")));
+        EmployeeSnapshot second = EmployeeSnapshot.of(List.of(employee("1", "Bravo")), NOW, 10);
+        List<List<Employee>> duringPublish = new ArrayList<>();
+
+        index.update(first, second, () -> {
+            duringPublish.add(index.search(first, "alpha"));
+            duringPublish.add(index.search(second, "bravo"));
+        });
+
+        assertThat(duringPublish.get(0)).extracting(Employee::getEmployeeName).containsExactly("Alpha");
+        assertThat(duringPublish.get(1)).extracting(Employee::getEmployeeName).containsExactly("Bravo");
+        assertThat(index.search(second, "alpha")).isEmpty();
+    }
+
+    @Test
+    void readersOfSupersededSnapshotsStillSeeTheirEmployees() {
+        EmployeeSnapshot first = indexed(null, List.of(employee("1", "Alpha"), employee("2", "Bravo")));
+        EmployeeSnapshot second = indexed(first, List.of(employee("2", "Bravo")));
+        indexed(second, List.of(employee("3", "Charlie")));
+
+        assertThat(index.search(first, "alpha")).extracting(Employee::getId).containsExactly("1");
+        assertThat(index.search(second, "bravo")).extracting(Employee::getId).containsExactly("2");
+    }
+
+    @Test
+    void employeesWithoutUsableIdAreStillSearchable() {
+        EmployeeSnapshot snapshot = indexed(
+                null, List.of(employee(null, "Alpha"), employee("1", "Alpine"), employee("1", "Alpaca")));
+
+        assertThat(index.search(snapshot, "alp"))
+                .extracting(Employee::getEmployeeName)
+                .containsExactly("Alpha", "Alpine", "Alpaca");
+    }
+
+    @Test
+    void employeesWithoutNameNeverMatch() {
+        EmployeeSnapshot snapshot = indexed(null, List.of(employee("1", null), employee("2", "Alpha")));
+
+        assertThat(index.search(snapshot, "al")).extracting(Employee::getId).containsExactly("2");
+        assertThat(index.search(snapshot, "alp")).extracting(Employee::getId).containsExactly("2");
+    }
+
+    @Test
+    void gramsAreCaseFoldedAndDistinct() {
+        assertThat(EmployeeNameIndex.grams("AbAbA")).isEqualTo(EmployeeNameIndex.grams("ababa"));
+        assertThat(EmployeeNameIndex.grams("ababa")).hasSize(2);
+        assertThat(EmployeeNameIndex.grams("ab")).isEmpty();
+    }
+
+    private EmployeeSnapshot indexed(EmployeeSnapshot previous, List<Employee> employees) {
+        EmployeeSnapshot next = EmployeeSnapshot.of(employees, NOW, 10);
+        index.update(previous, next, () -> {});
+        return next;
+    }
+
+    private List<Employee> scan(List<Employee> employees, String needle) {
+        String lower = needle.toLowerCase(Locale.ROOT);
+        return employees.stream()
+                .filter(employee -> employee.getEmployeeName() != null
+                        && employee.getEmployeeName().toLowerCase(Locale.ROOT).contains(lower))
+                .toList();
+    }
+
+    private Employee employee(String id, String name) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmployeeName(name);
+        return employee;
+    }
+}
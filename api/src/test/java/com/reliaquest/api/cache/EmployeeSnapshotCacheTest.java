@@ -0,0 +1,488 @@
+package com.reliaquest.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiException;
+import com.reliaquest.api.exception.EmployeeApiUnavailableException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+class EmployeeSnapshotCacheTest {
+
+    private final EmployeeApiClient apiClient = mock(EmployeeApiClient.class);
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private EmployeeApiProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EmployeeApiProperties();
+        properties.getCache().setTtl(Duration.ofSeconds(30));
+        properties.getCache().setRefreshAhead(Duration.ofSeconds(5));
+        properties.getCache().setMaxStaleness(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void firstReadLoadsSnapshot() {
+        when(apiClient.fetchAllEmployees()).thenReturn(List.of(employee("1", "Alpha")));
+        EmployeeSnapshotCache cache = newCache(new SyncTaskExecutor());
+
+        EmployeeSnapshot snapshot = cache.get();
+
+        assertThat(snapshot.getEmployees()).extracting(Employee::getEmployeeName).containsExactly("Alpha");
+        assertThat(snapshot.getFetchedAt()).isEqualTo(clock.instant());
+    }
+
+    @Test
+    void freshSnapshotIsServedWithoutUpstreamCall() {
+        when(apiClient.fetchAllEmployees()).thenReturn(List.of(employee("1", "Alpha")));
+        EmployeeSnapshotCache cache = newCache(new SyncTaskExecutor());
+
+        EmployeeSnapshot first = cache.get();
+        clock.advance(Duration.ofSeconds(10));
+        EmployeeSnapshot second = cache.get();
+
+        assertThat(second).isSameAs(first);
+        verify(apiClient, times(1)).fetchAllEmployees();
+    }
+
+    @Test
+    void snapshotWithinRefreshAheadWindowTriggersBackgroundRefresh() {
+        when(apiClient.fetchAllEmployees())
+                .thenReturn(List.of(employee("1", "Alpha")))
+                .thenReturn(List.of(employee("2", "Bravo")));
+        List<Runnable> tasks = new ArrayList<>();
+        EmployeeSnapshotCache cache = newCache(tasks::add);
+
+        EmployeeSnapshot first = cache.get();
+        clock.advance(Duration.ofSeconds(26));
+        EmployeeSnapshot served = cache.get();
+        cache.get();
+
+        assertThat(served).isSameAs(first);
+        assertThat(tasks).hasSize(1);
+
+        tasks.get(0).run();
+
+        assertThat(cache.get().getEmployees()).extracting(Employee::getEmployeeName).containsExactly("Bravo");
+    }
+
+    @Test
+    void staleSnapshotIsServedWhileRevalidating() {
+        when(apiClient.fetchAllEmployees())
+                .thenReturn(List.of(employee("1", "Alpha")))
+                .thenThrow(new EmployeeApiException("down"));
+        EmployeeSnapshotCache cache = newCache(new SyncTaskExecutor());
+
+        EmployeeSnapshot first = cache.get();
+        clock.advance(Duration.ofMinutes(1));
+
+        assertThat(cache.get()).isSameAs(first);
+        verify(apiClient, times(2)).fetchAllEmployees();
+    }
+
+    @Test
+    void snapshotPastMaxStalenessBlocksOnReload() {
+        when(apiClient.fetchAllEmployees())
+                .thenReturn(List.of(employee("1", "Alpha")))
+                .thenThrow(new EmployeeApiException("down"));
+        EmployeeSnapshotCache cache = newCache(task -> {});
+
+        cache.get();
+        clock.advance(Duration.ofMinutes(6));
+
+        assertThatThrownBy(cache::get).isInstanceOf(EmployeeApiException.class);
+    }
+
+    @Test
+    void getIfUsableNeverLoadsAndReturnsNullPastMaxStaleness() {
+        EmployeeSnapshotCache cache = newCache(task -> {});
+
+        assertThat(cache.getIfUsable()).isNull();
+
+        EmployeeSnapshot published = cache.publish(List.of(employee("1", "Alpha")));
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(cache.getIfUsable()).isSameAs(published);
+
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(cache.getIfUsable()).isNull();
+        verify(apiClient, times(0)).fetchAllEmployees();
+    }
+
+    @Test
+    void openCircuitServesLastKnownSnapshotPastMaxStaleness() {
+        when(apiClient.fetchAllEmployees())
+                .thenReturn(List.of(employee("1", "Alpha")))
+                .thenThrow(new EmployeeApiUnavailableException("open", Duration.ofSeconds(10)));
+        EmployeeSnapshotCache cache = newCache(task -> {});
+
+        EmployeeSnapshot first = cache.get();
+        clock.advance(Duration.ofMinutes(6));
+
+        assertThat(cache.get()).isSameAs(first);
+    }
+
+    @Test
+    void openCircuitWithoutSnapshotPropagates() {
+        when(apiClient.fetchAllEmployees())
+                .thenThrow(new EmployeeApiUnavailableException("open", Duration.ofSeconds(10)));
+        EmployeeSnapshotCache cache = newCache(task -> {});
+
+        assertThatThrownBy(cache::get).isInstanceOf(EmployeeApiUnavailableException.class);
+    }
+
+    @Test
+    void invalidateForcesReload() {
+        when(apiClient.fetchAllEmployees()).thenReturn(List.of(employee("1", "Alpha")));
+        EmployeeSnapshotCache cache = newCache(task -> {});
+
+        cache.get();
+        cache.invalidate();
+        cache.get();
+
+        verify(apiClient, times(2)).fetchAllEmployees();
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        properties.getCache().setEnabled(false);
+        when(apiClient.fetchAllEmployees()).thenReturn(List.of(employee("1", "Alpha")));
+        EmployeeSnapshotCache cache = newCache(task -> {});
+
+        cache.get();
+        cache.get();
+
+        verify(apiClient, times(2)).fetchAllEmployees();
+    }
+
+    @Test
+    void rejectedRefreshKeepsServingSnapshot() {
+        when(apiClient.fetchAllEmployees()).thenReturn(List.of(employee("1", "Alpha")));
+        EmployeeSnapshotCache cache = newCache(task -> {
+            throw new TaskRejectedException("busy");
+        });
+
+        cache.get();
+        clock.advance(Duration.ofMinutes(1));
+        cache.get();
+        cache.get();
+
+        verify(apiClient, times(1)).fetchAllEmployees();
+    }
+
+    @Test
+    void searchByNameFollowsRefreshedSnapshots() {
+        when(apiClient.fetchAllEmployees())
+                .thenReturn(List.of(employee("1", "Alpha"), employee("2", "Bravo")))
+                .thenReturn(List.of(employee("2", "Bravo"), employee("3", "Alphonse")));
+        EmployeeSnapshotCache cache = newCache(task -> {});
+
+        assertThat(cache.searchByName("ALPH")).extracting(Employee::getId).containsExactly("1");
+
+        cache.refresh();
+
+        assertThat(cache.searchByName("alph")).extracting(Employee::getId).containsExactly("3");
+    }
+
+    @Test
+    void localWritesUpdateCurrentSnapshotWithoutExtendingIt() {
+        Employee alpha = employee("1", "Alpha");
+        alpha.setEmployeeSalary(100);
+        when(apiClient.fetchAllEmployees()).thenReturn(List.of(alpha));
+        EmployeeSnapshotCache cache = newCache(task -> {});
+        Instant fetchedAt = cache.get().getFetchedAt();
+        clock.advance(Duration.ofSeconds(5));
+
+        Employee bravo = employee("2", "Bravo");
+        bravo.setEmployeeSalary(300);
+        cache.add(bravo);
+        cache.remove("1");
+
+        EmployeeSnapshot snapshot = cache.get();
+        assertThat(snapshot.getEmployees()).extracting(Employee::getId).containsExactly("2");
+        assertThat(snapshot.getFetchedAt()).isEqualTo(fetchedAt);
+        assertThat(snapshot.getSalaryAggregates().getHighestSalary()).isEqualTo(300);
+        assertThat(cache.searchByName("bra")).extracting(Employee::getId).containsExactly("2");
+        assertThat(cache.findCached("2")).isSameAs(bravo);
+        assertThat(cache.findCached("1")).isNull();
+    }
+
+    @Test
+    void localWritesWithoutSnapshotAreIgnored() {
+        EmployeeSnapshotCache cache = newCache(task -> {});
+
+        cache.add(employee("1", "Alpha"));
+        cache.remove("1");
+
+        assertThat(cache.findCached("1")).isNull();
+        verify(apiClient, times(0)).fetchAllEmployees();
+    }
+
+    @Test
+    void versionChangesOnlyWhenEmployeesChange() {
+        when(apiClient.fetchAllEmployees())
+                .thenReturn(List.of(employee("1", "Alpha")))
+                .thenReturn(List.of(employee("1", "Alpha")))
+                .thenReturn(List.of(employee("1", "Alpha Two")));
+        EmployeeSnapshotCache cache = newCache(task -> {});
+
+        EmployeeSnapshot first = cache.refresh();
+        clock.advance(Duration.ofSeconds(3));
+        EmployeeSnapshot unchanged = cache.refresh();
+        EmployeeSnapshot changed = cache.refresh();
+
+        assertThat(first.getVersion()).isNotNull();
+        assertThat(first.getLastModified()).isEqualTo(Instant.parse("2024-01-01T00:00:00Z"));
+        assertThat(unchanged.getVersion()).isEqualTo(first.getVersion());
+        assertThat(unchanged.getLastModified()).isEqualTo(first.getLastModified());
+        assertThat(unchanged.getFetchedAt()).isEqualTo(clock.instant());
+        assertThat(changed.getVersion()).isNotEqualTo(first.getVersion());
+        assertThat(changed.getLastModified()).isEqualTo(Instant.parse("2024-01-01T00:00:03Z"));
+    }
+
+    @Test
+    void republishingTheSameListRenewsWithoutRebuilding() {
+        List<Employee> employees = List.of(employee("1", "Alpha"));
+        EmployeeSnapshotCache cache = newCache(task -> {});
+
+        EmployeeSnapshot first = cache.publish(employees);
+        clock.advance(Duration.ofSeconds(40));
+        EmployeeSnapshot renewed = cache.publish(employees);
+
+        assertThat(renewed.getFetchedAt()).isEqualTo(clock.instant());
+        assertThat(renewed.getVersion()).isEqualTo(first.getVersion());
+        assertThat(renewed.getEmployees()).isSameAs(first.getEmployees());
+        assertThat(renewed.getSalaryAggregates()).isSameAs(first.getSalaryAggregates());
+        assertThat(cache.getIfUsable()).isSameAs(renewed);
+    }
+
+    @Test
+    void localWritesGetANewVersionWithALaterLastModifiedSecond() {
+        List<Employee> employees = List.of(employee("1", "Alpha"));
+        EmployeeSnapshotCache cache = newCache(task -> {});
+        EmployeeSnapshot first = cache.publish(employees);
+
+        cache.add(employee("2", "Bravo"));
+        EmployeeSnapshot written = cache.lastKnown();
+        EmployeeSnapshot republished = cache.publish(employees);
+
+        assertThat(written.getVersion()).isNotEqualTo(first.getVersion());
+        assertThat(written.getLastModified()).isEqualTo(first.getLastModified().plusSeconds(1));
+        assertThat(republished.getEmployees()).extracting(Employee::getId).containsExactly("1");
+        assertThat(republished.getVersion()).isNotEqualTo(written.getVersion());
+    }
+
+    @Test
+    void deletingAbsentEmployeesKeepsTheVersion() {
+        EmployeeSnapshotCache cache = newCache(task -> {});
+        EmployeeSnapshot first = cache.publish(List.of(employee("1", "Alpha")));
+
+        cache.remove("2");
+        cache.removeAll(List.of("2", "3"));
+
+        assertThat(cache.lastKnown()).isSameAs(first);
+    }
+
+    @Test
+    void refreshAppliesChangesSinceTheListingVersion() {
+        List<Employee> employees = List.of(employee("1", "Alpha"), employee("2", "Bravo"), employee("3", "Charlie"));
+        when(apiClient.fetchAllEmployees()).thenReturn(employees);
+        when(apiClient.versionOf(employees)).thenReturn("v-1");
+        when(apiClient.fetchChanges("v-1", properties.getCache().getMaxChanges()))
+                .thenReturn(changes(
+                        "v-4",
+                        put(employee("2", "Bravo Two")),
+                        delete("1"),
+                        put(employee("4", "Delta")),
+                        delete("4"),
+                        put(employee("5", "Echo"))));
+        EmployeeSnapshotCache cache = newCache(task -> {});
+        EmployeeSnapshot first = cache.refresh();
+
+        clock.advance(Duration.ofSeconds(40));
+        EmployeeSnapshot synced = cache.refresh();
+
+        verify(apiClient, times(1)).fetchAllEmployees();
+        assertThat(synced.getEmployees())
+                .extracting(Employee::getEmployeeName)
+                .containsExactly("Bravo Two", "Charlie", "Echo");
+        assertThat(synced.getFetchedAt()).isEqualTo(clock.instant());
+        assertThat(synced.getVersion()).isNotEqualTo(first.getVersion());
+        assertThat(cache.searchByName(synced, "bravo")).extracting(Employee::getId).containsExactly("2");
+        assertThat(cache.searchByName(synced, "alpha")).isEmpty();
+        assertThat(cache.searchByName(synced, "echo")).extracting(Employee::getId).containsExactly("5");
+    }
+
+    @Test
+    void emptyChangeFeedRenewsTheSnapshot() {
+        List<Employee> employees = List.of(employee("1", "Alpha"));
+        when(apiClient.fetchAllEmployees()).thenReturn(employees);
+        when(apiClient.versionOf(employees)).thenReturn("v-1");
+        when(apiClient.fetchChanges(anyString(), anyInt())).thenReturn(changes("v-1"));
+        EmployeeSnapshotCache cache = newCache(task -> {});
+        EmployeeSnapshot first = cache.refresh();
+
+        clock.advance(Duration.ofSeconds(40));
+        EmployeeSnapshot renewed = cache.refresh();
+
+        assertThat(renewed.getVersion()).isEqualTo(first.getVersion());
+        assertThat(renewed.getEmployees()).isSameAs(first.getEmployees());
+        assertThat(renewed.getFetchedAt()).isEqualTo(clock.instant());
+    }
+
+    @Test
+    void resetFromTheChangeFeedReloadsTheListing() {
+        List<Employee> employees = List.of(employee("1", "Alpha"));
+        List<Employee> reloaded = List.of(employee("9", "Zulu"));
+        when(apiClient.fetchAllEmployees()).thenReturn(employees).thenReturn(reloaded);
+        when(apiClient.versionOf(employees)).thenReturn("v-1");
+        EmployeeChanges reset = changes("v-7");
+        reset.setReset(true);
+        when(apiClient.fetchChanges("v-1", properties.getCache().getMaxChanges())).thenReturn(reset);
+        EmployeeSnapshotCache cache = newCache(task -> {});
+        cache.refresh();
+
+        EmployeeSnapshot snapshot = cache.refresh();
+
+        verify(apiClient, times(2)).fetchAllEmployees();
+        assertThat(snapshot.getEmployees()).extracting(Employee::getEmployeeName).containsExactly("Zulu");
+    }
+
+    @Test
+    void changeFeedIsSkippedWithoutAListingVersionOrWhenDisabled() {
+        List<Employee> employees = List.of(employee("1", "Alpha"));
+        when(apiClient.fetchAllEmployees()).thenReturn(employees);
+        when(apiClient.versionOf(employees)).thenReturn("v-1");
+        EmployeeSnapshotCache cache = newCache(task -> {});
+        cache.publish(employees);
+        cache.refresh();
+        properties.getCache().setDeltaSync(false);
+        cache.refresh();
+
+        verify(apiClient, never()).fetchChanges(anyString(), anyInt());
+        verify(apiClient, times(2)).fetchAllEmployees();
+    }
+
+    @Test
+    void withChangesUpsertsAndRemovesInOnePass() {
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(
+                List.of(employee("1", "Alpha"), employee("2", "Bravo")), clock.instant(), 10);
+        Map<String, Employee> changes = new LinkedHashMap<>();
+        changes.put("3", employee("3", "Charlie"));
+        changes.put("1", null);
+        changes.put("2", employee("2", "Bravo Two"));
+
+        EmployeeSnapshot updated = snapshot.withChanges(changes, clock.instant());
+
+        assertThat(updated.getEmployees())
+                .extracting(Employee::getEmployeeName)
+                .containsExactly("Bravo Two", "Charlie");
+        assertThat(updated.findById("1")).isNull();
+    }
+
+    @Test
+    void withEmployeeReplacesExistingId() {
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(List.of(employee("1", "Alpha")), clock.instant(), 10);
+
+        EmployeeSnapshot updated = snapshot.withEmployee(employee("1", "Alpha Two"));
+
+        assertThat(updated.getEmployees()).extracting(Employee::getEmployeeName).containsExactly("Alpha Two");
+        assertThat(updated.withoutEmployee("missing")).isSameAs(updated);
+    }
+
+    @Test
+    void snapshotIsDefensiveCopy() {
+        List<Employee> employees = new ArrayList<>(List.of(employee("1", "Alpha")));
+        EmployeeSnapshot snapshot = EmployeeSnapshot.of(employees, clock.instant(), 10);
+
+        employees.clear();
+
+        assertThat(snapshot.getEmployees()).hasSize(1);
+        assertThatThrownBy(() -> snapshot.getEmployees().clear()).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private EmployeeSnapshotCache newCache(TaskExecutor executor) {
+        return new EmployeeSnapshotCache(apiClient, properties, executor, clock);
+    }
+
+    private static EmployeeChanges changes(String version, EmployeeChange... changes) {
+        EmployeeChanges result = new EmployeeChanges();
+        result.setVersion(version);
+        result.setChanges(List.of(changes));
+        return result;
+    }
+
+    private static EmployeeChange put(Employee employee) {
+        EmployeeChange change = new EmployeeChange();
+        change.setType("PUT");
+        change.setId(employee.getId());
+        change.setEmployee(employee);
+        return change;
+    }
+
+    private static EmployeeChange delete(String id) {
+        EmployeeChange change = new EmployeeChange();
+        change.setType("DELETE");
+        change.setId(id);
+        return change;
+    }
+
+    private Employee employee(String id, String name) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmployeeName(name);
+        return employee;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.api.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SalaryAggregatesTest {
+
+    @Test
+    void highestSalaryIgnoresMissingSalaries() {
+        SalaryAggregates aggregates =
+                SalaryAggregates.from(List.of(employee("A", 100), employee("B", null), employee("C", 450)), 10);
+
+        assertThat(aggregates.getHighestSalary()).isEqualTo(450);
+    }
+
+    @Test
+    void highestSalaryIsZeroWithoutSalaries() {
+        SalaryAggregates aggregates = SalaryAggregates.from(List.of(employee("A", null)), 10);
+
+        assertThat(aggregates.getHighestSalary()).isZero();
+        assertThat(SalaryAggregates.from(List.of(), 10).getHighestSalary()).isZero();
+    }
+
+    @Test
+    void topEarnersMatchStableDescendingSort() {
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            employees.add(employee("Emp" + i, i % 50 == 0 ? null : random.nextInt(40)));
+        }
+
+        List<String> expected = employees.stream()
+                .sorted(Comparator.comparing(Employee::getEmployeeSalary, Comparator.nullsFirst(Integer::compareTo))
+                        .reversed())
+                .limit(25)
+                .map(Employee::getEmployeeName)
+                .filter(Objects::nonNull)
+                .toList();
+
+        assertThat(SalaryAggregates.from(employees, 25).topEarnerNames(25)).isEqualTo(expected);
+    }
+
+    @Test
+    void employeesWithoutSalaryOnlyFillRemainingSlots() {
+        List<Employee> employees = List.of(employee("A", null), employee("B", 100), employee("C", null));
+
+        SalaryAggregates aggregates = SalaryAggregates.from(employees, 10);
+
+        assertThat(aggregates.topEarnerNames(10)).containsExactly("B", "A", "C");
+    }
+
+    @Test
+    void topKIsNeverBelowTen() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            employees.add(employee("Emp" + i, i));
+        }
+
+        SalaryAggregates aggregates = SalaryAggregates.from(employees, 3);
+
+        assertThat(aggregates.getTopEarners()).hasSize(SalaryAggregates.MIN_TOP_K);
+        assertThat(aggregates.topEarnerNames(1)).containsExactly("Emp19");
+    }
+
+    @Test
+    void topEarnerNamesSkipsMissingNames() {
+        SalaryAggregates aggregates = SalaryAggregates.from(List.of(employee(null, 300), employee("B", 200)), 10);
+
+        assertThat(aggregates.topEarnerNames(10)).containsExactly("B");
+    }
+
+    private Employee employee(String name, Integer salary) {
+        Employee employee = new Employee();
+        employee.setEmployeeName(name);
+        employee.setEmployeeSalary(salary);
+        return employee;
+    }
+}
@@ -0,0 +1,176 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiRateLimitException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+    private EmployeeApiProperties.RateLimit settings;
+
+    @BeforeEach
+    void setUp() {
+        settings = new EmployeeApiProperties.RateLimit();
+        settings.setInitialRate(10.0);
+        settings.setBurst(2);
+        settings.setMaxWait(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void burstIsServedImmediatelyThenPacedAtRate() {
+        AdaptiveRateLimiter limiter = newLimiter();
+
+        assertThat(limiter.reserve().delayNanos()).isZero();
+        assertThat(limiter.reserve().delayNanos()).isZero();
+        assertThat(limiter.reserve().delayNanos()).isZero();
+        assertThat(limiter.reserve().delayNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(limiter.reserve().delayNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void idleTimeRefillsUpToBurst() {
+        AdaptiveRateLimiter limiter = newLimiter();
+        drain(limiter, 3);
+
+        advance(Duration.ofSeconds(10));
+
+        assertThat(limiter.reserve().delayNanos()).isZero();
+        assertThat(limiter.reserve().delayNanos()).isZero();
+        assertThat(limiter.reserve().delayNanos()).isZero();
+        assertThat(limiter.reserve().delayNanos()).isPositive();
+    }
+
+    @Test
+    void throttlingHalvesRateOncePerCongestionEvent() {
+        AdaptiveRateLimiter limiter = newLimiter();
+        AdaptiveRateLimiter.Permit first = limiter.reserve();
+        AdaptiveRateLimiter.Permit second = limiter.reserve();
+
+        advance(Duration.ofMillis(10));
+        limiter.onThrottled(first, null);
+        limiter.onThrottled(second, null);
+
+        assertThat(limiter.currentRate()).isEqualTo(5.0);
+        assertThat(limiter.reserve().delayNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void successesIncreaseRateAdditively() {
+        AdaptiveRateLimiter limiter = newLimiter();
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onSuccess();
+        }
+
+        assertThat(limiter.currentRate()).isCloseTo(11.0, offset(0.05));
+    }
+
+    @Test
+    void rateStaysWithinBounds() {
+        settings.setMinRate(2.0);
+        settings.setMaxRate(10.5);
+        AdaptiveRateLimiter limiter = newLimiter();
+
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess();
+        }
+        assertThat(limiter.currentRate()).isEqualTo(10.5);
+
+        for (int i = 0; i < 10; i++) {
+            advance(Duration.ofSeconds(1));
+            limiter.onThrottled(limiter.reserve(), null);
+        }
+        assertThat(limiter.currentRate()).isEqualTo(2.0);
+    }
+
+    @Test
+    void retryAfterBlocksAllCallersUntilItPasses() {
+        settings.setMaxWait(Duration.ofSeconds(5));
+        AdaptiveRateLimiter limiter = newLimiter();
+
+        limiter.onThrottled(limiter.reserve(), Duration.ofSeconds(3));
+
+        assertThat(limiter.reserve().delayNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(3));
+    }
+
+    @Test
+    void failsFastWhenPermitIsBeyondMaxWait() {
+        AdaptiveRateLimiter limiter = newLimiter();
+
+        limiter.onThrottled(limiter.reserve(), Duration.ofSeconds(30));
+
+        assertThatThrownBy(limiter::reserve)
+                .isInstanceOf(EmployeeApiRateLimitException.class)
+                .satisfies(ex -> assertThat(((EmployeeApiRateLimitException) ex).getRetryAfter())
+                        .isEqualTo(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void disabledLimiterNeverDelays() {
+        settings.setEnabled(false);
+        AdaptiveRateLimiter limiter = newLimiter();
+
+        limiter.onThrottled(limiter.reserve(), Duration.ofSeconds(30));
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.reserve().delayNanos()).isZero();
+        }
+        assertThat(limiter.currentRate()).isEqualTo(10.0);
+    }
+
+    @Test
+    void sparePermitOnlyWhileBurstIsStoredAndNoRetryAfterPending() {
+        AdaptiveRateLimiter limiter = newLimiter();
+        assertThat(limiter.hasSparePermit()).isTrue();
+
+        drain(limiter, 2);
+        assertThat(limiter.hasSparePermit()).isFalse();
+
+        advance(Duration.ofMillis(100));
+        assertThat(limiter.hasSparePermit()).isTrue();
+
+        limiter.onThrottled(limiter.reserve(), Duration.ofSeconds(1));
+        advance(Duration.ofMillis(800));
+        assertThat(limiter.hasSparePermit()).isFalse();
+
+        advance(Duration.ofMillis(400));
+        assertThat(limiter.hasSparePermit()).isTrue();
+    }
+
+    @Test
+    void parsesRetryAfterSecondsAndHttpDate() {
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        assertThat(AdaptiveRateLimiter.parseRetryAfter("7", now)).isEqualTo(Duration.ofSeconds(7));
+        assertThat(AdaptiveRateLimiter.parseRetryAfter("Mon, 01 Jan 2024 00:00:30 GMT", now))
+                .isEqualTo(Duration.ofSeconds(30));
+        assertThat(AdaptiveRateLimiter.parseRetryAfter("Sun, 31 Dec 2023 23:59:00 GMT", now))
+                .isEqualTo(Duration.ZERO);
+        assertThat(AdaptiveRateLimiter.parseRetryAfter("soon", now)).isNull();
+        assertThat(AdaptiveRateLimiter.parseRetryAfter(null, now)).isNull();
+    }
+
+    private AdaptiveRateLimiter newLimiter() {
+        return new AdaptiveRateLimiter(settings, nanos::get);
+    }
+
+    private void drain(AdaptiveRateLimiter limiter, int permits) {
+        for (int i = 0; i < permits; i++) {
+            limiter.reserve();
+        }
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
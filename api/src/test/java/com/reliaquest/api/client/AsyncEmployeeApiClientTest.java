@@ -0,0 +1,174 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiException;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.HttpClientErrorException;
+
+class AsyncEmployeeApiClientTest {
+
+    private final Deque<int[]> statuses = new ConcurrentLinkedDeque<>();
+    private final Deque<String> bodies = new ConcurrentLinkedDeque<>();
+    private final Deque<String> queries = new ConcurrentLinkedDeque<>();
+    private final Deque<String> versions = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile String body = "{\"data\":[{\"id\":\"1\",\"employee_name\":\"Alpha\"}],\"status\":\"ok\"}";
+
+    private HttpServer server;
+    private EmployeeApiProperties properties;
+    private AsyncEmployeeApiClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/employee", exchange -> {
+            requests.incrementAndGet();
+            queries.add(String.valueOf(exchange.getRequestURI().getRawQuery()));
+            int[] next = statuses.poll();
+            int status = next == null ? 200 : next[0];
+            String nextBody = bodies.poll();
+            byte[] payload = (nextBody == null ? body : nextBody).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            String version = versions.poll();
+            if (version != null) {
+                exchange.getResponseHeaders().add(EmployeeApiClient.VERSION_HEADER, version);
+            }
+            exchange.sendResponseHeaders(status, payload.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(payload);
+            }
+        });
+        server.start();
+
+        properties = new EmployeeApiProperties();
+        properties.setBaseUrl("http://localhost:" + server.getAddress().getPort() + "/api/v1/employee");
+        client = new AsyncEmployeeApiClient(
+                properties,
+                new RequestCoalescer(properties, new SimpleMeterRegistry()),
+                new AdaptiveRateLimiter(properties, new SimpleMeterRegistry()),
+                new CircuitBreaker(properties, new SimpleMeterRegistry()),
+                new ObjectMapper(),
+                new UpstreamMetrics(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void fetchAllEmployeesReturnsData() throws Exception {
+        assertThat(client.fetchAllEmployees().get(5, TimeUnit.SECONDS))
+                .extracting(Employee::getEmployeeName)
+                .containsExactly("Alpha");
+    }
+
+    @Test
+    void fetchAllEmployeesReturnsEmptyListWhenNoData() throws Exception {
+        body = "{\"status\":\"ok\"}";
+
+        assertThat(client.fetchAllEmployees().get(5, TimeUnit.SECONDS)).isEmpty();
+    }
+
+    @Test
+    void fetchAllEmployeesFollowsCursorsWhenPaging() throws Exception {
+        properties.setPageSize(1);
+        bodies.add("{\"data\":{\"employees\":[{\"id\":\"1\",\"employee_name\":\"Alpha\"}],\"nextCursor\":\"MQ\"}}");
+        bodies.add("{\"data\":{\"employees\":[{\"id\":\"2\",\"employee_name\":\"Beta\"}]}}");
+
+        assertThat(client.fetchAllEmployees().get(5, TimeUnit.SECONDS))
+                .extracting(Employee::getEmployeeName)
+                .containsExactly("Alpha", "Beta");
+        assertThat(queries).containsExactly("limit=1", "limit=1&cursor=MQ");
+    }
+
+    @Test
+    void listingRemembersTheVersionOfItsFirstPage() throws Exception {
+        versions.add("7");
+        List<Employee> unpaged = client.fetchAllEmployees().get(5, TimeUnit.SECONDS);
+
+        assertThat(client.versionOf(unpaged)).isEqualTo("7");
+        assertThat(client.versionOf(List.copyOf(unpaged))).isNull();
+
+        properties.setPageSize(1);
+        versions.add("8");
+        versions.add("9");
+        bodies.add("{\"data\":{\"employees\":[{\"id\":\"1\",\"employee_name\":\"Alpha\"}],\"nextCursor\":\"MQ\"}}");
+        bodies.add("{\"data\":{\"employees\":[{\"id\":\"2\",\"employee_name\":\"Beta\"}]}}");
+        List<Employee> paged = client.fetchAllEmployees().get(5, TimeUnit.SECONDS);
+
+        assertThat(client.versionOf(paged)).isEqualTo("8");
+        assertThat(client.versionOf(unpaged)).isNull();
+    }
+
+    @Test
+    void pagedFetchStopsAtEmptyPage() throws Exception {
+        properties.setPageSize(1);
+        body = "{\"status\":\"ok\"}";
+
+        assertThat(client.fetchAllEmployees().get(5, TimeUnit.SECONDS)).isEmpty();
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void retriesAfterTooManyRequests() throws Exception {
+        statuses.add(new int[] {429});
+
+        assertThat(client.fetchAllEmployees().get(5, TimeUnit.SECONDS)).hasSize(1);
+        assertThat(requests).hasValue(2);
+    }
+
+    @Test
+    void notFoundSurfacesAsHttpClientError() {
+        statuses.add(new int[] {404});
+
+        assertThatThrownBy(() -> client.<Employee>exchange("/missing", HttpMethod.GET, null, new TypeReference<>() {})
+                        .get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(HttpClientErrorException.NotFound.class);
+    }
+
+    @Test
+    void serverErrorFailsWithoutRetry() {
+        statuses.add(new int[] {500});
+
+        assertThatThrownBy(() -> client.fetchAllEmployees().get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(EmployeeApiException.class)
+                .hasMessageContaining("status=500");
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void postsJsonBody() throws Exception {
+        body = "{\"data\":{\"id\":\"2\",\"employee_name\":\"Beta\"},\"status\":\"ok\"}";
+
+        ApiResponse<Employee> response = client.<Employee>exchange(
+                        "", HttpMethod.POST, Map.of("name", "Beta"), new TypeReference<>() {})
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getData().getEmployeeName()).isEqualTo("Beta");
+    }
+}
@@ -0,0 +1,188 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(3);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private EmployeeApiProperties.CircuitBreaker settings;
+
+    @BeforeEach
+    void setUp() {
+        settings = new EmployeeApiProperties.CircuitBreaker();
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumCalls(4);
+        settings.setFailureRateThreshold(50.0);
+        settings.setSlowCallRateThreshold(75.0);
+        settings.setSlowCallDuration(Duration.ofSeconds(2));
+        settings.setWaitDurationInOpenState(Duration.ofSeconds(10));
+        settings.setPermittedCallsInHalfOpenState(2);
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        CircuitBreaker breaker = newBreaker();
+
+        failures(breaker, 3);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void opensAtFailureRateThresholdAndFailsFast() {
+        CircuitBreaker breaker = newBreaker();
+
+        successes(breaker, 2);
+        failures(breaker, 2);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertThatThrownBy(breaker::acquirePermission)
+                .isInstanceOf(EmployeeApiUnavailableException.class)
+                .satisfies(ex -> assertThat(((EmployeeApiUnavailableException) ex).getRetryAfter())
+                        .isEqualTo(Duration.ofSeconds(6)));
+    }
+
+    @Test
+    void slidingWindowForgetsOldFailures() {
+        CircuitBreaker breaker = newBreaker();
+
+        failures(breaker, 1);
+        successes(breaker, 3);
+        successes(breaker, 1);
+        failures(breaker, 1);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.failureRate()).isEqualTo(25.0);
+    }
+
+    @Test
+    void opensAtSlowCallRateThreshold() {
+        CircuitBreaker breaker = newBreaker();
+
+        for (int i = 0; i < 3; i++) {
+            breaker.acquirePermission();
+            breaker.onSuccess(SLOW);
+        }
+        successes(breaker, 1);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void halfOpenProbesCloseTheBreaker() {
+        CircuitBreaker breaker = tripped();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        breaker.acquirePermission();
+        breaker.acquirePermission();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThatThrownBy(breaker::acquirePermission).isInstanceOf(EmployeeApiUnavailableException.class);
+
+        breaker.onSuccess(FAST);
+        breaker.onSuccess(FAST);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.failureRate()).isZero();
+    }
+
+    @Test
+    void failingProbesReopenTheBreaker() {
+        CircuitBreaker breaker = tripped();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        failures(breaker, 1);
+        successes(breaker, 1);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(breaker::acquirePermission).isInstanceOf(EmployeeApiUnavailableException.class);
+    }
+
+    @Test
+    void ignoredProbeReleasesItsSlot() {
+        CircuitBreaker breaker = tripped();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        breaker.acquirePermission();
+        breaker.acquirePermission();
+        breaker.onIgnored();
+        breaker.acquirePermission();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void disabledBreakerNeverOpens() {
+        settings.setEnabled(false);
+        CircuitBreaker breaker = newBreaker();
+
+        failures(breaker, 10);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        breaker.acquirePermission();
+    }
+
+    @Test
+    void exposesStateAsMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EmployeeApiProperties properties = new EmployeeApiProperties();
+        properties.setCircuitBreaker(settings);
+        CircuitBreaker breaker = new CircuitBreaker(properties, registry);
+
+        failures(breaker, 4);
+
+        assertThat(registry.get("employee.api.circuit-breaker.state")
+                        .tag("state", "open")
+                        .gauge()
+                        .value())
+                .isEqualTo(1.0);
+        assertThat(registry.get("employee.api.circuit-breaker.state")
+                        .tag("state", "closed")
+                        .gauge()
+                        .value())
+                .isZero();
+        assertThat(registry.get("employee.api.circuit-breaker.calls")
+                        .tag("kind", "failed")
+                        .functionCounter()
+                        .count())
+                .isEqualTo(4.0);
+    }
+
+    private CircuitBreaker tripped() {
+        CircuitBreaker breaker = newBreaker();
+        failures(breaker, 4);
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        return breaker;
+    }
+
+    private CircuitBreaker newBreaker() {
+        return new CircuitBreaker(settings, nanos::get);
+    }
+
+    private static void successes(CircuitBreaker breaker, int count) {
+        for (int i = 0; i < count; i++) {
+            breaker.acquirePermission();
+            breaker.onSuccess(FAST);
+        }
+    }
+
+    private static void failures(CircuitBreaker breaker, int count) {
+        for (int i = 0; i < count; i++) {
+            breaker.acquirePermission();
+            breaker.onFailure(FAST);
+        }
+    }
+}
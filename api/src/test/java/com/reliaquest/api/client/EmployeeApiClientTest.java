@@ -0,0 +1,277 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiException;
+import com.reliaquest.api.exception.EmployeeApiRateLimitException;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+class EmployeeApiClientTest {
+
+    private static final String BASE_URL = "http://localhost:8112/api/v1/employee";
+
+    private EmployeeApiProperties properties;
+    private MockRestServiceServer server;
+    private AdaptiveRateLimiter rateLimiter;
+    private SimpleMeterRegistry meterRegistry;
+    private EmployeeApiClient client;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EmployeeApiProperties();
+        properties.setBaseUrl(BASE_URL);
+
+        RestTemplate restTemplate =
+                new RestTemplateBuilder().rootUri(properties.getBaseUrl()).build();
+        server = MockRestServiceServer.createServer(restTemplate);
+        rateLimiter = new AdaptiveRateLimiter(properties, new SimpleMeterRegistry());
+        meterRegistry = new SimpleMeterRegistry();
+        client = new EmployeeApiClient(
+                restTemplate,
+                properties,
+                new RequestCoalescer(properties, new SimpleMeterRegistry()),
+                rateLimiter,
+                new CircuitBreaker(properties, new SimpleMeterRegistry()),
+                new ObjectMapper(),
+                new UpstreamMetrics(meterRegistry),
+                new RequestHedger(properties, rateLimiter, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void missingListingIsAnError() {
+        EmployeeApiClient nullClient = new EmployeeApiClient(
+                mock(RestTemplate.class),
+                properties,
+                new RequestCoalescer(properties, new SimpleMeterRegistry()),
+                rateLimiter,
+                new CircuitBreaker(properties, new SimpleMeterRegistry()),
+                new ObjectMapper(),
+                new UpstreamMetrics(new SimpleMeterRegistry()),
+                new RequestHedger(properties, rateLimiter, new SimpleMeterRegistry()));
+
+        assertThatThrownBy(nullClient::fetchAllEmployees)
+                .isInstanceOf(EmployeeApiException.class)
+                .hasMessageContaining("no employee list");
+    }
+
+    @Test
+    void fetchAllEmployeesReturnsData() {
+        server.expect(requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(
+                        "{\"data\":[{\"id\":\"1\",\"employee_name\":\"Alpha\"}],\"status\":\"ok\"}",
+                        MediaType.APPLICATION_JSON));
+
+        List<Employee> employees = client.fetchAllEmployees();
+
+        assertThat(employees).extracting(Employee::getEmployeeName).containsExactly("Alpha");
+    }
+
+    @Test
+    void fetchAllEmployeesReturnsEmptyListWhenNoData() {
+        server.expect(requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess("{\"status\":\"ok\"}", MediaType.APPLICATION_JSON));
+
+        assertThat(client.fetchAllEmployees()).isEmpty();
+    }
+
+    @Test
+    void fetchAllEmployeesRevalidatesWithTheLastETag() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"e1\"");
+        server.expect(requestTo(BASE_URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(
+                                "{\"data\":[{\"id\":\"1\",\"employee_name\":\"Alpha\"}]}", MediaType.APPLICATION_JSON)
+                        .headers(headers));
+        server.expect(requestTo(BASE_URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"e1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+
+        List<Employee> first = client.fetchAllEmployees();
+        List<Employee> second = client.fetchAllEmployees();
+
+        assertThat(second).isSameAs(first);
+        assertThat(second).extracting(Employee::getEmployeeName).containsExactly("Alpha");
+        server.verify();
+    }
+
+    @Test
+    void fetchChangesSinceTheVersionOfTheLastListing() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(EmployeeApiClient.VERSION_HEADER, "abc-3");
+        server.expect(requestTo(BASE_URL))
+                .andRespond(withSuccess(
+                                "{\"data\":[{\"id\":\"1\",\"employee_name\":\"Alpha\"}]}", MediaType.APPLICATION_JSON)
+                        .headers(headers));
+        server.expect(requestTo(BASE_URL + "/changes?since=abc-3&limit=50"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(
+                        "{\"data\":{\"changes\":[{\"type\":\"DELETE\",\"id\":\"1\"}],\"version\":\"abc-4\"}}",
+                        MediaType.APPLICATION_JSON));
+
+        List<Employee> employees = client.fetchAllEmployees();
+        String version = client.versionOf(employees);
+        EmployeeChanges changes = client.fetchChanges(version, 50);
+
+        assertThat(version).isEqualTo("abc-3");
+        assertThat(client.versionOf(List.copyOf(employees))).isNull();
+        assertThat(changes.getVersion()).isEqualTo("abc-4");
+        assertThat(changes.isReset()).isFalse();
+        assertThat(changes.getChanges()).singleElement().satisfies(change -> {
+            assertThat(change.isDelete()).isTrue();
+            assertThat(change.getId()).isEqualTo("1");
+        });
+        server.verify();
+    }
+
+    @Test
+    void deleteEmployeesByNameSendsOneBatch() {
+        server.expect(requestTo(BASE_URL + "/batch"))
+                .andExpect(method(HttpMethod.DELETE))
+                .andExpect(content().json("[{\"name\":\"Alpha\"},{\"name\":\"Beta\"}]"))
+                .andRespond(withSuccess(
+                        "{\"data\":[{\"status\":200,\"data\":true},"
+                                + "{\"status\":404,\"data\":false,\"error\":\"No employee named Beta\"}]}",
+                        MediaType.APPLICATION_JSON));
+
+        List<BatchItemResult<Boolean>> results = client.deleteEmployeesByName(List.of("Alpha", "Beta"));
+
+        assertThat(results).extracting(BatchItemResult::isSuccessful).containsExactly(true, false);
+        assertThat(results.get(1).getError()).isEqualTo("No employee named Beta");
+        server.verify();
+    }
+
+    @Test
+    void batchWithMissingResultsIsAnError() {
+        server.expect(requestTo(BASE_URL + "/batch"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"data\":[]}", MediaType.APPLICATION_JSON));
+
+        assertThatThrownBy(() -> client.createEmployees(List.of(new CreateEmployeeInput())))
+                .isInstanceOf(EmployeeApiException.class)
+                .hasMessageContaining("batch of 1 with 0 results");
+    }
+
+    @Test
+    void fetchAllEmployeesFollowsCursorsWhenPaging() {
+        properties.setPageSize(2);
+        server.expect(requestTo(BASE_URL + "?limit=2"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(
+                        "{\"data\":{\"employees\":[{\"id\":\"1\",\"employee_name\":\"Alpha\"},"
+                                + "{\"id\":\"2\",\"employee_name\":\"Beta\"}],\"nextCursor\":\"Mg\"}}",
+                        MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "?limit=2&cursor=Mg"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(
+                        "{\"data\":{\"employees\":[{\"id\":\"3\",\"employee_name\":\"Gamma\"}]},\"status\":\"ok\"}",
+                        MediaType.APPLICATION_JSON));
+
+        List<Employee> employees = client.fetchAllEmployees();
+
+        assertThat(employees).extracting(Employee::getEmployeeName).containsExactly("Alpha", "Beta", "Gamma");
+        server.verify();
+    }
+
+    @Test
+    void pagedFetchStopsAtEmptyPage() {
+        properties.setPageSize(2);
+        server.expect(requestTo(BASE_URL + "?limit=2"))
+                .andRespond(withSuccess("{\"status\":\"ok\"}", MediaType.APPLICATION_JSON));
+
+        assertThat(client.fetchAllEmployees()).isEmpty();
+    }
+
+    @Test
+    void retryAfterBeyondWaitBudgetFailsFastWithoutAnotherCall() {
+        server.expect(ExpectedCount.once(), requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "30"));
+
+        assertThatThrownBy(client::fetchAllEmployees)
+                .isInstanceOf(EmployeeApiRateLimitException.class)
+                .satisfies(ex -> assertThat(((EmployeeApiRateLimitException) ex).getRetryAfter())
+                        .isGreaterThan(Duration.ofSeconds(29)));
+        server.verify();
+    }
+
+    @Test
+    void exhaustedRetriesReportRateLimit() {
+        server.expect(ExpectedCount.times(3), requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS));
+
+        assertThatThrownBy(client::fetchAllEmployees)
+                .isInstanceOf(EmployeeApiRateLimitException.class)
+                .hasMessageContaining("status=429");
+        assertThat(rateLimiter.currentRate()).isLessThan(10.0);
+        assertThat(meterRegistry.get(UpstreamMetrics.THROTTLED).counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get(UpstreamMetrics.RETRIES).counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void attemptsAreTimedByUriTemplateAndOutcome() {
+        server.expect(requestTo(BASE_URL + "/1"))
+                .andRespond(withSuccess("{\"data\":{\"id\":\"1\"}}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/2")).andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        ParameterizedTypeReference<ApiResponse<Employee>> type = new ParameterizedTypeReference<>() {};
+
+        client.exchangeWithRetry("/1", HttpMethod.GET, null, type);
+        assertThatThrownBy(() -> client.exchangeWithRetry("/2", HttpMethod.GET, null, type))
+                .isInstanceOf(HttpClientErrorException.NotFound.class);
+
+        assertThat(meterRegistry
+                        .get(UpstreamMetrics.REQUESTS)
+                        .tags("method", "GET", "uri", "/{id}", "outcome", "SUCCESS")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get(UpstreamMetrics.NOT_FOUND).tag("uri", "/{id}").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get(UpstreamMetrics.IN_FLIGHT).gauge().value()).isZero();
+    }
+
+    @Test
+    void buildUrlAddsLeadingSlashWhenMissing() throws Exception {
+        Method method = EmployeeApiClient.class.getDeclaredMethod("buildUrl", String.class);
+        method.setAccessible(true);
+
+        String url = (String) method.invoke(client, "segment");
+
+        assertThat(url).isEqualTo(BASE_URL + "/segment");
+    }
+}
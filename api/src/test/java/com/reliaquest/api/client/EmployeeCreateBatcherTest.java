@@ -0,0 +1,155 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EmployeeCreateBatcherTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final EmployeeApiClient apiClient = mock(EmployeeApiClient.class);
+    private EmployeeApiProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EmployeeApiProperties();
+        properties.getBatching().setEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCreatesShareOneUpstreamCall() throws Exception {
+        properties.getBatching().setWindow(Duration.ofSeconds(30));
+        properties.getBatching().setMaxBatchSize(3);
+        when(apiClient.createEmployees(anyList())).thenAnswer(invocation -> {
+            List<CreateEmployeeInput> inputs = invocation.getArgument(0);
+            return inputs.stream().map(input -> BatchItemResult.ok(employee(input.getName()))).toList();
+        });
+        EmployeeCreateBatcher batcher = new EmployeeCreateBatcher(apiClient, properties);
+
+        List<Future<Employee>> created = new ArrayList<>();
+        for (String name : List.of("Alpha", "Bravo", "Charlie")) {
+            created.add(executor.submit(() -> batcher.create(input(name))));
+        }
+
+        List<String> names = new ArrayList<>();
+        for (Future<Employee> employee : created) {
+            names.add(employee.get(5, TimeUnit.SECONDS).getEmployeeName());
+        }
+        assertThat(names).containsExactly("Alpha", "Bravo", "Charlie");
+        verify(apiClient, times(1)).createEmployees(anyList());
+    }
+
+    @Test
+    void lonelyCreateIsSentOnceTheWindowCloses() {
+        properties.getBatching().setWindow(Duration.ofMillis(10));
+        when(apiClient.createEmployees(anyList())).thenReturn(List.of(BatchItemResult.ok(employee("Alpha"))));
+        EmployeeCreateBatcher batcher = new EmployeeCreateBatcher(apiClient, properties);
+
+        assertThat(batcher.create(input("Alpha")).getEmployeeName()).isEqualTo("Alpha");
+        verify(apiClient, times(1)).createEmployees(anyList());
+    }
+
+    @Test
+    void rejectedItemFailsOnlyItsOwnCaller() throws Exception {
+        properties.getBatching().setWindow(Duration.ofSeconds(30));
+        properties.getBatching().setMaxBatchSize(2);
+        when(apiClient.createEmployees(anyList())).thenAnswer(invocation -> {
+            List<CreateEmployeeInput> inputs = invocation.getArgument(0);
+            return inputs.stream()
+                    .map(input -> "Bad".equals(input.getName())
+                            ? BatchItemResult.<Employee>failed(400, "salary must be greater than 0")
+                            : BatchItemResult.ok(employee(input.getName())))
+                    .toList();
+        });
+        EmployeeCreateBatcher batcher = new EmployeeCreateBatcher(apiClient, properties);
+
+        Future<Employee> good = executor.submit(() -> batcher.create(input("Good")));
+        Future<Employee> bad = executor.submit(() -> batcher.create(input("Bad")));
+
+        assertThat(good.get(5, TimeUnit.SECONDS).getEmployeeName()).isEqualTo("Good");
+        assertThatThrownBy(() -> bad.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(EmployeeApiException.class)
+                .hasMessageContaining("status=400");
+    }
+
+    @Test
+    void itemsTheUpstreamLeftUnansweredFail() throws Exception {
+        properties.getBatching().setWindow(Duration.ofSeconds(30));
+        properties.getBatching().setMaxBatchSize(2);
+        when(apiClient.createEmployees(anyList())).thenAnswer(invocation -> {
+            List<CreateEmployeeInput> inputs = invocation.getArgument(0);
+            return List.of(BatchItemResult.ok(employee(inputs.get(0).getName())));
+        });
+        EmployeeCreateBatcher batcher = new EmployeeCreateBatcher(apiClient, properties);
+
+        Future<Employee> first = executor.submit(() -> batcher.create(input("Alpha")));
+        Future<Employee> second = executor.submit(() -> batcher.create(input("Bravo")));
+
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<Employee> employee : List.of(first, second)) {
+            try {
+                employee.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException ex) {
+                failures.add(ex.getCause());
+            }
+        }
+        assertThat(failures)
+                .singleElement()
+                .isInstanceOf(EmployeeApiException.class)
+                .hasMessage("Employee API returned 1 results for 2 items");
+    }
+
+    @Test
+    void failedUpstreamCallFailsEveryCaller() {
+        properties.getBatching().setWindow(Duration.ZERO);
+        EmployeeApiException failure = new EmployeeApiException("Employee API request failed with status=500");
+        when(apiClient.createEmployees(anyList())).thenThrow(failure);
+        EmployeeCreateBatcher batcher = new EmployeeCreateBatcher(apiClient, properties);
+
+        assertThatThrownBy(() -> batcher.create(input("Alpha"))).isSameAs(failure);
+    }
+
+    private static CreateEmployeeInput input(String name) {
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName(name);
+        input.setSalary(100);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+
+    private static Employee employee(String name) {
+        Employee employee = new Employee();
+        employee.setId(name.toLowerCase());
+        employee.setEmployeeName(name);
+        return employee;
+    }
+}
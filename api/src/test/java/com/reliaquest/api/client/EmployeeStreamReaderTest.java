@@ -0,0 +1,55 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EmployeeStreamReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Employee> employees = new ArrayList<>();
+
+    @Test
+    void readsPlainArrayEnvelope() throws IOException {
+        String nextCursor = read("{\"data\":[{\"id\":\"1\",\"employee_name\":\"Alpha\"},"
+                + "{\"id\":\"2\",\"employee_name\":\"Beta\"}],\"status\":\"ok\"}");
+
+        assertThat(nextCursor).isNull();
+        assertThat(employees).extracting(Employee::getEmployeeName).containsExactly("Alpha", "Beta");
+    }
+
+    @Test
+    void readsPageEnvelopeAndReturnsCursor() throws IOException {
+        String nextCursor = read("{\"status\":\"ok\",\"data\":{\"nextCursor\":\"abc\","
+                + "\"employees\":[{\"id\":\"1\",\"employee_name\":\"Alpha\"}]}}");
+
+        assertThat(nextCursor).isEqualTo("abc");
+        assertThat(employees).extracting(Employee::getId).containsExactly("1");
+    }
+
+    @Test
+    void skipsUnknownFieldsAndNonObjectElements() throws IOException {
+        String nextCursor = read("{\"meta\":{\"data\":[{\"id\":\"x\"}]},\"data\":{\"extra\":[1,{\"a\":2}],"
+                + "\"employees\":[null,{\"id\":\"1\",\"employee_name\":\"Alpha\"}],\"nextCursor\":null}}");
+
+        assertThat(nextCursor).isNull();
+        assertThat(employees).extracting(Employee::getId).containsExactly("1");
+    }
+
+    @Test
+    void emptyOrNonObjectBodyYieldsNothing() throws IOException {
+        assertThat(read("")).isNull();
+        assertThat(read("[]")).isNull();
+        assertThat(read("{\"data\":null}")).isNull();
+        assertThat(employees).isEmpty();
+    }
+
+    private String read(String json) throws IOException {
+        return EmployeeStreamReader.read(objectMapper.createParser(json), employees::add);
+    }
+}
@@ -0,0 +1,53 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.config.EmployeeApiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+class RequestCoalescerTest {
+
+    private final EmployeeApiProperties properties = new EmployeeApiProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(properties, meterRegistry);
+
+    @Test
+    void onlyBodylessGetsAreCoalescable() {
+        assertThat(coalescer.isCoalescable(HttpMethod.GET, null)).isTrue();
+        assertThat(coalescer.isCoalescable(HttpMethod.GET, "body")).isFalse();
+        assertThat(coalescer.isCoalescable(HttpMethod.POST, null)).isFalse();
+        assertThat(coalescer.isCoalescable(HttpMethod.DELETE, null)).isFalse();
+    }
+
+    @Test
+    void coalescingCanBeDisabled() {
+        properties.getCoalescing().setEnabled(false);
+
+        assertThat(coalescer.isCoalescable(HttpMethod.GET, null)).isFalse();
+    }
+
+    @Test
+    void executeRecordsLeaderCallsAndRatio() {
+        String value = coalescer.execute(HttpMethod.GET, "http://upstream/employee", () -> "value");
+
+        assertThat(value).isEqualTo("value");
+        assertThat(meterRegistry
+                        .get("employee.api.upstream.coalescing")
+                        .tag("role", "leader")
+                        .functionCounter()
+                        .count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry
+                        .get("employee.api.upstream.coalescing.ratio")
+                        .gauge()
+                        .value())
+                .isZero();
+    }
+
+    @Test
+    void ratioIsZeroBeforeAnyCall() {
+        assertThat(coalescer.coalescingRatio()).isZero();
+    }
+}
@@ -0,0 +1,233 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.api.config.EmployeeApiProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RequestHedgerTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private EmployeeApiProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RequestHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EmployeeApiProperties();
+        properties.getRateLimit().setEnabled(false);
+        properties.getHedging().setEnabled(true);
+        properties.getHedging().setMinimumSamples(5);
+        properties.getHedging().setPercentile(50.0);
+        properties.getHedging().setMinDelay(Duration.ofMillis(20));
+        properties.getHedging().setMaxDelay(Duration.ofMillis(20));
+        properties.getHedging().setBudgetPercent(100.0);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (hedger != null) {
+            hedger.shutdown();
+        }
+    }
+
+    @Test
+    void nothingIsHedgedUntilEnoughLatenciesAreKnown() {
+        hedger = newHedger();
+
+        assertThat(hedger.execute(slow("call"), RequestHedgerTest::notHedged)).isEqualTo("call");
+        for (int i = 0; i < 4; i++) {
+            hedger.execute(() -> "call", RequestHedgerTest::notHedged);
+        }
+
+        assertThat(counter("employee.api.upstream.hedges")).isZero();
+        assertThat(gauge("employee.api.upstream.hedges.delay")).isEqualTo(20.0);
+    }
+
+    @Test
+    void callRunsOnTheCallerAndFastCallIsNotHedged() {
+        hedger = warmedUp();
+
+        assertThat(hedger.execute(Thread::currentThread, RequestHedgerTest::notHedged))
+                .isSameAs(Thread.currentThread());
+        assertThat(counter("employee.api.upstream.hedges")).isZero();
+    }
+
+    @Test
+    void slowCallIsAbandonedForTheHedge() {
+        hedger = warmedUp();
+
+        String result = hedger.execute(this::blocked, () -> "hedge");
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+        assertThat(counter("employee.api.upstream.hedges")).isEqualTo(1.0);
+        assertThat(counter("employee.api.upstream.hedges.won")).isEqualTo(1.0);
+    }
+
+    @Test
+    void hedgesStayWithinTheBudget() {
+        properties.getHedging().setBudgetPercent(10.0);
+        hedger = warmedUp();
+
+        for (int i = 0; i < 10; i++) {
+            hedger.execute(slow("call"), () -> "hedge");
+        }
+
+        assertThat(counter("employee.api.upstream.hedges")).isEqualTo(1.0);
+        assertThat(skipped("budget")).isEqualTo(9.0);
+    }
+
+    @Test
+    void noHedgeWhileTheRateLimiterHasNoSparePermit() {
+        properties.getRateLimit().setEnabled(true);
+        properties.getRateLimit().setBurst(0);
+        hedger = warmedUp();
+
+        assertThat(hedger.execute(slow("call"), RequestHedgerTest::notHedged)).isEqualTo("call");
+        assertThat(counter("employee.api.upstream.hedges")).isZero();
+        assertThat(skipped("rate-limit")).isEqualTo(1.0);
+    }
+
+    @Test
+    void failedHedgeLeavesTheCallToAnswer() {
+        hedger = warmedUp();
+
+        String result = hedger.execute(slow("call"), () -> {
+            throw new IllegalStateException("hedge failed");
+        });
+
+        assertThat(result).isEqualTo("call");
+        assertThat(counter("employee.api.upstream.hedges")).isEqualTo(1.0);
+        assertThat(counter("employee.api.upstream.hedges.won")).isZero();
+    }
+
+    @Test
+    void failedCallIsAnsweredByTheHedgeInFlight() {
+        hedger = warmedUp();
+        Supplier<String> failsAfterHedging = () -> {
+            slow("call").get();
+            throw new IllegalStateException("call failed");
+        };
+
+        String result = hedger.execute(failsAfterHedging, slow("hedge"));
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(counter("employee.api.upstream.hedges.won")).isEqualTo(1.0);
+    }
+
+    @Test
+    void callFailureIsThrownOnceBothFailed() {
+        hedger = warmedUp();
+        Supplier<String> slowFailure = () -> {
+            slow("call").get();
+            throw new IllegalStateException("call failed");
+        };
+
+        assertThatThrownBy(() -> hedger.execute(slowFailure, () -> {
+                    throw new IllegalStateException("hedge failed");
+                }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("call failed");
+    }
+
+    @Test
+    void failedCallsAreSampled() {
+        hedger = newHedger();
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> hedger.execute(
+                            () -> {
+                                throw new IllegalStateException("call failed");
+                            },
+                            RequestHedgerTest::notHedged))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(gauge("employee.api.upstream.hedges.delay")).isEqualTo(20.0);
+    }
+
+    @Test
+    void abandonedCallsAreSampledUntilTheHedgeWon() {
+        properties.getHedging().setMinimumSamples(1);
+        properties.getHedging().setPercentile(100.0);
+        properties.getHedging().setMinDelay(Duration.ofMillis(5));
+        properties.getHedging().setMaxDelay(Duration.ofSeconds(10));
+        hedger = warmedUp();
+
+        // the delay is recomputed every 64 samples, and the warm-up took 4 of them
+        for (int i = 0; i < 60; i++) {
+            assertThat(hedger.execute(this::blocked, slow("hedge", 20))).isEqualTo("hedge");
+        }
+
+        assertThat(gauge("employee.api.upstream.hedges.delay")).isBetween(25.0, 1000.0);
+    }
+
+    private RequestHedger newHedger() {
+        return new RequestHedger(
+                properties, new AdaptiveRateLimiter(properties, new SimpleMeterRegistry()), meterRegistry);
+    }
+
+    /** A hedger that has seen enough fast calls to hedge after its minimum delay. */
+    private RequestHedger warmedUp() {
+        RequestHedger warmed = newHedger();
+        for (int i = 0; i < 5; i++) {
+            warmed.execute(() -> "warm-up", RequestHedgerTest::notHedged);
+        }
+        return warmed;
+    }
+
+    private String blocked() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return "blocked";
+    }
+
+    private static Supplier<String> slow(String result) {
+        return slow(result, 60);
+    }
+
+    private static Supplier<String> slow(String result, long millis) {
+        return () -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(millis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return result;
+        };
+    }
+
+    private static <T> T notHedged() {
+        throw new AssertionError("Call should not have been hedged");
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).functionCounter().count();
+    }
+
+    private double skipped(String reason) {
+        return meterRegistry
+                .get("employee.api.upstream.hedges.skipped")
+                .tag("reason", reason)
+                .functionCounter()
+                .count();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+}
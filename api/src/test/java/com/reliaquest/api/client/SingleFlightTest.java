@@ -0,0 +1,151 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsForSameKeyShareOneExecution() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+            executions.incrementAndGet();
+            leaderStarted.countDown();
+            await(release);
+            return "value";
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                executions.incrementAndGet();
+                return "other";
+            })));
+        }
+        waitUntilShared(singleFlight, 5);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(singleFlight.executedCount()).isEqualTo(1);
+        assertThat(singleFlight.sharedCount()).isEqualTo(5);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void followersReceiveLeaderException() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+            leaderStarted.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> follower = executor.submit(() -> singleFlight.execute("key", () -> "other"));
+        waitUntilShared(singleFlight, 1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCause(failure);
+    }
+
+    @Test
+    void sequentialCallsExecuteIndependently() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("key", executions::incrementAndGet);
+        Integer second = singleFlight.execute("key", executions::incrementAndGet);
+
+        assertThat(second).isEqualTo(2);
+        assertThat(singleFlight.sharedCount()).isZero();
+    }
+
+    @Test
+    void asyncCallsShareOneFutureUntilItCompletes() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<String> leader = singleFlight.executeAsync("key", () -> {
+            executions.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> follower = singleFlight.executeAsync("key", () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        assertThat(singleFlight.inFlightCount()).isEqualTo(1);
+
+        upstream.complete("value");
+
+        assertThat(leader.join()).isEqualTo("value");
+        assertThat(follower.join()).isEqualTo("value");
+        assertThat(executions).hasValue(1);
+        assertThat(singleFlight.sharedCount()).isEqualTo(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void asyncFailureIsSharedAndReleasesKey() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        CompletableFuture<String> leader = singleFlight.executeAsync("key", () -> upstream);
+        CompletableFuture<String> follower = singleFlight.executeAsync("key", () -> upstream);
+        upstream.completeExceptionally(failure);
+
+        assertThatThrownBy(leader::join).hasCause(failure);
+        assertThatThrownBy(follower::join).hasCause(failure);
+        assertThat(singleFlight.executeAsync("key", () -> CompletableFuture.completedFuture("next"))
+                        .join())
+                .isEqualTo("next");
+    }
+
+    private void waitUntilShared(SingleFlight<?, ?> singleFlight, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.sharedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.ResourceAccessException;
+
+class UpstreamMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UpstreamMetrics metrics = new UpstreamMetrics(meterRegistry);
+
+    @Test
+    void uriTemplateKeepsFixedPathsAndHidesIdsAndQueries() {
+        assertThat(UpstreamMetrics.uriTemplate("")).isEqualTo("/");
+        assertThat(UpstreamMetrics.uriTemplate("?limit=100&cursor=abc")).isEqualTo("/");
+        assertThat(UpstreamMetrics.uriTemplate("/changes?since=abc-3&limit=50")).isEqualTo("/changes");
+        assertThat(UpstreamMetrics.uriTemplate("/batch")).isEqualTo("/batch");
+        assertThat(UpstreamMetrics.uriTemplate("/4a7c1f0e-0b6e-4d1a-9f8e-2c3d4e5f6a7b"))
+                .isEqualTo("/{id}");
+        assertThat(UpstreamMetrics.uriTemplate("anything")).isEqualTo("/{id}");
+    }
+
+    @Test
+    void inFlightCountsAttemptsUntilTheyFinish() {
+        UpstreamMetrics.Attempt first = metrics.start(HttpMethod.GET, "");
+        UpstreamMetrics.Attempt second = metrics.start(HttpMethod.POST, "");
+
+        assertThat(meterRegistry.get(UpstreamMetrics.IN_FLIGHT).gauge().value()).isEqualTo(2.0);
+
+        metrics.succeeded(first);
+        metrics.responded(second, 503);
+
+        assertThat(meterRegistry.get(UpstreamMetrics.IN_FLIGHT).gauge().value()).isZero();
+        assertThat(meterRegistry
+                        .get(UpstreamMetrics.REQUESTS)
+                        .tags("method", "POST", "outcome", "SERVER_ERROR")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void timeoutsAreToldApartFromOtherIoErrors() {
+        metrics.failed(
+                metrics.start(HttpMethod.GET, "/1"),
+                new ResourceAccessException("Read timed out", new SocketTimeoutException("Read timed out")));
+        metrics.failed(
+                metrics.start(HttpMethod.GET, "/1"),
+                new ResourceAccessException("Connection reset", new IOException("Connection reset")));
+
+        assertThat(meterRegistry.get(UpstreamMetrics.TIMEOUTS).counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry
+                        .get(UpstreamMetrics.REQUESTS)
+                        .tag("outcome", "IO_ERROR")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+}
@@ -0,0 +1,163 @@
+package com.reliaquest.api.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.config.EmployeeHttpClientFactory;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Drives the blocking {@link EmployeeApiClient} against an upstream that holds every request for
+ * {@link #LATENCY_MILLIS} and compares how many calls are in flight when the callers are a Tomcat-sized platform
+ * thread pool versus virtual threads. Only the platform pool's bound is asserted; the throughput and peak of each
+ * run depend on the machine, so they are logged for comparison rather than checked.
+ * Run with {@code ./gradlew api:benchmark -PjavaVersion=21}.
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadBenchmarkTest.class);
+
+    /** Tomcat's default {@code server.tomcat.threads.max}. */
+    private static final int PLATFORM_THREADS = 200;
+
+    private static final int REQUESTS = 2_000;
+    private static final long LATENCY_MILLIS = 100;
+    private static final byte[] BODY = "{\"data\":[],\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private HttpServer upstream;
+    private EmployeeApiClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS);
+        upstream.setExecutor(new VirtualThreadTaskExecutor("throttled-upstream-"));
+        upstream.createContext("/api/v1/employee", exchange -> {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(LATENCY_MILLIS);
+                exchange.sendResponseHeaders(200, BODY.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(BODY);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        upstream.start();
+
+        EmployeeApiProperties properties = new EmployeeApiProperties();
+        properties.setBaseUrl("http://localhost:" + upstream.getAddress().getPort() + "/api/v1/employee");
+        properties.getCoalescing().setEnabled(false);
+        properties.getRateLimit().setEnabled(false);
+        properties.getHttp().setMaxConnections(REQUESTS);
+        properties.getHttp().setMaxConnectionsPerRoute(REQUESTS);
+        properties.getHttp().setReadTimeout(Duration.ofSeconds(30));
+        RestTemplate restTemplate = new RestTemplateBuilder()
+                .rootUri(properties.getBaseUrl())
+                .requestFactory(() -> EmployeeHttpClientFactory.create(properties.getHttp()))
+                .build();
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(properties, new SimpleMeterRegistry());
+        client = new EmployeeApiClient(
+                restTemplate,
+                properties,
+                new RequestCoalescer(properties, new SimpleMeterRegistry()),
+                rateLimiter,
+                new CircuitBreaker(properties, new SimpleMeterRegistry()),
+                new ObjectMapper(),
+                new UpstreamMetrics(new SimpleMeterRegistry()),
+                new RequestHedger(properties, rateLimiter, new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.stop(0);
+    }
+
+    @Test
+    void comparesUpstreamCallsInFlightOnPlatformAndVirtualThreads() throws InterruptedException {
+        ExecutorService platform = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        Executor virtual = new VirtualThreadTaskExecutor("benchmark-");
+        try {
+            run(platform);
+            run(virtual);
+
+            Result platformResult = run(platform);
+            Result virtualResult = run(virtual);
+
+            platformResult.report("platform");
+            virtualResult.report("virtual");
+
+            assertThat(platformResult.failures()).isZero();
+            assertThat(virtualResult.failures()).isZero();
+            assertThat(platformResult.peakInFlight()).isLessThanOrEqualTo(PLATFORM_THREADS);
+        } finally {
+            platform.shutdownNow();
+        }
+    }
+
+    private Result run(Executor callers) throws InterruptedException {
+        peakInFlight.set(0);
+        LongAdder failures = new LongAdder();
+        CountDownLatch done = new CountDownLatch(REQUESTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            callers.execute(() -> {
+                try {
+                    client.fetchAllEmployees();
+                } catch (RuntimeException ex) {
+                    failures.increment();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(done.await(2, TimeUnit.MINUTES)).isTrue();
+        long wallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new Result(wallMillis, peakInFlight.get(), failures.sum());
+    }
+
+    private record Result(long wallMillis, int peakInFlight, long failures) {
+
+        void report(String callers) {
+            log.info(
+                    "{} callers: {} ms wall, {} requests/s, {} peak in flight, {} failures",
+                    callers,
+                    wallMillis,
+                    REQUESTS * 1000 / Math.max(1, wallMillis),
+                    peakInFlight,
+                    failures);
+        }
+    }
+}
@@ -2,22 +2,38 @@ package com.reliaquest.api.config;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 class EmployeeApiConfigTest {
 
     @Test
-    void employeeRestTemplateBuildsWithRootUri() {
+    void employeeRestTemplateBuildsWithRootUri() throws Exception {
         EmployeeApiProperties properties = new EmployeeApiProperties();
         properties.setBaseUrl("http://localhost:8112/api/v1/employee");
 
         EmployeeApiConfig config = new EmployeeApiConfig();
-        RestTemplate restTemplate = config.employeeRestTemplate(new RestTemplateBuilder(), properties);
+        ClientHttpRequestFactory requestFactory = config.employeeClientHttpRequestFactory(properties);
+        RestTemplate restTemplate = config.employeeRestTemplate(new RestTemplateBuilder(), properties, requestFactory);
 
         assertThat(restTemplate).isNotNull();
         assertThat(restTemplate.getUriTemplateHandler()).isNotNull();
+        ((HttpComponentsClientHttpRequestFactory) requestFactory).destroy();
+    }
+
+    @Test
+    void countsListsAndSingleEmployeesAsResults() {
+        assertThat(EmployeeApiConfig.results(List.of("a", "b"))).isEqualTo(2);
+        assertThat(EmployeeApiConfig.results(new Employee())).isEqualTo(1);
+        assertThat(EmployeeApiConfig.results("Jane Doe")).isNull();
     }
 
     @Test
@@ -27,4 +43,40 @@ class EmployeeApiConfigTest {
         assertThat(properties.getBaseUrl()).isEqualTo("http://localhost:8112/api/v1/employee");
         assertThat(properties.getMaxAttempts()).isEqualTo(3);
     }
+
+    @Test
+    void httpDefaultsKeepPreviousTimeouts() {
+        EmployeeApiProperties.Http http = new EmployeeApiProperties().getHttp();
+
+        assertThat(http.getClient()).isEqualTo(EmployeeApiProperties.ClientType.POOLED);
+        assertThat(http.getConnectTimeout()).isEqualTo(Duration.ofSeconds(2));
+        assertThat(http.getReadTimeout()).isEqualTo(Duration.ofSeconds(4));
+    }
+
+    @Test
+    void pooledClientUsesHttpComponents() throws Exception {
+        EmployeeApiProperties.Http http = new EmployeeApiProperties.Http();
+        http.setClient(EmployeeApiProperties.ClientType.POOLED);
+
+        ClientHttpRequestFactory requestFactory = EmployeeHttpClientFactory.create(http);
+
+        assertThat(requestFactory).isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+        ((HttpComponentsClientHttpRequestFactory) requestFactory).destroy();
+    }
+
+    @Test
+    void jdkClientUsesJdkHttpClient() {
+        EmployeeApiProperties.Http http = new EmployeeApiProperties.Http();
+        http.setClient(EmployeeApiProperties.ClientType.JDK);
+
+        assertThat(EmployeeHttpClientFactory.create(http)).isInstanceOf(JdkClientHttpRequestFactory.class);
+    }
+
+    @Test
+    void simpleClientUsesHttpUrlConnection() {
+        EmployeeApiProperties.Http http = new EmployeeApiProperties.Http();
+        http.setClient(EmployeeApiProperties.ClientType.SIMPLE);
+
+        assertThat(EmployeeHttpClientFactory.create(http)).isInstanceOf(SimpleClientHttpRequestFactory.class);
+    }
 }
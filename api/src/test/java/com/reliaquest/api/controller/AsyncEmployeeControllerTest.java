@@ -0,0 +1,155 @@
+package com.reliaquest.api.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.reliaquest.api.exception.EmployeeApiException;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.AsyncEmployeeService;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+@WebMvcTest(AsyncEmployeeController.class)
+class AsyncEmployeeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AsyncEmployeeService asyncEmployeeService;
+
+    @Test
+    void getAllEmployeesReturnsList() throws Exception {
+        given(asyncEmployeeService.getAllEmployees())
+                .willReturn(CompletableFuture.completedFuture(List.of(employee("1", "Alpha"))));
+
+        perform(get("/api/v1/async/employee"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":\"1\",\"employee_name\":\"Alpha\"}]"));
+    }
+
+    @Test
+    void getEmployeesByNameSearchReturnsMatches() throws Exception {
+        given(asyncEmployeeService.getEmployeesByNameSearch("al"))
+                .willReturn(CompletableFuture.completedFuture(List.of(employee("1", "Alpha"))));
+
+        perform(get("/api/v1/async/employee/search/al"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":\"1\",\"employee_name\":\"Alpha\"}]"));
+    }
+
+    @Test
+    void blankArgumentsAreRejected() throws Exception {
+        perform(get("/api/v1/async/employee/search/ ")).andExpect(status().isBadRequest());
+        perform(get("/api/v1/async/employee/ ")).andExpect(status().isBadRequest());
+        perform(delete("/api/v1/async/employee/ ")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getEmployeeByIdReturnsEmployee() throws Exception {
+        given(asyncEmployeeService.getEmployeeById("1"))
+                .willReturn(CompletableFuture.completedFuture(employee("1", "Alpha")));
+
+        perform(get("/api/v1/async/employee/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"id\":\"1\",\"employee_name\":\"Alpha\"}"));
+    }
+
+    @Test
+    void salaryEndpointsReturnAggregates() throws Exception {
+        given(asyncEmployeeService.getHighestSalaryOfEmployees()).willReturn(CompletableFuture.completedFuture(500));
+        given(asyncEmployeeService.getTop10HighestEarningEmployeeNames())
+                .willReturn(CompletableFuture.completedFuture(List.of("Alpha", "Bravo")));
+
+        perform(get("/api/v1/async/employee/highestSalary"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("500"));
+        perform(get("/api/v1/async/employee/topTenHighestEarningEmployeeNames"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"Alpha\",\"Bravo\"]"));
+    }
+
+    @Test
+    void createEmployeeReturnsEmployee() throws Exception {
+        given(asyncEmployeeService.createEmployee(any()))
+                .willReturn(CompletableFuture.completedFuture(employee("9", "New Hire")));
+
+        perform(post("/api/v1/async/employee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"New Hire\",\"salary\":500,\"age\":30,\"title\":\"Engineer\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"id\":\"9\",\"employee_name\":\"New Hire\"}"));
+    }
+
+    @Test
+    void createEmployeeValidationFailsWithBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/async/employee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"\",\"salary\":500,\"age\":30,\"title\":\"Engineer\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("name must not be blank"));
+    }
+
+    @Test
+    void deleteEmployeeByIdReturnsName() throws Exception {
+        given(asyncEmployeeService.deleteEmployeeById("1")).willReturn(CompletableFuture.completedFuture("Alpha"));
+
+        perform(delete("/api/v1/async/employee/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Alpha"));
+    }
+
+    @Test
+    void asyncNotFoundIsMappedTo404() throws Exception {
+        given(asyncEmployeeService.getEmployeeById("missing"))
+                .willReturn(CompletableFuture.failedFuture(
+                        new CompletionException(new EmployeeNotFoundException("Employee not found for id=missing"))));
+
+        perform(get("/api/v1/async/employee/missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
+    @Test
+    void asyncApiErrorsAreMappedToBadGateway() throws Exception {
+        given(asyncEmployeeService.getAllEmployees())
+                .willReturn(CompletableFuture.failedFuture(new EmployeeApiException("Upstream error")));
+
+        perform(get("/api/v1/async/employee"))
+                .andExpect(status().isBadGateway())
+                .andExpect(jsonPath("$.message").value("Upstream error"));
+    }
+
+    private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private Employee employee(String id, String name) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmployeeName(name);
+        return employee;
+    }
+}
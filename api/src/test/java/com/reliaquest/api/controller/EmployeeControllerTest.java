@@ -1,25 +1,39 @@
 package com.reliaquest.api.controller;
 
+import static org.hamcrest.Matchers.stringContainsInOrder;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.reliaquest.api.cache.EmployeeSnapshot;
 import com.reliaquest.api.exception.EmployeeApiException;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeBatchService;
 import com.reliaquest.api.service.EmployeeService;
+import java.time.Instant;
 import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(EmployeeController.class)
 class EmployeeControllerTest {
@@ -27,12 +41,24 @@ class EmployeeControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    private static final Instant LAST_MODIFIED = Instant.parse("2024-06-01T10:15:30Z");
+    private static final EmployeeSnapshot SNAPSHOT =
+            EmployeeSnapshot.of(List.of(), LAST_MODIFIED, 10).withVersion("v1", LAST_MODIFIED);
+
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeBatchService employeeBatchService;
+
+    @BeforeEach
+    void setUp() {
+        given(employeeService.getSnapshot()).willReturn(SNAPSHOT);
+    }
+
     @Test
     void getAllEmployeesReturnsList() throws Exception {
-        given(employeeService.getAllEmployees()).willReturn(List.of(employee("1", "Alpha")));
+        given(employeeService.getAllEmployees(SNAPSHOT)).willReturn(List.of(employee("1", "Alpha")));
 
         mockMvc.perform(get("/api/v1/employee"))
                 .andExpect(status().isOk())
@@ -41,7 +67,7 @@ class EmployeeControllerTest {
 
     @Test
     void getEmployeesByNameSearchReturnsMatches() throws Exception {
-        given(employeeService.getEmployeesByNameSearch("al"))
+        given(employeeService.getEmployeesByNameSearch(SNAPSHOT, "al"))
                 .willReturn(List.of(employee("1", "Alpha"), employee("2", "Alina")));
 
         mockMvc.perform(get("/api/v1/employee/search/al"))
@@ -73,7 +99,7 @@ class EmployeeControllerTest {
 
     @Test
     void getHighestSalaryOfEmployeesReturnsValue() throws Exception {
-        given(employeeService.getHighestSalaryOfEmployees()).willReturn(500);
+        given(employeeService.getHighestSalaryOfEmployees(SNAPSHOT)).willReturn(500);
 
         mockMvc.perform(get("/api/v1/employee/highestSalary"))
                 .andExpect(status().isOk())
@@ -82,7 +108,7 @@ class EmployeeControllerTest {
 
     @Test
     void getTopTenHighestEarningEmployeeNamesReturnsNames() throws Exception {
-        given(employeeService.getTop10HighestEarningEmployeeNames()).willReturn(List.of("Alpha", "Bravo"));
+        given(employeeService.getTop10HighestEarningEmployeeNames(SNAPSHOT)).willReturn(List.of("Alpha", "Bravo"));
 
         mockMvc.perform(get("/api/v1/employee/topTenHighestEarningEmployeeNames"))
                 .andExpect(status().isOk())
@@ -125,6 +151,51 @@ class EmployeeControllerTest {
         mockMvc.perform(delete("/api/v1/employee/ ")).andExpect(status().isBadRequest());
     }
 
+    @Test
+    void batchCreateReturnsOneResultPerItem() throws Exception {
+        given(employeeBatchService.createEmployees(org.mockito.ArgumentMatchers.anyList()))
+                .willReturn(List.of(
+                        BatchItemResult.ok(employee("9", "New Hire")),
+                        BatchItemResult.failed(400, "name must not be blank")));
+
+        mockMvc.perform(post("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"New Hire\",\"salary\":500,\"age\":30,\"title\":\"Engineer\"},"
+                                + "{\"name\":\"\",\"salary\":500,\"age\":30,\"title\":\"Engineer\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].data.employee_name").value("New Hire"))
+                .andExpect(jsonPath("$[1].status").value(400))
+                .andExpect(jsonPath("$[1].error").value("name must not be blank"))
+                .andExpect(jsonPath("$[1].data").doesNotExist());
+    }
+
+    @Test
+    void batchDeleteReturnsOneResultPerId() throws Exception {
+        given(employeeBatchService.deleteEmployeesByIds(List.of("1", "missing")))
+                .willReturn(List.of(BatchItemResult.ok("Alpha"), BatchItemResult.failed(404, "Employee not found")));
+
+        mockMvc.perform(delete("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"1\",\"missing\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].data").value("Alpha"))
+                .andExpect(jsonPath("$[1].status").value(404));
+    }
+
+    @Test
+    void emptyBatchIsRejected() throws Exception {
+        mockMvc.perform(post("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+        verify(employeeBatchService, never()).createEmployees(org.mockito.ArgumentMatchers.anyList());
+    }
+
     @Test
     void notFoundIsMappedTo404() throws Exception {
         doThrow(new EmployeeNotFoundException("Employee not found for id=missing"))
@@ -141,7 +212,7 @@ class EmployeeControllerTest {
     void apiErrorsAreMappedToBadGateway() throws Exception {
         doThrow(new EmployeeApiException("Upstream error"))
                 .when(employeeService)
-                .getAllEmployees();
+                .getAllEmployees(SNAPSHOT);
 
         mockMvc.perform(get("/api/v1/employee"))
                 .andExpect(status().isBadGateway())
@@ -149,6 +220,111 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.status").value(502));
     }
 
+    @Test
+    void snapshotReadsCarryValidators() throws Exception {
+        given(employeeService.getAllEmployees(SNAPSHOT)).willReturn(List.of(employee("1", "Alpha")));
+
+        mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"v1\""))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED.toEpochMilli()));
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModifiedWithoutBuildingTheBody() throws Exception {
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.IF_NONE_MATCH, "W/\"v1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"v1\""))
+                .andExpect(content().string(""));
+
+        verify(employeeService, never()).getAllEmployees(org.mockito.ArgumentMatchers.any(EmployeeSnapshot.class));
+    }
+
+    @Test
+    void bodyIsBuiltFromTheSnapshotItsValidatorsCameFrom() throws Exception {
+        Instant later = LAST_MODIFIED.plusSeconds(60);
+        EmployeeSnapshot refreshed = EmployeeSnapshot.of(List.of(), later, 10).withVersion("v2", later);
+        given(employeeService.getSnapshot()).willReturn(SNAPSHOT, refreshed);
+        given(employeeService.getAllEmployees(SNAPSHOT)).willReturn(List.of(employee("1", "Alpha")));
+        given(employeeService.getAllEmployees(refreshed)).willReturn(List.of(employee("2", "Beta")));
+
+        mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"v1\""))
+                .andExpect(content().json("[{\"id\":\"1\",\"employee_name\":\"Alpha\"}]"));
+
+        verify(employeeService, times(1)).getSnapshot();
+    }
+
+    @Test
+    void unchangedIfModifiedSinceReturnsNotModified() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/highestSalary")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Sat, 01 Jun 2024 10:15:30 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(employeeService, never())
+                .getHighestSalaryOfEmployees(org.mockito.ArgumentMatchers.any(EmployeeSnapshot.class));
+    }
+
+    @Test
+    void staleValidatorsGetTheFullResponse() throws Exception {
+        given(employeeService.getTop10HighestEarningEmployeeNames(SNAPSHOT)).willReturn(List.of("Alpha"));
+
+        mockMvc.perform(get("/api/v1/employee/topTenHighestEarningEmployeeNames")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"v0\"")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Sat, 01 Jun 2024 10:15:30 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[\"Alpha\"]"));
+    }
+
+    @Test
+    void getAllEmployeesStreamsNdjsonWhenAsked() throws Exception {
+        given(employeeService.getAllEmployees()).willReturn(List.of(employee("1", "Alpha"), employee("2", "Beta")));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/employee").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(content()
+                        .string(stringContainsInOrder(
+                                "{\"id\":\"1\"", "\"employee_name\":\"Alpha\"", "}\n{\"id\":\"2\"", "}\n")));
+    }
+
+    @Test
+    void getAllEmployeesStillReturnsJsonArrayByDefault() throws Exception {
+        given(employeeService.getAllEmployees(SNAPSHOT)).willReturn(List.of(employee("1", "Alpha")));
+
+        mockMvc.perform(get("/api/v1/employee").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().json("[{\"id\":\"1\",\"employee_name\":\"Alpha\"}]"));
+    }
+
+    @Test
+    void searchStreamsNdjsonAndWritesNothingForNoMatches() throws Exception {
+        given(employeeService.getEmployeesByNameSearch("zz")).willReturn(List.of());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/employee/search/zz").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andExpect(content().string(""));
+    }
+
+    @Test
+    void streamingErrorsAreMappedBeforeTheBodyStarts() throws Exception {
+        doThrow(new EmployeeApiException("Upstream error"))
+                .when(employeeService)
+                .getAllEmployees();
+
+        mockMvc.perform(get("/api/v1/employee").accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadGateway())
+                .andExpect(jsonPath("$.message").value("Upstream error"));
+    }
+
     private Employee employee(String id, String name) {
         Employee employee = new Employee();
         employee.setId(id);
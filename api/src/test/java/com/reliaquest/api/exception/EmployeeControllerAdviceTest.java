@@ -9,9 +9,11 @@ import com.reliaquest.api.model.CreateEmployeeInput;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
@@ -48,6 +50,32 @@ class EmployeeControllerAdviceTest {
         assertThat(response.getBody().getStatus()).isEqualTo(502);
     }
 
+    @Test
+    void handleRateLimitedReturns429WithRetryAfter() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI("/api/v1/employee");
+
+        ResponseEntity<ErrorResponse> response = advice.handleRateLimited(
+                new EmployeeApiRateLimitException("slow down", Duration.ofMillis(2500)), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(response.getBody().getMessage()).isEqualTo("slow down");
+    }
+
+    @Test
+    void handleUnavailableReturns503WithRetryAfter() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI("/api/v1/employee");
+
+        ResponseEntity<ErrorResponse> response = advice.handleUnavailable(
+                new EmployeeApiUnavailableException("circuit open", Duration.ofSeconds(10)), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("10");
+        assertThat(response.getBody().getStatus()).isEqualTo(503);
+    }
+
     @Test
     void handleValidationReturnsBadRequest() throws Exception {
         CreateEmployeeInput input = new CreateEmployeeInput();
@@ -0,0 +1,226 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.AsyncEmployeeApiClient;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiException;
+import com.reliaquest.api.exception.EmployeeApiUnavailableException;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.DeleteEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class AsyncEmployeeServiceTest {
+
+    private AsyncEmployeeApiClient asyncApiClient;
+    private EmployeeApiClient apiClient;
+    private EmployeeSnapshotCache snapshotCache;
+    private AsyncEmployeeService service;
+
+    @BeforeEach
+    void setUp() {
+        asyncApiClient = mock(AsyncEmployeeApiClient.class);
+        apiClient = mock(EmployeeApiClient.class);
+        snapshotCache = new EmployeeSnapshotCache(apiClient, new EmployeeApiProperties(), new SyncTaskExecutor());
+        service = new AsyncEmployeeService(asyncApiClient, snapshotCache);
+    }
+
+    @Test
+    void readsLoadSnapshotOnceAndReuseIt() {
+        when(asyncApiClient.fetchAllEmployees())
+                .thenReturn(CompletableFuture.completedFuture(
+                        List.of(employee("1", "Alpha", 100), employee("2", "Beta", 300))));
+
+        assertThat(service.getAllEmployees().join()).hasSize(2);
+        assertThat(service.getHighestSalaryOfEmployees().join()).isEqualTo(300);
+        assertThat(service.getTop10HighestEarningEmployeeNames().join()).containsExactly("Beta", "Alpha");
+        assertThat(service.getEmployeesByNameSearch("alp").join())
+                .extracting(Employee::getEmployeeName)
+                .containsExactly("Alpha");
+
+        verify(asyncApiClient, times(1)).fetchAllEmployees();
+    }
+
+    @Test
+    void openCircuitServesLastKnownSnapshot() {
+        EmployeeApiProperties properties = new EmployeeApiProperties();
+        properties.getCache().setMaxStaleness(Duration.ZERO);
+        EmployeeSnapshotCache expiringCache =
+                new EmployeeSnapshotCache(mock(EmployeeApiClient.class), properties, new SyncTaskExecutor());
+        AsyncEmployeeService expiringService = new AsyncEmployeeService(asyncApiClient, expiringCache);
+        expiringCache.publish(List.of(employee("1", "Alpha", 100)));
+        when(asyncApiClient.fetchAllEmployees())
+                .thenReturn(CompletableFuture.failedFuture(
+                        new EmployeeApiUnavailableException("open", Duration.ofSeconds(10))));
+
+        assertThat(expiringService.getAllEmployees().join())
+                .extracting(Employee::getEmployeeName)
+                .containsExactly("Alpha");
+    }
+
+    @Test
+    void loadedSnapshotIsCaughtUpFromTheVersionTheAsyncClientRead() {
+        List<Employee> employees = List.of(employee("1", "Alpha", 100));
+        when(asyncApiClient.fetchAllEmployees()).thenReturn(CompletableFuture.completedFuture(employees));
+        when(asyncApiClient.versionOf(employees)).thenReturn("7");
+
+        service.getAllEmployees().join();
+        snapshotCache.refresh();
+
+        verify(apiClient).fetchChanges(eq("7"), anyInt());
+    }
+
+    @Test
+    void openCircuitServesEmployeeByIdFromSnapshot() {
+        snapshotCache.publish(List.of(employee("1", "Alpha", 100)));
+        when(asyncApiClient.<Employee>exchange(eq("/1"), eq(HttpMethod.GET), isNull(), any()))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new EmployeeApiUnavailableException("open", Duration.ofSeconds(10))));
+
+        assertThat(service.getEmployeeById("1").join().getEmployeeName()).isEqualTo("Alpha");
+    }
+
+    @Test
+    void blankSearchReturnsEmptyWithoutLoading() {
+        assertThat(service.getEmployeesByNameSearch(" ").join()).isEmpty();
+
+        verify(asyncApiClient, never()).fetchAllEmployees();
+    }
+
+    @Test
+    void getEmployeeByIdReturnsData() {
+        when(asyncApiClient.<Employee>exchange(eq("/1"), eq(HttpMethod.GET), isNull(), any()))
+                .thenReturn(CompletableFuture.completedFuture(response(employee("1", "Alpha", 100))));
+
+        assertThat(service.getEmployeeById("1").join().getEmployeeName()).isEqualTo("Alpha");
+    }
+
+    @Test
+    void getEmployeeByIdMapsNotFound() {
+        when(asyncApiClient.<Employee>exchange(eq("/1"), eq(HttpMethod.GET), isNull(), any()))
+                .thenReturn(CompletableFuture.failedFuture(HttpClientErrorException.create(
+                        HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, new byte[0], null)));
+
+        assertThatThrownBy(() -> service.getEmployeeById("1").join())
+                .hasCauseInstanceOf(EmployeeNotFoundException.class);
+    }
+
+    @Test
+    void getEmployeeByIdMapsEmptyResponse() {
+        when(asyncApiClient.<Employee>exchange(eq("/1"), eq(HttpMethod.GET), isNull(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThatThrownBy(() -> service.getEmployeeById("1").join())
+                .hasCauseInstanceOf(EmployeeNotFoundException.class);
+    }
+
+    @Test
+    void getEmployeeByIdPropagatesOtherFailures() {
+        when(asyncApiClient.<Employee>exchange(eq("/1"), eq(HttpMethod.GET), isNull(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new EmployeeApiException("boom")));
+
+        assertThatThrownBy(() -> service.getEmployeeById("1").join()).hasCauseInstanceOf(EmployeeApiException.class);
+    }
+
+    @Test
+    void createEmployeeAddsToSnapshot() {
+        snapshotCache.publish(List.of(employee("1", "Alpha", 100)));
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName("Beta");
+        when(asyncApiClient.<Employee>exchange(eq(""), eq(HttpMethod.POST), eq(input), any()))
+                .thenReturn(CompletableFuture.completedFuture(response(employee("2", "Beta", 300))));
+
+        assertThat(service.createEmployee(input).join().getId()).isEqualTo("2");
+        assertThat(service.getHighestSalaryOfEmployees().join()).isEqualTo(300);
+    }
+
+    @Test
+    void createEmployeeFailsOnEmptyResponse() {
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName("Beta");
+        when(asyncApiClient.<Employee>exchange(eq(""), eq(HttpMethod.POST), eq(input), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThatThrownBy(() -> service.createEmployee(input).join()).hasCauseInstanceOf(EmployeeApiException.class);
+    }
+
+    @Test
+    void deleteUsesCachedNameAndRemovesFromSnapshot() {
+        snapshotCache.publish(List.of(employee("1", "Alpha", 100)));
+        when(asyncApiClient.<Boolean>exchange(eq(""), eq(HttpMethod.DELETE), deleteFor("Alpha"), any()))
+                .thenReturn(CompletableFuture.completedFuture(response(true)));
+
+        assertThat(service.deleteEmployeeById("1").join()).isEqualTo("Alpha");
+        assertThat(snapshotCache.findCached("1")).isNull();
+        verify(asyncApiClient, never()).exchange(eq("/1"), any(), any(), any());
+    }
+
+    @Test
+    void deleteRetriesWithUpstreamNameWhenCachedNameIsRejected() {
+        snapshotCache.publish(List.of(employee("1", "Alpha", 100)));
+        when(asyncApiClient.<Boolean>exchange(eq(""), eq(HttpMethod.DELETE), deleteFor("Alpha"), any()))
+                .thenReturn(CompletableFuture.completedFuture(response(false)));
+        when(asyncApiClient.<Employee>exchange(eq("/1"), eq(HttpMethod.GET), isNull(), any()))
+                .thenReturn(CompletableFuture.completedFuture(response(employee("1", "Alpha Renamed", 100))));
+        when(asyncApiClient.<Boolean>exchange(eq(""), eq(HttpMethod.DELETE), deleteFor("Alpha Renamed"), any()))
+                .thenReturn(CompletableFuture.completedFuture(response(true)));
+
+        assertThat(service.deleteEmployeeById("1").join()).isEqualTo("Alpha Renamed");
+    }
+
+    @Test
+    void deleteResolvesNameUpstreamOnCacheMissAndFailsWhenRejected() {
+        when(asyncApiClient.<Employee>exchange(eq("/1"), eq(HttpMethod.GET), isNull(), any()))
+                .thenReturn(CompletableFuture.completedFuture(response(employee("1", "Alpha", 100))));
+        when(asyncApiClient.<Boolean>exchange(eq(""), eq(HttpMethod.DELETE), deleteFor("Alpha"), any()))
+                .thenReturn(CompletableFuture.completedFuture(response(false)));
+
+        assertThatThrownBy(() -> service.deleteEmployeeById("1").join())
+                .hasCauseInstanceOf(EmployeeApiException.class)
+                .hasMessageContaining("id=1");
+    }
+
+    private static Object deleteFor(String name) {
+        return argThat((Object input) ->
+                input instanceof DeleteEmployeeInput delete && name.equals(delete.getName()));
+    }
+
+    private static <T> ApiResponse<T> response(T data) {
+        ApiResponse<T> response = new ApiResponse<>();
+        response.setData(data);
+        return response;
+    }
+
+    private static Employee employee(String id, String name, Integer salary) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmployeeName(name);
+        employee.setEmployeeSalary(salary);
+        return employee;
+    }
+}
@@ -0,0 +1,148 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.exception.EmployeeApiRateLimitException;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import jakarta.validation.Validation;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EmployeeBatchServiceTest {
+
+    private final EmployeeApiClient apiClient = mock(EmployeeApiClient.class);
+    private final EmployeeSnapshotCache snapshotCache = mock(EmployeeSnapshotCache.class);
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+    private EmployeeApiProperties properties;
+    private EmployeeBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EmployeeApiProperties();
+        service = new EmployeeBatchService(
+                apiClient,
+                snapshotCache,
+                employeeService,
+                properties,
+                Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void createEmployeesValidatesItemsAndSendsTheRestInChunks() {
+        properties.getBatching().setMaxBatchSize(2);
+        when(apiClient.createEmployees(anyList())).thenAnswer(invocation -> {
+            List<CreateEmployeeInput> inputs = invocation.getArgument(0);
+            return inputs.stream()
+                    .map(input -> BatchItemResult.ok(employee(input.getName(), input.getName())))
+                    .toList();
+        });
+
+        List<BatchItemResult<Employee>> results =
+                service.createEmployees(List.of(input("Alpha"), input(""), input("Bravo"), input("Charlie")));
+
+        assertThat(results).extracting(BatchItemResult::getStatus).containsExactly(200, 400, 200, 200);
+        assertThat(results.get(1).getError()).isEqualTo("name must not be blank");
+        assertThat(results.get(3).getData().getEmployeeName()).isEqualTo("Charlie");
+        verify(apiClient, times(2)).createEmployees(anyList());
+        verify(snapshotCache)
+                .addAll(List.of(results.get(0).getData(), results.get(2).getData(), results.get(3).getData()));
+    }
+
+    @Test
+    void laterChunkFailureOnlyFailsItsItems() {
+        properties.getBatching().setMaxBatchSize(1);
+        when(apiClient.createEmployees(anyList()))
+                .thenReturn(List.of(BatchItemResult.ok(employee("1", "Alpha"))))
+                .thenThrow(new EmployeeApiRateLimitException("Employee API rate limit reached", Duration.ofSeconds(1)));
+
+        List<BatchItemResult<Employee>> results = service.createEmployees(List.of(input("Alpha"), input("Bravo")));
+
+        assertThat(results).extracting(BatchItemResult::getStatus).containsExactly(200, 429);
+    }
+
+    @Test
+    void itemsTheUpstreamLeftUnansweredFail() {
+        when(apiClient.createEmployees(anyList())).thenReturn(List.of(BatchItemResult.ok(employee("1", "Alpha"))));
+
+        List<BatchItemResult<Employee>> results = service.createEmployees(List.of(input("Alpha"), input("Bravo")));
+
+        assertThat(results).extracting(BatchItemResult::getStatus).containsExactly(200, 502);
+        assertThat(results.get(1).getError()).isEqualTo("Employee API returned 1 results for 2 items");
+        verify(snapshotCache).addAll(List.of(results.get(0).getData()));
+    }
+
+    @Test
+    void firstChunkFailureFailsTheRequest() {
+        EmployeeApiRateLimitException failure =
+                new EmployeeApiRateLimitException("Employee API rate limit reached", Duration.ofSeconds(1));
+        when(apiClient.createEmployees(anyList())).thenThrow(failure);
+
+        assertThatThrownBy(() -> service.createEmployees(List.of(input("Alpha")))).isSameAs(failure);
+        verify(snapshotCache, never()).addAll(anyList());
+    }
+
+    @Test
+    void deleteEmployeesResolvesNamesAndAnswersPerId() {
+        when(snapshotCache.findCached("1")).thenReturn(employee("1", "Alpha"));
+        when(employeeService.getEmployeeById("2")).thenReturn(employee("2", "Bravo"));
+        when(employeeService.getEmployeeById("missing"))
+                .thenThrow(new EmployeeNotFoundException("Employee not found for id=missing"));
+        when(apiClient.deleteEmployeesByName(List.of("Alpha", "Bravo")))
+                .thenReturn(List.of(BatchItemResult.ok(true), BatchItemResult.failed(404, "No employee named Bravo")));
+        when(employeeService.deleteEmployeeById("2")).thenReturn("Bravo Renamed");
+
+        List<BatchItemResult<String>> results = service.deleteEmployeesByIds(List.of("1", "missing", "2", "1", " "));
+
+        assertThat(results).extracting(BatchItemResult::getStatus).containsExactly(200, 404, 200, 200, 400);
+        assertThat(results)
+                .extracting(BatchItemResult::getData)
+                .containsExactly("Alpha", null, "Bravo Renamed", "Alpha", null);
+        verify(apiClient, times(1)).deleteEmployeesByName(anyList());
+        verify(snapshotCache).removeAll(List.of("1"));
+    }
+
+    @Test
+    void deletesTheUpstreamLeftUnansweredFail() {
+        when(snapshotCache.findCached("1")).thenReturn(employee("1", "Alpha"));
+        when(snapshotCache.findCached("2")).thenReturn(employee("2", "Bravo"));
+        when(apiClient.deleteEmployeesByName(List.of("Alpha", "Bravo"))).thenReturn(List.of(BatchItemResult.ok(true)));
+
+        List<BatchItemResult<String>> results = service.deleteEmployeesByIds(List.of("1", "2"));
+
+        assertThat(results).extracting(BatchItemResult::getStatus).containsExactly(200, 502);
+        assertThat(results.get(1).getError()).isEqualTo("Employee API returned 1 results for 2 items");
+        verify(employeeService, never()).deleteEmployeeById("2");
+        verify(snapshotCache).removeAll(List.of("1"));
+    }
+
+    private static CreateEmployeeInput input(String name) {
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName(name);
+        input.setSalary(100);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+
+    private static Employee employee(String id, String name) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmployeeName(name);
+        return employee;
+    }
+}
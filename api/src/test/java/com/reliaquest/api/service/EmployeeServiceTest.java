@@ -2,18 +2,32 @@ package com.reliaquest.api.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withException;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.EmployeeCreateBatcher;
+import com.reliaquest.api.client.RequestCoalescer;
+import com.reliaquest.api.client.RequestHedger;
+import com.reliaquest.api.client.UpstreamMetrics;
 import com.reliaquest.api.config.EmployeeApiProperties;
 import com.reliaquest.api.exception.EmployeeApiException;
+import com.reliaquest.api.exception.EmployeeApiUnavailableException;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
-import java.lang.reflect.Method;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -21,18 +35,13 @@ import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
 import org.springframework.test.web.client.MockRestServiceServer;
-import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.core.ParameterizedTypeReference;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.isNull;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 class EmployeeServiceTest {
 
@@ -50,7 +59,7 @@ class EmployeeServiceTest {
         RestTemplate restTemplate =
                 new RestTemplateBuilder().rootUri(properties.getBaseUrl()).build();
         server = MockRestServiceServer.createServer(restTemplate);
-        service = new EmployeeService(restTemplate, properties);
+        service = newService(restTemplate, properties);
     }
 
     @Test
@@ -91,6 +100,22 @@ class EmployeeServiceTest {
         assertThat(employees.get(0).getEmployeeName()).isEqualTo("Alpha");
     }
 
+    @Test
+    void readsGivenASnapshotAnswerFromThatSnapshot() throws Exception {
+        server.expect(requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(
+                        listResponse(List.of(employeeMap("1", "Alpha", 100), employeeMap("2", "Alfred", 450))),
+                        MediaType.APPLICATION_JSON));
+        EmployeeSnapshot older = service.getSnapshot().withoutEmployee("2");
+
+        assertThat(service.getAllEmployees(older)).extracting(Employee::getId).containsExactly("1");
+        assertThat(service.getEmployeesByNameSearch(older, "al")).extracting(Employee::getId).containsExactly("1");
+        assertThat(service.getHighestSalaryOfEmployees(older)).isEqualTo(100);
+        assertThat(service.getTop10HighestEarningEmployeeNames(older)).containsExactly("Alpha");
+        assertThat(service.getHighestSalaryOfEmployees()).isEqualTo(450);
+    }
+
     @Test
     void getEmployeesByNameSearchEmptyInputSkipsApiCall() {
         List<Employee> employees = service.getEmployeesByNameSearch(" ");
@@ -157,6 +182,38 @@ class EmployeeServiceTest {
         assertThat(created.getEmployeeName()).isEqualTo("New Hire");
     }
 
+    @Test
+    void createEmployeeGoesThroughTheBatchEndpointWhenBatching() throws Exception {
+        EmployeeApiProperties properties = new EmployeeApiProperties();
+        properties.setBaseUrl(BASE_URL);
+        properties.getBatching().setEnabled(true);
+        properties.getBatching().setWindow(Duration.ZERO);
+        RestTemplate restTemplate =
+                new RestTemplateBuilder().rootUri(properties.getBaseUrl()).build();
+        MockRestServiceServer batchServer = MockRestServiceServer.createServer(restTemplate);
+        EmployeeService batchingService = newService(restTemplate, properties);
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("status", 200);
+        item.put("data", employeeMap("9", "New Hire", 500));
+        batchServer
+                .expect(requestTo(BASE_URL + "/batch"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().json("[{\"name\":\"New Hire\",\"salary\":500}]"))
+                .andRespond(withSuccess(
+                        objectMapper.writeValueAsString(Map.of("data", List.of(item))), MediaType.APPLICATION_JSON));
+
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName("New Hire");
+        input.setSalary(500);
+        input.setAge(30);
+        input.setTitle("Engineer");
+
+        Employee created = batchingService.createEmployee(input);
+
+        assertThat(created.getId()).isEqualTo("9");
+        batchServer.verify();
+    }
+
     @Test
     void createEmployeeFailsWhenResponseMissingData() throws Exception {
         server.expect(requestTo(BASE_URL))
@@ -224,7 +281,7 @@ class EmployeeServiceTest {
         limited.setMaxAttempts(1);
         RestTemplate restTemplate = new RestTemplateBuilder().rootUri(limited.getBaseUrl()).build();
         MockRestServiceServer limitedServer = MockRestServiceServer.createServer(restTemplate);
-        EmployeeService limitedService = new EmployeeService(restTemplate, limited);
+        EmployeeService limitedService = newService(restTemplate, limited);
 
         limitedServer.expect(requestTo(BASE_URL))
                 .andExpect(method(HttpMethod.GET))
@@ -248,32 +305,161 @@ class EmployeeServiceTest {
 
     @Test
     void resourceAccessExceptionThrowsEmployeeApiException() {
-        RestTemplate restTemplate = mock(RestTemplate.class);
-        EmployeeApiProperties properties = new EmployeeApiProperties();
-        properties.setBaseUrl(BASE_URL);
-        EmployeeService failureService = new EmployeeService(restTemplate, properties);
-
-        when(restTemplate.exchange(eq(BASE_URL), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
-                .thenThrow(new ResourceAccessException("timeout"));
+        server.expect(requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withException(new SocketTimeoutException("timeout")));
 
-        assertThatThrownBy(failureService::getAllEmployees)
+        assertThatThrownBy(service::getAllEmployees)
                 .isInstanceOf(EmployeeApiException.class)
                 .hasMessageContaining(BASE_URL);
     }
 
     @Test
-    void buildUrlAddsLeadingSlashWhenMissing() throws Exception {
+    void openCircuitFailsFastAndServesReadsFromSnapshot() throws Exception {
         EmployeeApiProperties properties = new EmployeeApiProperties();
         properties.setBaseUrl(BASE_URL);
-        RestTemplate restTemplate = new RestTemplateBuilder().rootUri(properties.getBaseUrl()).build();
-        EmployeeService localService = new EmployeeService(restTemplate, properties);
+        properties.getCircuitBreaker().setMinimumCalls(2);
+        RestTemplate restTemplate = new RestTemplateBuilder().rootUri(BASE_URL).build();
+        MockRestServiceServer failureServer = MockRestServiceServer.createServer(restTemplate);
+        EmployeeService failureService = newService(restTemplate, properties);
+
+        failureServer
+                .expect(ExpectedCount.once(), requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(
+                        withSuccess(listResponse(List.of(employeeMap("1", "Alpha", 100))), MediaType.APPLICATION_JSON));
+        failureServer
+                .expect(ExpectedCount.once(), requestTo(BASE_URL + "/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withException(new SocketTimeoutException("timeout")));
+
+        failureService.getAllEmployees();
+        assertThatThrownBy(() -> failureService.getEmployeeById("1")).isInstanceOf(EmployeeApiException.class);
+
+        assertThat(failureService.getEmployeeById("1").getEmployeeName()).isEqualTo("Alpha");
+        assertThatThrownBy(() -> failureService.getEmployeeById("2"))
+                .isInstanceOf(EmployeeApiUnavailableException.class);
+        failureServer.verify();
+    }
+
+    @Test
+    void getAllEmployeesServesRepeatedReadsFromSnapshot() throws Exception {
+        server.expect(ExpectedCount.once(), requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(
+                        withSuccess(listResponse(List.of(employeeMap("1", "Alpha", 100))), MediaType.APPLICATION_JSON));
+
+        service.getAllEmployees();
+        Integer maxSalary = service.getHighestSalaryOfEmployees();
+
+        assertThat(maxSalary).isEqualTo(100);
+        server.verify();
+    }
+
+    @Test
+    void createEmployeeAddsToSnapshot() throws Exception {
+        server.expect(ExpectedCount.once(), requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(listResponse(List.of()), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess(singleResponse(employeeMap("9", "New Hire", 500)), MediaType.APPLICATION_JSON));
+
+        assertThat(service.getAllEmployees()).isEmpty();
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName("New Hire");
+        input.setSalary(500);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        service.createEmployee(input);
+
+        assertThat(service.getAllEmployees()).extracting(Employee::getEmployeeName).containsExactly("New Hire");
+        assertThat(service.getHighestSalaryOfEmployees()).isEqualTo(500);
+        server.verify();
+    }
+
+    @Test
+    void deleteEmployeeByIdResolvesNameFromSnapshot() throws Exception {
+        server.expect(requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(
+                        listResponse(List.of(employeeMap("1", "Alpha", 100), employeeMap("2", "Bravo", 200))),
+                        MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.DELETE))
+                .andExpect(content().json("{\"name\":\"Alpha\"}"))
+                .andRespond(withSuccess(booleanResponse(true), MediaType.APPLICATION_JSON));
 
-        Method method = EmployeeService.class.getDeclaredMethod("buildUrl", String.class);
-        method.setAccessible(true);
+        service.getAllEmployees();
+        String name = service.deleteEmployeeById("1");
+
+        assertThat(name).isEqualTo("Alpha");
+        assertThat(service.getAllEmployees()).extracting(Employee::getId).containsExactly("2");
+        server.verify();
+    }
 
-        String url = (String) method.invoke(localService, "segment");
+    @Test
+    void deleteEmployeeByIdFallsBackToUpstreamWhenCachedNameIsRejected() throws Exception {
+        server.expect(requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(
+                        listResponse(List.of(employeeMap("1", "Alpha", 100))), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.DELETE))
+                .andExpect(content().json("{\"name\":\"Alpha\"}"))
+                .andRespond(withSuccess(booleanResponse(false), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(
+                        singleResponse(employeeMap("1", "Alpha Renamed", 100)), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.DELETE))
+                .andExpect(content().json("{\"name\":\"Alpha Renamed\"}"))
+                .andRespond(withSuccess(booleanResponse(true), MediaType.APPLICATION_JSON));
+
+        service.getAllEmployees();
+        String name = service.deleteEmployeeById("1");
+
+        assertThat(name).isEqualTo("Alpha Renamed");
+        server.verify();
+    }
+
+    @Test
+    void deleteEmployeeByIdFailsWhenCachedAndUpstreamNameAreRejected() throws Exception {
+        server.expect(requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(
+                        listResponse(List.of(employeeMap("1", "Alpha", 100))), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withSuccess(booleanResponse(false), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/1"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(singleResponse(employeeMap("1", "Alpha", 100)), MediaType.APPLICATION_JSON));
+
+        service.getAllEmployees();
+
+        assertThatThrownBy(() -> service.deleteEmployeeById("1"))
+                .isInstanceOf(EmployeeApiException.class)
+                .hasMessageContaining("Failed to delete employee");
+        server.verify();
+    }
 
-        assertThat(url).isEqualTo(BASE_URL + "/segment");
+    private EmployeeService newService(RestTemplate restTemplate, EmployeeApiProperties properties) {
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(properties, new SimpleMeterRegistry());
+        EmployeeApiClient apiClient = new EmployeeApiClient(
+                restTemplate,
+                properties,
+                new RequestCoalescer(properties, new SimpleMeterRegistry()),
+                rateLimiter,
+                new CircuitBreaker(properties, new SimpleMeterRegistry()),
+                objectMapper,
+                new UpstreamMetrics(new SimpleMeterRegistry()),
+                new RequestHedger(properties, rateLimiter, new SimpleMeterRegistry()));
+        return new EmployeeService(
+                apiClient,
+                new EmployeeSnapshotCache(apiClient, properties, new SyncTaskExecutor()),
+                new EmployeeCreateBatcher(apiClient, properties));
     }
 
     private String listResponse(List<Map<String, Object>> employees) throws Exception {
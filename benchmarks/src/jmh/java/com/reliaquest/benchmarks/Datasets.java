@@ -0,0 +1,37 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/** Synthetic employees shared by the benchmarks; a given size always yields the same employees. */
+final class Datasets {
+
+    static final long SEED = 42L;
+
+    private Datasets() {}
+
+    static List<MockEmployee> mockEmployees(int size) {
+        return new MockEmployeeGenerator(Locale.US, Runtime.getRuntime().availableProcessors()).generate(size, SEED);
+    }
+
+    /** The same employees as the API module reads them from the server. */
+    static List<Employee> employees(int size) {
+        List<MockEmployee> mockEmployees = mockEmployees(size);
+        List<Employee> employees = new ArrayList<>(mockEmployees.size());
+        for (MockEmployee mockEmployee : mockEmployees) {
+            Employee employee = new Employee();
+            employee.setId(mockEmployee.getId().toString());
+            employee.setEmployeeName(mockEmployee.getName());
+            employee.setEmployeeSalary(mockEmployee.getSalary());
+            employee.setEmployeeAge(mockEmployee.getAge());
+            employee.setEmployeeTitle(mockEmployee.getTitle());
+            employee.setEmployeeEmail(mockEmployee.getEmail());
+            employees.add(employee);
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,104 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.client.EmployeeApiClient;
+import com.reliaquest.api.client.EmployeeCreateBatcher;
+import com.reliaquest.api.client.RequestCoalescer;
+import com.reliaquest.api.client.RequestHedger;
+import com.reliaquest.api.client.UpstreamMetrics;
+import com.reliaquest.api.config.EmployeeApiProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * The read paths of {@link EmployeeService} over a published snapshot, as they run once the cache is warm. The
+ * upstream is never called: the snapshot is published up front and never expires during a run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private EmployeeService service;
+    private List<Employee> employees;
+
+    @Setup
+    public void setUp() {
+        EmployeeApiProperties properties = new EmployeeApiProperties();
+        properties.setBaseUrl("http://localhost:0/unused");
+        properties.getCache().setTtl(Duration.ofDays(1));
+        properties.getCache().setRefreshAhead(Duration.ZERO);
+        properties.getCache().setMaxStaleness(Duration.ofDays(1));
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(properties, new SimpleMeterRegistry());
+        EmployeeApiClient apiClient = new EmployeeApiClient(
+                new RestTemplate(),
+                properties,
+                new RequestCoalescer(properties, new SimpleMeterRegistry()),
+                rateLimiter,
+                new CircuitBreaker(properties, new SimpleMeterRegistry()),
+                new ObjectMapper(),
+                new UpstreamMetrics(new SimpleMeterRegistry()),
+                new RequestHedger(properties, rateLimiter, new SimpleMeterRegistry()));
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(apiClient, properties, new SyncTaskExecutor());
+        employees = Datasets.employees(size);
+        cache.publish(employees);
+        service = new EmployeeService(apiClient, cache, new EmployeeCreateBatcher(apiClient, properties));
+    }
+
+    @Benchmark
+    public List<Employee> searchByName(Search search) {
+        return service.getEmployeesByNameSearch(search.searchString);
+    }
+
+    @Benchmark
+    public List<String> topTenHighestEarningEmployeeNames() {
+        return service.getTop10HighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    public Integer highestSalary() {
+        return service.getHighestSalaryOfEmployees();
+    }
+
+    @State(Scope.Benchmark)
+    public static class Search {
+
+        /** A common fragment, the full name of one employee, and a fragment shorter than the index's grams. */
+        @Param({"son", "FULL_NAME", "an"})
+        public String needle;
+
+        private String searchString;
+
+        @Setup
+        public void setUp(EmployeeServiceBenchmark benchmark) {
+            List<Employee> employees = benchmark.employees;
+            searchString = "FULL_NAME".equals(needle) ? employees.get(employees.size() / 2).getEmployeeName() : needle;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Employee list (de)serialization on both sides of the wire: the server writing a listing, the API module reading it
+ * back, and the API module writing its own response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JsonBenchmark {
+
+    private static final TypeReference<ApiResponse<List<Employee>>> EMPLOYEES = new TypeReference<>() {};
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Response<List<MockEmployee>> serverResponse;
+    private ApiResponse<List<Employee>> apiResponse;
+    private byte[] serverBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        serverResponse = Response.handledWith(Datasets.mockEmployees(size));
+        serverBytes = objectMapper.writeValueAsBytes(serverResponse);
+        apiResponse = objectMapper.readValue(serverBytes, EMPLOYEES);
+    }
+
+    @Benchmark
+    public byte[] serverSerialize() throws IOException {
+        return objectMapper.writeValueAsBytes(serverResponse);
+    }
+
+    @Benchmark
+    public ApiResponse<List<Employee>> apiDeserialize() throws IOException {
+        return objectMapper.readValue(serverBytes, EMPLOYEES);
+    }
+
+    @Benchmark
+    public byte[] apiSerialize() throws IOException {
+        return objectMapper.writeValueAsBytes(apiResponse);
+    }
+}
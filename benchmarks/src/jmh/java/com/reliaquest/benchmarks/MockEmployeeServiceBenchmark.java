@@ -0,0 +1,117 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.validation.Validation;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link MockEmployeeService} lookups and deletes against an in-memory store without a journal.
+ *
+ * <p>Deletes are not repeatable, so they run as single shots of {@link #DELETES_PER_ITERATION} deletes each, on a
+ * store refilled before every iteration; the reported time is for the whole shot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MockEmployeeServiceBenchmark {
+
+    static final int DELETES_PER_ITERATION = 10_000;
+
+    @State(Scope.Benchmark)
+    public static class Dataset {
+
+        @Param({"10000", "1000000"})
+        public int size;
+
+        List<MockEmployee> employees;
+
+        @Setup
+        public void setUp() {
+            employees = Datasets.mockEmployees(size);
+        }
+
+        MockEmployeeService newService() {
+            return new MockEmployeeService(
+                    new Faker(Locale.US, new Random(Datasets.SEED)),
+                    Validation.buildDefaultValidatorFactory().getValidator(),
+                    new MockEmployeeStore(employees));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Lookup {
+
+        MockEmployeeService service;
+        UUID[] ids;
+
+        @Setup
+        public void setUp(Dataset dataset) {
+            service = dataset.newService();
+            ids = dataset.employees.stream().map(MockEmployee::getId).toArray(UUID[]::new);
+        }
+    }
+
+    /** Names of distinct employees, in random order, to delete by. */
+    @State(Scope.Thread)
+    public static class Deletes {
+
+        MockEmployeeService service;
+        DeleteMockEmployeeInput[] inputs;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(Dataset dataset) {
+            service = dataset.newService();
+            List<MockEmployee> employees = dataset.employees;
+            inputs = new Random(Datasets.SEED)
+                    .ints(0, employees.size())
+                    .distinct()
+                    .limit(Math.min(DELETES_PER_ITERATION, employees.size()))
+                    .mapToObj(index -> {
+                        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+                        input.setName(employees.get(index).getName());
+                        return input;
+                    })
+                    .toArray(DeleteMockEmployeeInput[]::new);
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById(Lookup lookup) {
+        return lookup.service.findById(lookup.ids[ThreadLocalRandom.current().nextInt(lookup.ids.length)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, batchSize = DELETES_PER_ITERATION)
+    @Measurement(iterations = 10, batchSize = DELETES_PER_ITERATION)
+    public boolean delete(Deletes deletes) {
+        return deletes.service.delete(deletes.inputs[deletes.next++ % deletes.inputs.length]);
+    }
+}
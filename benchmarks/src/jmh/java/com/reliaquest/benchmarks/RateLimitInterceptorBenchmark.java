@@ -0,0 +1,82 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.config.MockServerProperties;
+import com.reliaquest.server.web.RateLimitInterceptor;
+import com.reliaquest.server.web.RateLimiter;
+import com.reliaquest.server.web.SlidingWindowRateLimiter;
+import com.reliaquest.server.web.TokenBucketRateLimiter;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * The cost {@link RateLimitInterceptor} adds to every mock server request under contention, with a limit high enough
+ * that nearly every request is admitted. With {@code GLOBAL} all threads share one key; with {@code IP} each has its
+ * own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RateLimitInterceptorBenchmark {
+
+    /** The most a sliding window can count, per millisecond: tens of millions of requests a second. */
+    private static final int LIMIT = 0xFFFF;
+
+    private static final Duration WINDOW = Duration.ofMillis(1);
+    private static final int MAX_KEYS = 10_000;
+
+    @Param({"TOKEN_BUCKET", "SLIDING_WINDOW"})
+    public String algorithm;
+
+    @Param({"GLOBAL", "IP"})
+    public String clientKey;
+
+    private final AtomicInteger clients = new AtomicInteger();
+    private RateLimitInterceptor interceptor;
+
+    @Setup
+    public void setUp() {
+        RateLimiter limiter = "TOKEN_BUCKET".equals(algorithm)
+                ? new TokenBucketRateLimiter(LIMIT, WINDOW, MAX_KEYS)
+                : new SlidingWindowRateLimiter(LIMIT, WINDOW, MAX_KEYS);
+        interceptor =
+                new RateLimitInterceptor(limiter, MockServerProperties.ClientKey.valueOf(clientKey), "X-Client-Id");
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup
+        public void setUp(RateLimitInterceptorBenchmark benchmark) {
+            request = new MockHttpServletRequest("GET", "/api/v1/employee");
+            request.setRemoteAddr("10.0.0." + benchmark.clients.incrementAndGet());
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public boolean preHandle(Client client) {
+        return interceptor.preHandle(client.request, client.response, null);
+    }
+}
@@ -0,0 +1,118 @@
+package com.reliaquest.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and outcomes of one endpoint's measured requests. Latency runs from when a request was scheduled to be
+ * sent, not from when it actually was, so a stalled client or server shows up instead of being hidden by it.
+ */
+public class EndpointStats {
+
+    /** Three significant digits; the histogram resizes itself to whatever latencies are recorded. */
+    private final ConcurrentHistogram latencyMicros = new ConcurrentHistogram(3);
+
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder otherClientErrors = new LongAdder();
+    private final LongAdder tooManyRequests = new LongAdder();
+    private final LongAdder badGateway = new LongAdder();
+    private final LongAdder otherServerErrors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder transportErrors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    void recordResponse(int status, long latencyNanos) {
+        record(latencyNanos);
+        if (status >= 200 && status < 300) {
+            successes.increment();
+        } else if (status == 404) {
+            notFound.increment();
+        } else if (status == 429) {
+            tooManyRequests.increment();
+        } else if (status == 502) {
+            badGateway.increment();
+        } else if (status >= 500) {
+            otherServerErrors.increment();
+        } else {
+            otherClientErrors.increment();
+        }
+    }
+
+    void recordTimeout(long latencyNanos) {
+        record(latencyNanos);
+        timeouts.increment();
+    }
+
+    void recordTransportError(long latencyNanos) {
+        record(latencyNanos);
+        transportErrors.increment();
+    }
+
+    /** An arrival that was never sent because too many requests were already outstanding. */
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    private void record(long latencyNanos) {
+        latencyMicros.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+    }
+
+    /** Requests that were sent and completed one way or another. */
+    public long completed() {
+        return latencyMicros.getTotalCount();
+    }
+
+    /** Completed requests plus dropped arrivals. */
+    public long attempted() {
+        return completed() + dropped.sum();
+    }
+
+    public long successes() {
+        return successes.sum();
+    }
+
+    public long notFound() {
+        return notFound.sum();
+    }
+
+    public long otherClientErrors() {
+        return otherClientErrors.sum();
+    }
+
+    public long tooManyRequests() {
+        return tooManyRequests.sum();
+    }
+
+    public long badGateway() {
+        return badGateway.sum();
+    }
+
+    public long otherServerErrors() {
+        return otherServerErrors.sum();
+    }
+
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    public long transportErrors() {
+        return transportErrors.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /** Attempts that were throttled, failed upstream or never got an answer. */
+    public long failures() {
+        return tooManyRequests() + badGateway() + otherServerErrors() + timeouts() + transportErrors() + dropped();
+    }
+
+    /** A copy of the latency histogram in microseconds, safe to read while requests are still being recorded. */
+    public Histogram latencies() {
+        return latencyMicros.copy();
+    }
+}
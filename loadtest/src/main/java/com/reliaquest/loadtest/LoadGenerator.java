@@ -0,0 +1,279 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Open-model traffic against the API module: requests start on a schedule drawn up front from the configured rate,
+ * however long earlier ones take, so a slow server faces a growing backlog the way it would in production instead of
+ * being given room to breathe by a closed loop of waiting clients.
+ */
+@Slf4j
+public class LoadGenerator {
+
+    private static final TypeReference<List<Employee>> EMPLOYEES = new TypeReference<>() {};
+    private static final int SEARCH_FRAGMENT_LENGTH = 3;
+
+    private final LoadTestProperties properties;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Random random;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final ConcurrentLinkedQueue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private final Semaphore outstanding;
+
+    private List<Employee> employees = List.of();
+    private Operation[] operations;
+    private int[] cumulativeWeights;
+    private long created;
+
+    public LoadGenerator(LoadTestProperties properties, String baseUrl, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.random = new Random(properties.getSeed());
+        this.outstanding = new Semaphore(properties.getMaxOutstanding());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+    }
+
+    /**
+     * Sends the warmup and then the measured traffic, and waits for the last requests to complete.
+     *
+     * @return the measured requests per endpoint, for the operations in the mix
+     */
+    public Map<Operation, EndpointStats> run() throws InterruptedException {
+        prepareMix();
+        employees = loadEmployees();
+        log.info("Loaded {} employees to read, search and delete", employees.size());
+
+        long start = System.nanoTime();
+        long measureFrom = start + properties.getWarmup().toNanos();
+        long end = measureFrom + properties.getDuration().toNanos();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / properties.getRate();
+        double scheduled = start;
+        while ((long) scheduled < end) {
+            long intended = (long) scheduled;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = nextOperation();
+            send(operation, intended, intended >= measureFrom ? stats.get(operation) : null);
+            scheduled += properties.getArrivals() == LoadTestProperties.Arrivals.POISSON
+                    ? -Math.log(1.0 - random.nextDouble()) * meanGapNanos
+                    : meanGapNanos;
+        }
+        if (!outstanding.tryAcquire(
+                properties.getMaxOutstanding(),
+                properties.getRequestTimeout().multipliedBy(2).toMillis(),
+                TimeUnit.MILLISECONDS)) {
+            log.warn("Requests still outstanding after the run; their results are missing from the report");
+        }
+        Map<Operation, EndpointStats> measured = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            measured.put(operation, stats.get(operation));
+        }
+        return measured;
+    }
+
+    private void prepareMix() {
+        List<Operation> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Operation operation : Operation.values()) {
+            int weight = properties.getMix().getOrDefault(operation, 0);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + operation + " must not be negative");
+            }
+            if (weight > 0) {
+                total += weight;
+                weighted.add(operation);
+                cumulative.add(total);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("The traffic mix needs at least one operation with a positive weight");
+        }
+        operations = weighted.toArray(Operation[]::new);
+        cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private Operation nextOperation() {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("No operation drawn for " + draw);
+    }
+
+    /** The employees the API module serves before the run, retried while the upstream is still throttling. */
+    private List<Employee> loadEmployees() throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getRequestTimeout().multipliedBy(6).toNanos();
+        HttpRequest request = newRequest("").GET().build();
+        while (true) {
+            try {
+                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    List<Employee> loaded = objectMapper.readValue(response.body(), EMPLOYEES);
+                    if (loaded.isEmpty()) {
+                        throw new IllegalStateException("The server has no employees to load test with");
+                    }
+                    return loaded;
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Listing employees failed with status=" + response.statusCode());
+                }
+            } catch (IOException e) {
+                if (System.nanoTime() > deadline) {
+                    throw new UncheckedIOException("Listing employees failed", e);
+                }
+            }
+            Thread.sleep(500);
+        }
+    }
+
+    private void send(Operation operation, long intendedNanos, EndpointStats endpointStats) {
+        if (!outstanding.tryAcquire()) {
+            if (endpointStats != null) {
+                endpointStats.recordDropped();
+            }
+            return;
+        }
+        HttpRequest request;
+        try {
+            request = request(operation);
+        } catch (RuntimeException e) {
+            outstanding.release();
+            throw e;
+        }
+        httpClient
+                .sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    try {
+                        long latencyNanos = System.nanoTime() - intendedNanos;
+                        if (failure == null) {
+                            if (endpointStats != null) {
+                                endpointStats.recordResponse(response.statusCode(), latencyNanos);
+                            }
+                            if (operation == Operation.CREATE && response.statusCode() == 200) {
+                                rememberCreated(response.body());
+                            }
+                        } else if (endpointStats != null) {
+                            Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                            if (cause instanceof HttpTimeoutException) {
+                                endpointStats.recordTimeout(latencyNanos);
+                            } else {
+                                endpointStats.recordTransportError(latencyNanos);
+                            }
+                        }
+                    } finally {
+                        outstanding.release();
+                    }
+                });
+    }
+
+    private HttpRequest request(Operation operation) {
+        return switch (operation) {
+            case READ -> newRequest("/" + randomEmployee().getId()).GET().build();
+            case SEARCH -> newRequest("/search/" + URLEncoder.encode(searchFragment(), StandardCharsets.UTF_8))
+                    .GET()
+                    .build();
+            case LIST -> newRequest("").GET().build();
+            case HIGHEST_SALARY -> newRequest("/highestSalary").GET().build();
+            case TOP_EARNERS -> newRequest("/topTenHighestEarningEmployeeNames").GET().build();
+            case CREATE -> newRequest("")
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody()))
+                    .build();
+            case DELETE -> newRequest("/" + idToDelete()).DELETE().build();
+        };
+    }
+
+    private HttpRequest.Builder newRequest(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(properties.getRequestTimeout());
+    }
+
+    private Employee randomEmployee() {
+        return employees.get(random.nextInt(employees.size()));
+    }
+
+    /** A few consecutive letters of a random employee's name, without spaces so they fit in a path segment. */
+    private String searchFragment() {
+        String name = randomEmployee().getEmployeeName();
+        List<String> words = new ArrayList<>(List.of(name.split("\\s+")));
+        Collections.shuffle(words, random);
+        for (String word : words) {
+            if (word.length() >= SEARCH_FRAGMENT_LENGTH) {
+                int offset = random.nextInt(word.length() - SEARCH_FRAGMENT_LENGTH + 1);
+                return word.substring(offset, offset + SEARCH_FRAGMENT_LENGTH);
+            }
+        }
+        return words.get(0);
+    }
+
+    private String createBody() {
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName("Load Test " + ++created);
+        input.setSalary(30_000 + random.nextInt(270_000));
+        input.setAge(18 + random.nextInt(58));
+        input.setTitle("Load Tester");
+        try {
+            return objectMapper.writeValueAsString(input);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Employees this run created go first, so the dataset keeps its size; otherwise a seeded one is removed. */
+    private String idToDelete() {
+        String id = createdIds.poll();
+        return id != null ? id : randomEmployee().getId();
+    }
+
+    private void rememberCreated(String body) {
+        try {
+            String id = objectMapper.readValue(body, Employee.class).getId();
+            if (id != null) {
+                createdIds.add(id);
+            }
+        } catch (JsonProcessingException e) {
+            log.debug("Could not read the created employee", e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Throughput, latency percentiles and failure rates per endpoint and overall. Written as a table to the console, a
+ * JSON summary, and one HdrHistogram percentile distribution per endpoint that can be plotted or compared across runs.
+ */
+public class LoadReport {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+    private static final String ALL = "ALL";
+
+    private final Map<String, Row> rows = new LinkedHashMap<>();
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+
+    public LoadReport(Map<Operation, EndpointStats> stats, Duration duration) {
+        double seconds = duration.toNanos() / 1e9;
+        Histogram overall = new Histogram(3);
+        Counts total = new Counts(0, 0, 0, 0, 0, 0);
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            Histogram latencies = entry.getValue().latencies();
+            Counts counts = Counts.of(entry.getValue());
+            overall.add(latencies);
+            total = total.plus(counts);
+            histograms.put(entry.getKey().name(), latencies);
+            rows.put(entry.getKey().name(), row(entry.getKey().endpoint(), latencies, counts, seconds));
+        }
+        histograms.put(ALL, overall);
+        rows.put(ALL, row("all endpoints", overall, total, seconds));
+    }
+
+    /** Prints one line per endpoint and a total line. */
+    public void print(PrintStream out) {
+        out.printf(
+                Locale.ROOT,
+                "%-42s %9s %9s %9s %9s %9s %9s %9s %7s %7s %7s%n",
+                "endpoint",
+                "requests",
+                "ok/s",
+                "p50 ms",
+                "p90 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "max ms",
+                "429 %",
+                "502 %",
+                "fail %");
+        for (Row row : rows.values()) {
+            out.printf(
+                    Locale.ROOT,
+                    "%-42s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7.2f %7.2f %7.2f%n",
+                    row.endpoint(),
+                    row.requests(),
+                    row.throughput(),
+                    row.p50Millis(),
+                    row.p90Millis(),
+                    row.p99Millis(),
+                    row.p999Millis(),
+                    row.maxMillis(),
+                    row.tooManyRequestsRate() * 100,
+                    row.badGatewayRate() * 100,
+                    row.failureRate() * 100);
+        }
+    }
+
+    /** Writes {@code summary.json} and an {@code .hgrm} percentile distribution per endpoint into {@code directory}. */
+    public void write(Path directory, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(directory);
+        objectMapper
+                .copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("summary.json").toFile(), rows);
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(directory.resolve(entry.getKey().toLowerCase(Locale.ROOT) + ".hgrm")))) {
+                entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    /**
+     * Checks the run against the gate.
+     *
+     * @return a description of every violated threshold; empty when the run passes
+     */
+    public List<String> violations(LoadTestProperties.Gate gate) {
+        List<String> violations = new ArrayList<>();
+        for (Row row : rows.values()) {
+            if (gate.getMaxP99() != null && row.p99Millis() > gate.getMaxP99().toMillis()) {
+                violations.add(String.format(
+                        Locale.ROOT,
+                        "%s: p99 of %.2f ms exceeds %d ms",
+                        row.endpoint(),
+                        row.p99Millis(),
+                        gate.getMaxP99().toMillis()));
+            }
+        }
+        Row all = rows.get(ALL);
+        if (gate.getMaxFailureRate() != null && all.failureRate() > gate.getMaxFailureRate()) {
+            violations.add(String.format(
+                    Locale.ROOT,
+                    "failure rate of %.4f exceeds %.4f",
+                    all.failureRate(),
+                    gate.getMaxFailureRate()));
+        }
+        return violations;
+    }
+
+    private static Row row(String endpoint, Histogram latencies, Counts counts, double seconds) {
+        return new Row(
+                endpoint,
+                counts.attempted(),
+                counts.dropped(),
+                counts.successes() / seconds,
+                millis(latencies, 50.0),
+                millis(latencies, 90.0),
+                millis(latencies, 99.0),
+                millis(latencies, 99.9),
+                latencies.getMaxValue() / MICROS_PER_MILLI,
+                rate(counts.tooManyRequests(), counts.attempted()),
+                rate(counts.badGateway(), counts.attempted()),
+                rate(counts.failures(), counts.attempted()));
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static double rate(long count, long requests) {
+        return requests == 0 ? 0.0 : (double) count / requests;
+    }
+
+    /** One endpoint's results; rates are fractions of all attempted requests, dropped arrivals included. */
+    public record Row(
+            String endpoint,
+            long requests,
+            long dropped,
+            double throughput,
+            double p50Millis,
+            double p90Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis,
+            double tooManyRequestsRate,
+            double badGatewayRate,
+            double failureRate) {}
+
+    private record Counts(
+            long attempted, long successes, long tooManyRequests, long badGateway, long failures, long dropped) {
+
+        static Counts of(EndpointStats stats) {
+            return new Counts(
+                    stats.attempted(),
+                    stats.successes(),
+                    stats.tooManyRequests(),
+                    stats.badGateway(),
+                    stats.failures(),
+                    stats.dropped());
+        }
+
+        Counts plus(Counts other) {
+            return new Counts(
+                    attempted + other.attempted,
+                    successes + other.successes,
+                    tooManyRequests + other.tooManyRequests,
+                    badGateway + other.badGateway,
+                    failures + other.failures,
+                    dropped + other.dropped);
+        }
+    }
+}
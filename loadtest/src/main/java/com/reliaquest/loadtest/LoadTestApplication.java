@@ -0,0 +1,76 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+/**
+ * Boots the Server and API modules on ephemeral localhost ports in one JVM, points the API at the server, drives
+ * traffic against the API and reports per endpoint. Arguments go to all three: {@code --loadtest.*} configures the
+ * traffic (see {@link LoadTestProperties}), {@code --mock.*} the server and {@code --employee.api.*} the API.
+ *
+ * <p>Exits with status 1 when the run violates a configured {@link LoadTestProperties.Gate}.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    private static final String EMPLOYEE_PATH = "/api/v1/employee";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestProperties properties = new Binder(
+                        ConfigurationPropertySources.from(new SimpleCommandLinePropertySource(args)))
+                .bindOrCreate("loadtest", Bindable.of(LoadTestProperties.class));
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        List<String> violations;
+        try (ConfigurableApplicationContext server = start(ServerApplication.class, "loadtest-server", args);
+                ConfigurableApplicationContext api = start(
+                        ApiApplication.class,
+                        "loadtest-api",
+                        args,
+                        "employee.api.base-url=http://localhost:" + port(server) + EMPLOYEE_PATH)) {
+            String baseUrl = "http://localhost:" + port(api) + EMPLOYEE_PATH;
+            log.info(
+                    "Sending {} requests/s to {} for {} after a {} warmup",
+                    properties.getRate(),
+                    baseUrl,
+                    properties.getDuration(),
+                    properties.getWarmup());
+
+            Map<Operation, EndpointStats> stats = new LoadGenerator(properties, baseUrl, objectMapper).run();
+            LoadReport report = new LoadReport(stats, properties.getDuration());
+            report.print(System.out);
+            report.write(properties.getResultsDirectory(), objectMapper);
+            log.info("Results written to {}", properties.getResultsDirectory().toAbsolutePath());
+            violations = report.violations(properties.getGate());
+        }
+        violations.forEach(violation -> log.error("Gate failed: {}", violation));
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Each module is configured from its own {@code spring.config.name}, since both ship an {@code application.yml}
+     * and only one of them would be found on the shared classpath.
+     */
+    private static ConfigurableApplicationContext start(
+            Class<?> application, String configName, String[] args, String... properties) {
+        return new SpringApplicationBuilder(application)
+                .properties("spring.config.name=" + configName)
+                .properties(properties)
+                .run(args);
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Data;
+
+@Data
+public class LoadTestProperties {
+
+    /** Requests started per second, whether or not earlier ones have completed. */
+    private double rate = 200.0;
+
+    private Arrivals arrivals = Arrivals.POISSON;
+    /** Traffic sent before measuring, while caches fill and the JIT settles; not part of the report. */
+    private Duration warmup = Duration.ofSeconds(10);
+    /** Measured traffic after the warmup. */
+    private Duration duration = Duration.ofSeconds(60);
+    /** Seed for arrival times, the operation mix and request contents. */
+    private long seed = 42L;
+    /** Relative weight of each operation in the traffic mix; a weight of 0 leaves the operation out. */
+    private Map<Operation, Integer> mix = defaultMix();
+    /** A request still unanswered after this long is counted as a timeout. */
+    private Duration requestTimeout = Duration.ofSeconds(10);
+    /** Requests allowed in flight at once; arrivals beyond it are counted as dropped instead of being sent. */
+    private int maxOutstanding = 10_000;
+    /** Directory the summary and per-endpoint histograms are written to. */
+    private Path resultsDirectory = Path.of("build", "results", "loadtest");
+
+    private Gate gate = new Gate();
+
+    public enum Arrivals {
+        /** Exponentially distributed gaps, as from many independent clients. */
+        POISSON,
+        /** Evenly spaced arrivals. */
+        UNIFORM
+    }
+
+    @Data
+    public static class Gate {
+
+        /** Fail the run when any endpoint's 99th percentile latency exceeds this; unset disables the check. */
+        private Duration maxP99;
+        /** Fail the run when more than this fraction of requests got a 429, a 5xx or no response at all. */
+        private Double maxFailureRate;
+    }
+
+    private static Map<Operation, Integer> defaultMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        mix.put(Operation.READ, 50);
+        mix.put(Operation.SEARCH, 20);
+        mix.put(Operation.LIST, 5);
+        mix.put(Operation.HIGHEST_SALARY, 5);
+        mix.put(Operation.TOP_EARNERS, 5);
+        mix.put(Operation.CREATE, 10);
+        mix.put(Operation.DELETE, 5);
+        return mix;
+    }
+}
@@ -0,0 +1,22 @@
+package com.reliaquest.loadtest;
+
+/** The API module endpoints the load test exercises, each reported separately. */
+public enum Operation {
+    READ("GET /{id}"),
+    SEARCH("GET /search/{searchString}"),
+    LIST("GET /"),
+    HIGHEST_SALARY("GET /highestSalary"),
+    TOP_EARNERS("GET /topTenHighestEarningEmployeeNames"),
+    CREATE("POST /"),
+    DELETE("DELETE /{id}");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+}
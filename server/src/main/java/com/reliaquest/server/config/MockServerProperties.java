@@ -0,0 +1,109 @@
+package com.reliaquest.server.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "mock")
+public class MockServerProperties {
+
+    private Employees employees = new Employees();
+    private Persistence persistence = new Persistence();
+    private RateLimit rateLimit = new RateLimit();
+    private Changes changes = new Changes();
+
+    public enum Generation {
+        /** One employee at a time through Datafaker's object transformer, logging each; fine for small datasets. */
+        REFLECTIVE,
+        /** Chunks generated in parallel with a Faker per thread and no reflection; meant for very large datasets. */
+        BULK
+    }
+
+    public enum FsyncPolicy {
+        /** Every acknowledged mutation has been forced to disk; concurrent writers share one fsync. */
+        ALWAYS,
+        /** Mutations are written before they are acknowledged and forced at most {@code fsyncInterval} later. */
+        INTERVAL,
+        /** Mutations are written before they are acknowledged; flushing is left to the operating system. */
+        NEVER
+    }
+
+    public enum RateLimitAlgorithm {
+        /** Bursts up to {@code requestLimit}, then one request every {@code period / requestLimit}. */
+        TOKEN_BUCKET,
+        /** At most {@code requestLimit} requests in any {@code period}, estimated from two fixed windows. */
+        SLIDING_WINDOW,
+        NONE
+    }
+
+    public enum ClientKey {
+        /** One limit shared by every client. */
+        GLOBAL,
+        /** One limit per remote address. */
+        IP,
+        /** One limit per value of {@code keyHeader}, falling back to the remote address without it. */
+        HEADER
+    }
+
+    @Data
+    public static class Employees {
+
+        /** Number of employees generated at startup. */
+        private int max = 20;
+
+        private Generation generation = Generation.REFLECTIVE;
+        /** Seed for the generated data and the shared Faker; unset gives different data on every start. */
+        private Long seed;
+        /** Locale of the generated data; unset means the JVM default, or {@code en-US} once a seed is set. */
+        private Locale locale;
+        /** Threads used by {@link Generation#BULK}. */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    @Data
+    public static class Persistence {
+
+        /** Keep employees in a write-ahead log plus snapshots instead of regenerating them on every start. */
+        private boolean enabled = false;
+        /** Directory holding the log segments and snapshots; created if missing. */
+        private Path directory = Path.of("data");
+
+        private FsyncPolicy fsync = FsyncPolicy.ALWAYS;
+        /** Under {@link FsyncPolicy#ALWAYS}, how long the log writer lingers to gather more records into one fsync. */
+        private Duration groupCommitWindow = Duration.ofMillis(2);
+        /** Upper bound on how long a written record stays unforced under {@link FsyncPolicy#INTERVAL}. */
+        private Duration fsyncInterval = Duration.ofSeconds(1);
+        /** Log records after which a compacted snapshot is taken; 0 disables the record trigger. */
+        private long snapshotEveryRecords = 100_000;
+        /** How often to check whether a snapshot is due. */
+        private Duration snapshotInterval = Duration.ofMinutes(1);
+        /** Take a final snapshot on shutdown so the next start has no log to replay. */
+        private boolean snapshotOnShutdown = true;
+    }
+
+    @Data
+    public static class RateLimit {
+
+        private RateLimitAlgorithm algorithm = RateLimitAlgorithm.TOKEN_BUCKET;
+        /** Requests a client may make per {@code period}; unset picks 5 to 9 at random. */
+        private Integer requestLimit;
+        /** Time over which {@code requestLimit} applies; unset picks 30 to 89 seconds at random. */
+        private Duration period;
+
+        private ClientKey clientKey = ClientKey.GLOBAL;
+        /** Header identifying the client for {@link ClientKey#HEADER}. */
+        private String keyHeader = "X-Client-Id";
+        /** Client keys tracked before idle ones are evicted. */
+        private int maxKeys = 100_000;
+    }
+
+    @Data
+    public static class Changes {
+
+        /** Most recent mutations kept for {@code /changes}; callers further behind have to reload the listing. */
+        private int retention = 100_000;
+    }
+}
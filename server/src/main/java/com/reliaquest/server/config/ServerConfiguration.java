@@ -1,43 +1,97 @@
 package com.reliaquest.server.config;
 
+import com.reliaquest.metrics.RequestMetricsAdvice;
+import com.reliaquest.metrics.RequestMetricsFilter;
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.persistence.MockEmployeePersistence;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeeStore;
+import com.reliaquest.server.web.RateLimitInterceptor;
+import com.reliaquest.server.web.RateLimiter;
+import com.reliaquest.server.web.SlidingWindowRateLimiter;
+import com.reliaquest.server.web.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import net.datafaker.transformations.Field;
 import net.datafaker.transformations.JavaObjectTransformer;
 import net.datafaker.transformations.Schema;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(MockServerProperties.class)
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private final MockServerProperties properties;
+
     @Bean
     public Faker faker() {
-        return new Faker(Locale.getDefault());
+        final Long seed = properties.getEmployees().getSeed();
+        return seed == null ? new Faker(generatorLocale()) : new Faker(generatorLocale(), new Random(seed));
+    }
+
+    /*
+     * Names, titles and emails come from locale-specific data, so a seed alone would still give different employees
+     * on hosts with different default locales.
+     */
+    private Locale generatorLocale() {
+        final var settings = properties.getEmployees();
+        if (settings.getLocale() != null) {
+            return settings.getLocale();
+        }
+        return settings.getSeed() == null ? Locale.getDefault() : Locale.US;
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Seed data only; CRUD operations go through MockEmployeeStore. Lazy so a persisted store skips generating it.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    @Lazy
+    public List<MockEmployee> mockEmployees(Faker faker) {
+        final var settings = properties.getEmployees();
+        final int maxEmployees = settings.getMax();
+        if (settings.getGeneration() == MockServerProperties.Generation.BULK) {
+            final long seed = settings.getSeed() != null ? settings.getSeed() : ThreadLocalRandom.current().nextLong();
+            return new MockEmployeeGenerator(generatorLocale(), settings.getParallelism())
+                    .generate(maxEmployees, seed);
+        }
+        final Supplier<UUID> ids = settings.getSeed() == null
+                ? UUID::randomUUID
+                : () -> MockEmployeeGenerator.uuid(faker.random().nextLong(), faker.random().nextLong());
+        final Locale locale = generatorLocale();
         final var transformer = new JavaObjectTransformer();
         final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
+                Field.field("id", ids),
                 Field.field("name", () -> faker.name().fullName()),
                 Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
                 Field.field("age", () -> faker.number().numberBetween(16, 70)),
@@ -45,15 +99,90 @@ public class ServerConfiguration implements WebMvcConfigurer {
                 Field.field(
                         "email",
                         () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
+                                faker.twitter().userName().toLowerCase(locale))));
         return IntStream.rangeClosed(1, maxEmployees)
                 .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
                 .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "mock.persistence", name = "enabled", havingValue = "true")
+    public MockEmployeePersistence mockEmployeePersistence(MockServerProperties properties) {
+        return new MockEmployeePersistence(properties.getPersistence());
+    }
+
+    @Bean
+    public MockEmployeeStore mockEmployeeStore(
+            ObjectProvider<List<MockEmployee>> mockEmployees, ObjectProvider<MockEmployeePersistence> persistence)
+            throws IOException {
+        MockEmployeePersistence engine = persistence.getIfAvailable();
+        MockEmployeeStore store = engine == null
+                ? new MockEmployeeStore(mockEmployees.getObject())
+                : engine.open(mockEmployees::getObject);
+        store.startChangeFeed(properties.getChanges().getRetention());
+        return store;
+    }
+
+    /*
+     * First in the chain, so that request latency includes every other filter.
+     */
+    @Bean
+    public FilterRegistrationBean<RequestMetricsFilter> requestMetricsFilter(MeterRegistry meterRegistry) {
+        final var registration = new FilterRegistrationBean<>(new RequestMetricsFilter(meterRegistry, "mock.employee"));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public RequestMetricsAdvice requestMetricsAdvice() {
+        return new RequestMetricsAdvice(body -> body instanceof Response<?> wrapped ? results(wrapped.data()) : null);
+    }
+
+    /*
+     * The employees, changes or batch results in a response.
+     */
+    static Integer results(Object data) {
+        if (data instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (data instanceof MockEmployeePage page) {
+            return page.employees().size();
+        }
+        if (data instanceof MockEmployeeChanges changes) {
+            return changes.changes().size();
+        }
+        if (data instanceof MockEmployee) {
+            return 1;
+        }
+        return null;
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        final var settings = properties.getRateLimit();
+        if (settings.getAlgorithm() == MockServerProperties.RateLimitAlgorithm.NONE) {
+            log.info("Rate limiting disabled");
+            return;
+        }
+        final int requestLimit = settings.getRequestLimit() != null
+                ? settings.getRequestLimit()
+                : RandomGenerator.getDefault().nextInt(5, 10);
+        final Duration period = settings.getPeriod() != null
+                ? settings.getPeriod()
+                : Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+        final RateLimiter rateLimiter =
+                switch (settings.getAlgorithm()) {
+                    case SLIDING_WINDOW -> new SlidingWindowRateLimiter(requestLimit, period, settings.getMaxKeys());
+                    default -> new TokenBucketRateLimiter(requestLimit, period, settings.getMaxKeys());
+                };
+        log.info(
+                "Rate limiting with {} at {} requests per {}, keyed by {}",
+                settings.getAlgorithm(),
+                requestLimit,
+                period,
+                settings.getClientKey());
+        registry.addInterceptor(
+                new RateLimitInterceptor(rateLimiter, settings.getClientKey(), settings.getKeyHeader()));
     }
 }
@@ -2,9 +2,13 @@ package com.reliaquest.server.controller;
 
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockBatchResult;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -17,20 +21,49 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    /** Version of the listing a response was read at, to be passed as {@code since} to {@code /changes}. */
+    public static final String VERSION_HEADER = "X-Employee-Version";
+
     private final MockEmployeeService mockEmployeeService;
 
+    /** Answers {@code If-None-Match} with 304 while the listing is unchanged, without reading it. */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
+    public Response<List<MockEmployee>> getEmployees(WebRequest request, HttpServletResponse response) {
+        final var version = mockEmployeeService.getVersion();
+        if (request.checkNotModified("\"" + version + "\"")) {
+            return null;
+        }
+        response.setHeader(VERSION_HEADER, version);
         return Response.handledWith(mockEmployeeService.getMockEmployees());
     }
 
+    /** The first page carries the version header; later pages may include changes made since, which is harmless. */
+    @GetMapping(params = "limit")
+    public Response<MockEmployeePage> getEmployeePage(
+            @RequestParam("limit") int limit,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            HttpServletResponse response) {
+        if (cursor == null) {
+            response.setHeader(VERSION_HEADER, mockEmployeeService.getVersion());
+        }
+        return Response.handledWith(mockEmployeeService.getMockEmployeePage(cursor, limit));
+    }
+
+    @GetMapping("/changes")
+    public Response<MockEmployeeChanges> getEmployeeChanges(
+            @RequestParam("since") String since, @RequestParam(name = "limit", defaultValue = "10000") int limit) {
+        return Response.handledWith(mockEmployeeService.getMockEmployeeChanges(since, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
         return mockEmployeeService
@@ -48,4 +81,17 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /** Items are validated one by one, so one bad item fails on its own instead of rejecting the batch. */
+    @PostMapping("/batch")
+    public Response<List<MockBatchResult<MockEmployee>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        return Response.handledWith(mockEmployeeService.createAll(inputs));
+    }
+
+    @DeleteMapping("/batch")
+    public Response<List<MockBatchResult<Boolean>>> deleteEmployees(
+            @RequestBody List<DeleteMockEmployeeInput> inputs) {
+        return Response.handledWith(mockEmployeeService.deleteAll(inputs));
+    }
 }
@@ -0,0 +1,23 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch request. Items succeed or fail on their own, so a batch answered with 200 may still
+ * contain failures.
+ *
+ * @param status HTTP status the item would have got as a single request
+ * @param data what the single request would have returned, if it succeeded
+ * @param error why the item failed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockBatchResult<T>(int status, T data, String error) {
+
+    public static <T> MockBatchResult<T> ok(T data) {
+        return new MockBatchResult<>(200, data, null);
+    }
+
+    public static <T> MockBatchResult<T> failed(int status, T data, String error) {
+        return new MockBatchResult<>(status, data, error);
+    }
+}
@@ -0,0 +1,26 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+/**
+ * One entry of the change feed.
+ *
+ * @param employee the employee as added, absent for a delete
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeeChange(Type type, UUID id, MockEmployee employee) {
+
+    public enum Type {
+        PUT,
+        DELETE
+    }
+
+    public static MockEmployeeChange put(MockEmployee employee) {
+        return new MockEmployeeChange(Type.PUT, employee.getId(), employee);
+    }
+
+    public static MockEmployeeChange delete(UUID id) {
+        return new MockEmployeeChange(Type.DELETE, id, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * Changes to the employee listing since a given version.
+ *
+ * @param version version the listing is at once {@code changes} are applied; pass it as {@code since} next time
+ * @param reset whether the changes could not be served and the caller has to read the whole listing again
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeeChanges(List<MockEmployeeChange> changes, String version, boolean reset) {
+
+    public static MockEmployeeChanges resetRequired() {
+        return new MockEmployeeChanges(List.of(), null, true);
+    }
+}
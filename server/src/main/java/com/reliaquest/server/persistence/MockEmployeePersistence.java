@@ -0,0 +1,201 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.config.MockServerProperties;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps {@link MockEmployeeStore} on disk as a {@link WriteAheadLog} of puts and deletes plus periodic
+ * {@link SnapshotFile snapshots}.
+ *
+ * <p>Snapshots are fuzzy: the snapshot LSN is read first and the store is scanned afterwards, while writes carry on.
+ * The store journals each mutation just before applying it, so the LSN is read while no mutation is in between
+ * ({@link MockEmployeeStore#quiesced}); every record up to it is then already in the scan. Later records may or may
+ * not be, and replaying them on top is harmless because a put or delete by id is idempotent. Log segments and
+ * snapshots the new snapshot covers are deleted once it is on disk.
+ *
+ * <p>Appending a record is the commit point: the store applies a mutation only after its record is queued, so a
+ * mutation whose append throws is neither visible nor logged. Queued records reach disk on the writer thread. Once a
+ * write fails the log is unavailable for good: every later append throws, leaving the store read-only until a restart
+ * recovers what reached disk, and {@link #sync()} throws for mutations that were applied but never written, so callers
+ * waiting for durability learn that a restart may lose them.
+ */
+@Slf4j
+public class MockEmployeePersistence implements MockEmployeeStore.Journal, Closeable {
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    private final MockServerProperties.Persistence settings;
+    private final Path directory;
+    private final LongAdder recordsSinceSnapshot = new LongAdder();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    private MockEmployeeStore store;
+    private WriteAheadLog wal;
+    private ScheduledExecutorService snapshotScheduler;
+
+    public MockEmployeePersistence(MockServerProperties.Persistence settings) {
+        this.settings = settings;
+        this.directory = settings.getDirectory().toAbsolutePath();
+    }
+
+    /**
+     * Rebuilds the store from the latest snapshot and the log after it. When the directory holds neither, the store
+     * is filled from {@code seed} and snapshotted, so the seed is only generated once.
+     */
+    public MockEmployeeStore open(Supplier<? extends Collection<MockEmployee>> seed) throws IOException {
+        Files.createDirectories(directory);
+        long started = System.nanoTime();
+        Optional<SnapshotFile.Snapshot> snapshot = SnapshotFile.readLatest(directory);
+        long snapshotLsn = snapshot.map(SnapshotFile.Snapshot::lsn).orElse(0L);
+        Map<UUID, MockEmployee> employees = new LinkedHashMap<>();
+        snapshot.ifPresent(image -> image.employees().forEach(employee -> employees.put(employee.getId(), employee)));
+        WriteAheadLog.Replay replay = WriteAheadLog.replay(directory, snapshotLsn, (lsn, type, payload) -> {
+            switch (type) {
+                case PUT -> {
+                    MockEmployee employee = MockEmployeeCodec.readEmployee(payload);
+                    employees.put(employee.getId(), employee);
+                }
+                case DELETE -> employees.remove(MockEmployeeCodec.readId(payload));
+                default -> throw new IOException("Unknown record type " + type + " at lsn " + lsn);
+            }
+        });
+
+        if (snapshot.isEmpty() && replay.records() == 0) {
+            store = new MockEmployeeStore(seed.get());
+            SnapshotFile.write(directory, replay.lastLsn(), store.findAll());
+            log.info("Seeded {} employees into {}", store.size(), directory);
+        } else {
+            store = new MockEmployeeStore(employees.values());
+            log.info(
+                    "Recovered {} employees from {} (snapshot at lsn {}, {} log records replayed) in {}ms",
+                    store.size(),
+                    directory,
+                    snapshotLsn,
+                    replay.records(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+        recordsSinceSnapshot.add(replay.records());
+
+        wal = new WriteAheadLog(directory, replay.lastLsn(), settings);
+        store.attach(this);
+        long intervalMillis = Math.max(1, settings.getSnapshotInterval().toMillis());
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mock-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(
+                this::snapshotIfDue, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        return store;
+    }
+
+    @Override
+    public void put(MockEmployee employee) {
+        append(PUT, out -> MockEmployeeCodec.writeEmployee(out, employee));
+    }
+
+    @Override
+    public void delete(MockEmployee employee) {
+        append(DELETE, out -> MockEmployeeCodec.writeId(out, employee.getId()));
+    }
+
+    @Override
+    public void sync() {
+        wal.sync();
+    }
+
+    /** Writes a compacted snapshot of the store and drops the log segments and snapshots it supersedes. */
+    public void snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            long started = System.nanoTime();
+            long records = recordsSinceSnapshot.sumThenReset();
+            long lsn = store.quiesced(wal::lastAppendedLsn);
+            wal.requestRotation();
+            Collection<MockEmployee> employees = store.findAll();
+            try {
+                SnapshotFile.write(directory, lsn, employees);
+            } catch (IOException ex) {
+                recordsSinceSnapshot.add(records);
+                throw ex;
+            }
+            SnapshotFile.deleteBefore(directory, lsn);
+            WriteAheadLog.deleteSegmentsCoveredBy(directory, lsn);
+            log.info(
+                    "Snapshot of {} employees at lsn {} written in {}ms, compacting {} log records",
+                    employees.size(),
+                    lsn,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                    records);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+        if (wal == null) {
+            return;
+        }
+        try {
+            if (settings.isSnapshotOnShutdown() && recordsSinceSnapshot.sum() > 0) {
+                snapshot();
+            }
+        } finally {
+            wal.close();
+        }
+    }
+
+    private void snapshotIfDue() {
+        long threshold = settings.getSnapshotEveryRecords();
+        if (threshold <= 0 || recordsSinceSnapshot.sum() < threshold) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Employee snapshot failed; the log keeps growing until the next attempt", ex);
+        }
+    }
+
+    private void append(byte type, RecordWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try {
+            writer.write(new DataOutputStream(bytes));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        wal.append(type, bytes.toByteArray());
+        recordsSinceSnapshot.increment();
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,155 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compacted image of every employee as of one log sequence number, written to a temporary file, forced and renamed
+ * into place so a reader only ever sees complete snapshots. A trailing CRC32 guards the whole file.
+ */
+@Slf4j
+final class SnapshotFile {
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final int MAGIC = 0x4D454D53;
+    private static final int VERSION = 1;
+
+    /**
+     * A snapshot read back from disk.
+     *
+     * @param lsn every log record up to and including this LSN is reflected in {@code employees}
+     */
+    record Snapshot(long lsn, List<MockEmployee> employees) {}
+
+    private SnapshotFile() {}
+
+    static void write(Path directory, long lsn, Collection<MockEmployee> employees) throws IOException {
+        Path target = directory.resolve(name(lsn));
+        Path temporary = directory.resolve(name(lsn) + TEMPORARY_SUFFIX);
+        try (FileChannel channel = FileChannel.open(
+                temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32 crc = new CRC32();
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), crc), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(lsn);
+            out.writeInt(employees.size());
+            for (MockEmployee employee : employees) {
+                MockEmployeeCodec.writeEmployee(out, employee);
+            }
+            out.flush();
+            ByteBuffer trailer = ByteBuffer.allocate(Long.BYTES).putLong(crc.getValue()).flip();
+            while (trailer.hasRemaining()) {
+                channel.write(trailer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        WriteAheadLog.forceDirectory(directory);
+    }
+
+    /**
+     * Reads the newest snapshot that passes its checksum.
+     *
+     * @throws IllegalStateException if snapshots exist but none of them is readable; starting from the log alone
+     *     would silently lose the employees compacted away
+     */
+    static Optional<Snapshot> readLatest(Path directory) throws IOException {
+        List<Path> candidates = list(directory);
+        for (int i = candidates.size() - 1; i >= 0; i--) {
+            Path path = candidates.get(i);
+            try {
+                return Optional.of(read(path));
+            } catch (IOException ex) {
+                log.warn("Skipping unreadable snapshot {}", path, ex);
+            }
+        }
+        if (!candidates.isEmpty()) {
+            throw new IllegalStateException("No readable snapshot in " + directory);
+        }
+        return Optional.empty();
+    }
+
+    /** Deletes snapshots older than {@code lsn} and temporary files left by an interrupted write. */
+    static void deleteBefore(Path directory, long lsn) throws IOException {
+        for (Path path : list(directory)) {
+            if (lsnOf(path) < lsn) {
+                Files.deleteIfExists(path);
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                String name = path.getFileName().toString();
+                if (name.startsWith(PREFIX) && name.endsWith(SUFFIX + TEMPORARY_SUFFIX)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private static Snapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            CheckedInputStream checked = new CheckedInputStream(
+                    new BufferedInputStream(Channels.newInputStream(channel), 1 << 16), new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a version " + VERSION + " employee snapshot");
+            }
+            long lsn = in.readLong();
+            int count = in.readInt();
+            List<MockEmployee> employees = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                employees.add(MockEmployeeCodec.readEmployee(in));
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+            return new Snapshot(lsn, employees);
+        }
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(SnapshotFile::lsnOf))
+                    .toList();
+        }
+    }
+
+    private static long lsnOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static String name(long lsn) {
+        return "%s%020d%s".formatted(PREFIX, lsn, SUFFIX);
+    }
+}
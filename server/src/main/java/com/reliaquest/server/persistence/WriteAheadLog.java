@@ -0,0 +1,415 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.config.MockServerProperties;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of opaque, typed records, each stamped with a log sequence number (LSN).
+ *
+ * <p>Appends only copy the record into an in-memory batch; a single writer thread writes whole batches and forces
+ * them according to the {@link MockServerProperties.FsyncPolicy}, so any number of concurrent writers share one
+ * {@code write} and one {@code fsync} (group commit). {@link #sync()} blocks until everything appended so far is as
+ * durable as the policy promises.
+ *
+ * <p>The log is split into segment files named after the first LSN they hold. A record is framed as
+ * {@code [length][crc32][lsn][type][payload]}; replay stops at the first torn or corrupt frame of a segment and cuts
+ * the segment there, which is where a crash mid-write leaves it.
+ */
+@Slf4j
+final class WriteAheadLog implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int FRAME_HEADER_BYTES = Integer.BYTES * 2;
+    private static final int RECORD_HEADER_BYTES = Long.BYTES + 1;
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    @FunctionalInterface
+    interface RecordHandler {
+
+        void accept(long lsn, byte type, DataInput payload) throws IOException;
+    }
+
+    /**
+     * Outcome of {@link #replay}.
+     *
+     * @param lastLsn highest LSN found on disk, or the starting point if the log holds nothing newer
+     * @param records number of records handed to the handler
+     */
+    record Replay(long lastLsn, long records) {}
+
+    private record Segment(Path path, long firstLsn) {}
+
+    private record Batch(byte[] bytes, long firstLsn, long lastLsn, boolean rotate) {}
+
+    private final Path directory;
+    private final MockServerProperties.FsyncPolicy policy;
+    private final long groupCommitWindowNanos;
+    private final long fsyncIntervalNanos;
+    private final Thread writer;
+
+    /** Held only to hand batches between appenders and the writer, never across I/O. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition pendingAvailable = lock.newCondition();
+    private final Condition progressed = lock.newCondition();
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private long appendedLsn;
+    private long writtenLsn;
+    private long durableLsn;
+    private boolean rotationRequested;
+    private boolean closing;
+    private IOException failure;
+
+    /** Touched by the writer thread only. */
+    private FileChannel segment;
+
+    private long lastForceNanos = System.nanoTime();
+
+    WriteAheadLog(Path directory, long lastLsn, MockServerProperties.Persistence settings) {
+        this.directory = directory;
+        this.policy = settings.getFsync();
+        this.groupCommitWindowNanos = settings.getGroupCommitWindow().toNanos();
+        this.fsyncIntervalNanos = settings.getFsyncInterval().toNanos();
+        this.appendedLsn = lastLsn;
+        this.writtenLsn = lastLsn;
+        this.durableLsn = lastLsn;
+        this.writer = new Thread(this::writeLoop, "mock-wal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues one record for the next batch.
+     *
+     * @return the LSN assigned to the record
+     * @throws IllegalStateException if the log is closed
+     * @throws UncheckedIOException if the writer has failed; nothing is accepted after that
+     */
+    long append(byte type, byte[] payload) {
+        lock.lock();
+        try {
+            checkOpen();
+            long lsn = ++appendedLsn;
+            ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length)
+                    .putLong(lsn)
+                    .put(type)
+                    .put(payload);
+            CRC32 crc = new CRC32();
+            crc.update(record.array());
+            ByteBuffer frame = ByteBuffer.allocate(FRAME_HEADER_BYTES)
+                    .putInt(record.capacity())
+                    .putInt((int) crc.getValue());
+            pending.writeBytes(frame.array());
+            pending.writeBytes(record.array());
+            pendingAvailable.signal();
+            return lsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Blocks until every record appended before the call is forced ({@code ALWAYS}) or written (otherwise). */
+    void sync() {
+        lock.lock();
+        try {
+            long target = appendedLsn;
+            while ((policy == MockServerProperties.FsyncPolicy.ALWAYS ? durableLsn : writtenLsn) < target) {
+                checkFailure();
+                progressed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long lastAppendedLsn() {
+        lock.lock();
+        try {
+            return appendedLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Makes the writer start a new segment with its next batch, so older segments can be dropped after a snapshot. */
+    void requestRotation() {
+        lock.lock();
+        try {
+            rotationRequested = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Drains pending records, forces the current segment and stops the writer. */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closing = true;
+            pendingAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (segment != null) {
+            segment.force(false);
+            segment.close();
+        }
+        lock.lock();
+        try {
+            checkFailure();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands every record with an LSN above {@code afterLsn} to {@code handler}, in LSN order, truncating torn tails.
+     */
+    static Replay replay(Path directory, long afterLsn, RecordHandler handler) throws IOException {
+        long lastLsn = afterLsn;
+        long records = 0;
+        for (Segment candidate : segments(directory)) {
+            try (FileChannel channel =
+                    FileChannel.open(candidate.path(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                DataInputStream in = new DataInputStream(
+                        new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+                long validBytes = 0;
+                while (true) {
+                    byte[] record = readFrame(in, candidate.path(), validBytes);
+                    if (record == null) {
+                        break;
+                    }
+                    validBytes += FRAME_HEADER_BYTES + record.length;
+                    DataInputStream payload = new DataInputStream(new ByteArrayInputStream(record));
+                    long lsn = payload.readLong();
+                    byte type = payload.readByte();
+                    if (lsn > afterLsn) {
+                        handler.accept(lsn, type, payload);
+                        records++;
+                    }
+                    lastLsn = Math.max(lastLsn, lsn);
+                }
+                if (channel.size() > validBytes) {
+                    log.warn(
+                            "Truncating {} from {} to {} bytes after a torn or corrupt record",
+                            candidate.path(),
+                            channel.size(),
+                            validBytes);
+                    channel.truncate(validBytes);
+                    channel.force(true);
+                }
+            }
+        }
+        return new Replay(lastLsn, records);
+    }
+
+    /** Deletes segments holding only records at or below {@code lsn}; the newest segment is always kept. */
+    static void deleteSegmentsCoveredBy(Path directory, long lsn) throws IOException {
+        List<Segment> segments = segments(directory);
+        for (int i = 0; i < segments.size() - 1; i++) {
+            if (segments.get(i + 1).firstLsn() <= lsn + 1) {
+                Files.deleteIfExists(segments.get(i).path());
+            }
+        }
+    }
+
+    /** Forces a directory entry change (create, rename, delete) to disk where the platform allows it. */
+    static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            // not supported on every platform; file contents are forced regardless
+        }
+    }
+
+    private static byte[] readFrame(DataInputStream in, Path path, long offset) throws IOException {
+        try {
+            int length = in.readInt();
+            int crc = in.readInt();
+            if (length < RECORD_HEADER_BYTES || length > MAX_RECORD_BYTES) {
+                log.warn("Invalid record length {} in {} at offset {}", length, path, offset);
+                return null;
+            }
+            byte[] record = in.readNBytes(length);
+            if (record.length < length) {
+                return null;
+            }
+            CRC32 actual = new CRC32();
+            actual.update(record);
+            if ((int) actual.getValue() != crc) {
+                log.warn("Checksum mismatch in {} at offset {}", path, offset);
+                return null;
+            }
+            return record;
+        } catch (EOFException ex) {
+            return null;
+        }
+    }
+
+    private static List<Segment> segments(Path directory) throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    String lsn = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+                    segments.add(new Segment(path, Long.parseLong(lsn)));
+                }
+            });
+        }
+        segments.sort(Comparator.comparingLong(Segment::firstLsn));
+        return segments;
+    }
+
+    private void writeLoop() {
+        try {
+            Batch batch;
+            while ((batch = nextBatch()) != null) {
+                if (batch.bytes().length > 0) {
+                    write(batch);
+                }
+                long now = System.nanoTime();
+                boolean force = segment != null
+                        && switch (policy) {
+                            case ALWAYS -> batch.bytes().length > 0;
+                            case INTERVAL -> batch.lastLsn() > durableLsnSnapshot()
+                                    && now - lastForceNanos >= fsyncIntervalNanos;
+                            case NEVER -> false;
+                        };
+                if (force) {
+                    segment.force(false);
+                    lastForceNanos = now;
+                }
+                lock.lock();
+                try {
+                    writtenLsn = batch.lastLsn();
+                    if (force) {
+                        durableLsn = batch.lastLsn();
+                    }
+                    progressed.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (InterruptedException ex) {
+            fail(new IOException("Write-ahead log writer was interrupted", ex));
+        } catch (IOException ex) {
+            fail(ex);
+        } catch (Throwable ex) {
+            fail(new IOException("Write-ahead log writer failed", ex));
+        }
+    }
+
+    /** Stops accepting mutations and wakes every caller blocked in {@link #sync()}, so none of them waits forever. */
+    private void fail(IOException ex) {
+        log.error("Write-ahead log writer failed; further mutations will be rejected", ex);
+        lock.lock();
+        try {
+            failure = ex;
+            progressed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for records, then takes everything pending as one batch. Under {@code ALWAYS} it first lingers for the
+     * group commit window, since every batch costs an fsync; otherwise waiting would only add latency.
+     */
+    private Batch nextBatch() throws InterruptedException {
+        lock.lock();
+        try {
+            if (pending.size() == 0 && !closing) {
+                if (policy == MockServerProperties.FsyncPolicy.INTERVAL) {
+                    pendingAvailable.awaitNanos(fsyncIntervalNanos);
+                } else {
+                    pendingAvailable.await();
+                }
+            }
+            if (policy == MockServerProperties.FsyncPolicy.ALWAYS && pending.size() > 0 && !closing) {
+                long remaining = groupCommitWindowNanos;
+                while (remaining > 0 && !closing) {
+                    remaining = pendingAvailable.awaitNanos(remaining);
+                }
+            }
+            if (pending.size() == 0) {
+                return closing ? null : new Batch(new byte[0], writtenLsn + 1, writtenLsn, false);
+            }
+            Batch batch = new Batch(pending.toByteArray(), writtenLsn + 1, appendedLsn, rotationRequested);
+            pending = new ByteArrayOutputStream(Math.max(32, batch.bytes().length));
+            rotationRequested = false;
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(Batch batch) throws IOException {
+        if (segment == null || batch.rotate()) {
+            if (segment != null) {
+                segment.force(false);
+                segment.close();
+            }
+            Path path = directory.resolve("%s%020d%s".formatted(SEGMENT_PREFIX, batch.firstLsn(), SEGMENT_SUFFIX));
+            segment = FileChannel.open(
+                    path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            forceDirectory(directory);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(batch.bytes());
+        while (buffer.hasRemaining()) {
+            segment.write(buffer);
+        }
+    }
+
+    private long durableLsnSnapshot() {
+        lock.lock();
+        try {
+            return durableLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkOpen() {
+        checkFailure();
+        if (closing) {
+            throw new IllegalStateException("Write-ahead log is closed");
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new UncheckedIOException("Write-ahead log is unavailable", failure);
+        }
+    }
+}
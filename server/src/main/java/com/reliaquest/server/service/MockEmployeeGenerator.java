@@ -0,0 +1,113 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+/**
+ * Generates large employee datasets in parallel.
+ *
+ * <p>The range is cut into fixed-size chunks. Each worker thread owns one {@link Faker} over its own {@link Random},
+ * which is reseeded from the dataset seed and the chunk index before every chunk. A given seed therefore yields the
+ * same employees, ids included, whatever the thread count or scheduling. Chunks write straight into their slice of
+ * one array, so nothing is merged or copied afterwards.
+ */
+@Slf4j
+public class MockEmployeeGenerator {
+
+    private static final int CHUNK_SIZE = 4_096;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final Locale locale;
+    private final int parallelism;
+    private final ThreadLocal<SeededFaker> fakers;
+
+    public MockEmployeeGenerator(Locale locale, int parallelism) {
+        this.locale = locale;
+        this.parallelism = Math.max(1, parallelism);
+        this.fakers = ThreadLocal.withInitial(() -> {
+            Random random = new Random();
+            return new SeededFaker(random, new Faker(this.locale, random));
+        });
+    }
+
+    public List<MockEmployee> generate(int count, long seed) {
+        long started = System.nanoTime();
+        MockEmployee[] employees = new MockEmployee[Math.max(0, count)];
+        int chunks = (employees.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int threads = Math.max(1, Math.min(parallelism, chunks));
+        AtomicInteger threadIds = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "mock-employee-generator-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> pending = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int index = chunk;
+                pending.add(workers.submit(() -> fill(employees, index, seed)));
+            }
+            for (Future<?> future : pending) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating employees", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Employee generation failed", ex.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        long elapsedNanos = Math.max(1, System.nanoTime() - started);
+        log.info(
+                "Generated {} employees with seed {} in {}ms on {} threads ({} employees/s)",
+                employees.length,
+                seed,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                threads,
+                Math.round(employees.length * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos));
+        return new ArrayList<>(Arrays.asList(employees));
+    }
+
+    private void fill(MockEmployee[] employees, int chunk, long seed) {
+        SeededFaker seeded = fakers.get();
+        seeded.random().setSeed(seed + chunk * GOLDEN_GAMMA);
+        Faker faker = seeded.faker();
+        Random random = seeded.random();
+        int end = Math.min(employees.length, (chunk + 1) * CHUNK_SIZE);
+        for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+            employees[i] = new MockEmployee(
+                    uuid(random.nextLong(), random.nextLong()),
+                    faker.name().fullName(),
+                    30000 + random.nextInt(500000 - 30000),
+                    16 + random.nextInt(70 - 16),
+                    faker.job().title(),
+                    ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase(locale)));
+        }
+    }
+
+    /**
+     * A version 4 UUID built from two random longs instead of {@link UUID#randomUUID()}, so it can follow a seed.
+     */
+    public static UUID uuid(long mostSignificant, long leastSignificant) {
+        return new UUID(
+                (mostSignificant & ~0xF000L) | 0x4000L, (leastSignificant & ~(0xCL << 60)) | (0x8L << 60));
+    }
+
+    private record SeededFaker(Random random, Faker faker) {}
+}
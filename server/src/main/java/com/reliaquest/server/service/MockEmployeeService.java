@@ -3,12 +3,20 @@ package com.reliaquest.server.service;
 import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockBatchResult;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import jakarta.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,39 +28,195 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class MockEmployeeService {
 
+    public static final int MAX_PAGE_SIZE = 10_000;
+    public static final int MAX_BATCH_SIZE = 1_000;
+
     private final Faker faker;
+    private final Validator validator;
+
+    /** Distinguishes this process's listing versions and cursors from those of earlier runs over the same data. */
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final MockEmployeeStore mockEmployeeStore;
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.findAll();
+    }
+
+    /**
+     * Opaque version of the listing, unique to this process. Read it before {@link #getMockEmployees()}: the listing
+     * then reflects at least that version, a later change yields a different one, and
+     * {@link #getMockEmployeeChanges(String, int)} can bring the listing up to date from it.
+     */
+    public String getVersion() {
+        return instanceId + "-" + mockEmployeeStore.version();
+    }
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    /**
+     * Returns the changes made after version {@code since}, oldest first, or a reset if there are more than
+     * {@code limit} or they can no longer be served, including for a version issued by another process.
+     *
+     * @throws IllegalArgumentException if {@code limit} is out of range
+     */
+    public MockEmployeeChanges getMockEmployeeChanges(String since, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        final var sinceVersion = parseVersion(since);
+        final var changes = sinceVersion < 0 ? null : mockEmployeeStore.changesSince(sinceVersion, limit);
+        if (changes == null) {
+            return MockEmployeeChanges.resetRequired();
+        }
+        return new MockEmployeeChanges(
+                changes.stream()
+                        .map(change -> change.deleted()
+                                ? MockEmployeeChange.delete(change.employee().getId())
+                                : MockEmployeeChange.put(change.employee()))
+                        .toList(),
+                instanceId + "-" + (sinceVersion + changes.size()),
+                false);
+    }
+
+    /**
+     * Returns up to {@code limit} employees following {@code cursor}, or from the start without one.
+     *
+     * @throws IllegalArgumentException if {@code limit} is out of range or {@code cursor} was not issued by this
+     *     server, which includes the same server before a restart
+     */
+    public MockEmployeePage getMockEmployeePage(String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        final var page = mockEmployeeStore.page(cursor == null || cursor.isBlank() ? 0 : decodeCursor(cursor), limit);
+        return new MockEmployeePage(page.employees(), page.hasMore() ? encodeCursor(page.lastSequence()) : null);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
-        log.debug("Added employee: {}", mockEmployee);
+        final var mockEmployee = add(input);
+        mockEmployeeStore.sync();
         return mockEmployee;
     }
 
+    /**
+     * Creates an employee per input, in order. Invalid inputs fail on their own with 400 and the others are still
+     * created; the journal is synced once for the whole batch.
+     *
+     * @throws IllegalArgumentException if the batch is empty or larger than {@link #MAX_BATCH_SIZE}
+     */
+    public List<MockBatchResult<MockEmployee>> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        checkBatchSize(inputs.size());
+        final var results = new ArrayList<MockBatchResult<MockEmployee>>(inputs.size());
+        for (CreateMockEmployeeInput input : inputs) {
+            final var error = validate(input);
+            results.add(error == null ? MockBatchResult.ok(add(input)) : MockBatchResult.failed(400, null, error));
+        }
+        mockEmployeeStore.sync();
+        return results;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
+        final var mockEmployee = mockEmployeeStore.removeFirstByName(input.getName());
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
+            mockEmployeeStore.sync();
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }
 
         return false;
     }
+
+    /**
+     * Deletes the first employee with each name, in order, as {@link #delete(DeleteMockEmployeeInput)} would. A name
+     * with no employee left fails on its own with 404; the journal is synced once for the whole batch.
+     *
+     * @throws IllegalArgumentException if the batch is empty or larger than {@link #MAX_BATCH_SIZE}
+     */
+    public List<MockBatchResult<Boolean>> deleteAll(@NonNull List<DeleteMockEmployeeInput> inputs) {
+        checkBatchSize(inputs.size());
+        final var results = new ArrayList<MockBatchResult<Boolean>>(inputs.size());
+        for (DeleteMockEmployeeInput input : inputs) {
+            final var error = validate(input);
+            if (error != null) {
+                results.add(MockBatchResult.failed(400, false, error));
+                continue;
+            }
+            final var mockEmployee = mockEmployeeStore.removeFirstByName(input.getName());
+            mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+            results.add(
+                    mockEmployee.isPresent()
+                            ? MockBatchResult.ok(true)
+                            : MockBatchResult.failed(404, false, "No employee named " + input.getName()));
+        }
+        mockEmployeeStore.sync();
+        return results;
+    }
+
+    private MockEmployee add(CreateMockEmployeeInput input) {
+        final var mockEmployee = MockEmployee.from(
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()),
+                input);
+        mockEmployeeStore.add(mockEmployee);
+        log.debug("Added employee: {}", mockEmployee);
+        return mockEmployee;
+    }
+
+    /** Returns the item's constraint violations as one message, or {@code null} if it is valid. */
+    private <T> String validate(T input) {
+        if (input == null) {
+            return "item is required";
+        }
+        final var violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.joining(", "));
+    }
+
+    private static void checkBatchSize(int size) {
+        if (size < 1 || size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+    }
+
+    /** Returns the number in a version or decoded cursor, or {@code -1} if it was not issued by this process. */
+    private long parseVersion(String version) {
+        final var prefix = instanceId + "-";
+        if (version == null || !version.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(version.substring(prefix.length()));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /** Cursors carry the instance id, like versions, as sequences restart with the process. */
+    private String encodeCursor(long sequence) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((instanceId + "-" + sequence).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private long decodeCursor(String cursor) {
+        final String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+        }
+        final var sequence = parseVersion(decoded);
+        if (sequence < 0) {
+            throw new IllegalArgumentException("Invalid or expired cursor: " + cursor + "; start from the first page");
+        }
+        return sequence;
+    }
 }
@@ -0,0 +1,331 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/**
+ * In-memory employee store safe for concurrent use.
+ *
+ * <p>Employees are indexed by id and by case-insensitive name, and kept in insertion order so listings stay stable.
+ * Reads never lock. Mutations are serialized per name through the name index, which makes "delete the first
+ * employee called X" atomic without an exclusive global lock; concurrent deletes of the same name remove distinct
+ * employees.
+ *
+ * <p>An attached {@link Journal} is the commit point: it is told about every mutation inside the critical section that
+ * applies it, before anything changes, so it sees the mutations of any one employee in the order they took effect,
+ * and a mutation it rejects is never visible.
+ *
+ * <p>Every mutation also gets the next {@link #version()}. Once {@link #startChangeFeed(int)} is called, the most
+ * recent mutations are kept by version, so a reader holding a listing of version N can catch up with
+ * {@link #changesSince(long, int)} instead of reading the whole listing again.
+ */
+public class MockEmployeeStore {
+
+    /**
+     * Receives every mutation before it takes effect; implementations must not call back into the store. A mutation
+     * the journal throws for is not applied, and the exception reaches the caller.
+     */
+    public interface Journal {
+
+        Journal NONE = new Journal() {
+            @Override
+            public void put(MockEmployee employee) {}
+
+            @Override
+            public void delete(MockEmployee employee) {}
+
+            @Override
+            public void sync() {}
+        };
+
+        void put(MockEmployee employee);
+
+        void delete(MockEmployee employee);
+
+        /** Blocks until every mutation reported so far is as durable as the journal promises. */
+        void sync();
+    }
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+
+    /** Versions are assigned and recorded under this lock, so every version up to {@link #version} is recorded. */
+    private final ReentrantLock changeLock = new ReentrantLock();
+    private final ConcurrentNavigableMap<Long, Change> changes = new ConcurrentSkipListMap<>();
+    private int changeRetention;
+    /** Highest version whose change is no longer retained. */
+    private volatile long changesTruncatedThrough;
+
+    /** Shared by mutations from their journal call until they take effect; taken exclusively by {@link #quiesced}. */
+    private final ReentrantReadWriteLock mutationGate = new ReentrantReadWriteLock();
+
+    private final ConcurrentMap<UUID, Slot> byId = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, MockEmployee> inOrder = new ConcurrentSkipListMap<>();
+
+    /** Folded name to the sequence numbers of every employee with that name; sets are only touched in compute. */
+    private final ConcurrentMap<String, NavigableSet<Long>> byName = new ConcurrentHashMap<>();
+
+    private volatile Journal journal = Journal.NONE;
+
+    public MockEmployeeStore(Collection<MockEmployee> seed) {
+        seed.forEach(this::add);
+    }
+
+    /** Starts reporting mutations to {@code journal}; mutations made before this call are not reported. */
+    public void attach(@NonNull Journal journal) {
+        this.journal = journal;
+    }
+
+    /** See {@link Journal#sync()}. */
+    public void sync() {
+        journal.sync();
+    }
+
+    public List<MockEmployee> findAll() {
+        return new ArrayList<>(inOrder.values());
+    }
+
+    /**
+     * Returns up to {@code limit} employees added after the one at sequence {@code afterSequence}, in insertion
+     * order. Sequences never change while the store lives, so paging stays stable across concurrent writes.
+     */
+    public Page page(long afterSequence, int limit) {
+        List<MockEmployee> employees = new ArrayList<>(Math.min(limit, 1024));
+        long lastSequence = afterSequence;
+        Iterator<Map.Entry<Long, MockEmployee>> entries =
+                inOrder.tailMap(afterSequence, false).entrySet().iterator();
+        while (employees.size() < limit && entries.hasNext()) {
+            Map.Entry<Long, MockEmployee> entry = entries.next();
+            employees.add(entry.getValue());
+            lastSequence = entry.getKey();
+        }
+        return new Page(employees, lastSequence, entries.hasNext());
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        Slot slot = byId.get(id);
+        return slot == null ? Optional.empty() : Optional.of(slot.employee());
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Counts mutations; it is bumped after each one is applied, so a listing read after this call reflects at least
+     * the returned version, and any later mutation moves it on.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /** Starts recording mutations from the current version on, keeping the {@code retention} most recent. */
+    public void startChangeFeed(int retention) {
+        changeLock.lock();
+        try {
+            changeRetention = Math.max(0, retention);
+            changes.clear();
+            changesTruncatedThrough = version.get();
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns every mutation after version {@code since}, oldest first. Applying them in order to a listing read
+     * after {@code since}, upserting and deleting by id, yields the listing at {@code since + changes.size()}.
+     *
+     * @return the changes, or {@code null} if some are no longer retained, there are more than {@code limit}, or
+     *     {@code since} is not a version of this store
+     */
+    public List<Change> changesSince(long since, int limit) {
+        long latest = version.get();
+        if (since < 0 || since > latest || latest - since > limit) {
+            return null;
+        }
+        List<Change> result = new ArrayList<>(changes.subMap(since, false, latest, true).values());
+        return since < changesTruncatedThrough ? null : result;
+    }
+
+    /**
+     * Adds {@code employee}, which must have an id not already present.
+     *
+     * @throws IllegalArgumentException if the id is missing or already taken
+     */
+    public MockEmployee add(@NonNull MockEmployee employee) {
+        UUID id = employee.getId();
+        if (id == null) {
+            throw new IllegalArgumentException("Employee id is required");
+        }
+        Slot slot = new Slot(sequence.incrementAndGet(), employee);
+        mutationGate.readLock().lock();
+        try {
+            if (employee.getName() == null) {
+                byId.compute(id, (key, existing) -> insert(existing, slot));
+                return employee;
+            }
+            byName.compute(fold(employee.getName()), (key, sequences) -> {
+                byId.compute(id, (idKey, existing) -> insert(existing, slot));
+                NavigableSet<Long> updated = sequences == null ? new TreeSet<>() : sequences;
+                updated.add(slot.sequence());
+                return updated;
+            });
+            return employee;
+        } finally {
+            mutationGate.readLock().unlock();
+        }
+    }
+
+    /** Removes the earliest added employee whose name equals {@code name}, ignoring case. */
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        AtomicReference<MockEmployee> removed = new AtomicReference<>();
+        mutationGate.readLock().lock();
+        try {
+            byName.computeIfPresent(fold(name), (key, sequences) -> {
+                Long first = sequences.first();
+                MockEmployee employee = inOrder.get(first);
+                if (employee != null) {
+                    journal.delete(employee);
+                    byId.remove(employee.getId());
+                    inOrder.remove(first);
+                    recordChange(employee, true);
+                    removed.set(employee);
+                }
+                sequences.remove(first);
+                return sequences.isEmpty() ? null : sequences;
+            });
+        } finally {
+            mutationGate.readLock().unlock();
+        }
+        return Optional.ofNullable(removed.get());
+    }
+
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        Slot slot = byId.get(id);
+        if (slot == null) {
+            return Optional.empty();
+        }
+        String name = slot.employee().getName();
+        AtomicReference<MockEmployee> removed = new AtomicReference<>();
+        mutationGate.readLock().lock();
+        try {
+            if (name == null) {
+                byId.computeIfPresent(id, (key, current) -> {
+                    if (current != slot) {
+                        return current;
+                    }
+                    remove(slot);
+                    removed.set(slot.employee());
+                    return null;
+                });
+                return Optional.ofNullable(removed.get());
+            }
+            byName.computeIfPresent(fold(name), (key, sequences) -> {
+                if (sequences.contains(slot.sequence()) && byId.get(id) == slot) {
+                    remove(slot);
+                    byId.remove(id);
+                    sequences.remove(slot.sequence());
+                    removed.set(slot.employee());
+                }
+                return sequences.isEmpty() ? null : sequences;
+            });
+        } finally {
+            mutationGate.readLock().unlock();
+        }
+        return Optional.ofNullable(removed.get());
+    }
+
+    /**
+     * Runs {@code action} while no mutation is between its journal call and taking effect, so everything the journal
+     * has accepted so far is visible to reads made after this call. Mutations wait for it; reads do not.
+     */
+    public <T> T quiesced(Supplier<T> action) {
+        mutationGate.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            mutationGate.writeLock().unlock();
+        }
+    }
+
+    /** Called inside the critical section that applies the mutation, after the journal accepted it. */
+    private void recordChange(MockEmployee employee, boolean deleted) {
+        changeLock.lock();
+        try {
+            long next = version.get() + 1;
+            if (changeRetention > 0) {
+                changes.put(next, new Change(next, employee, deleted));
+                if (next - changesTruncatedThrough > changeRetention) {
+                    changes.remove(++changesTruncatedThrough);
+                }
+            } else {
+                changesTruncatedThrough = next;
+            }
+            version.set(next);
+        } finally {
+            changeLock.unlock();
+        }
+    }
+
+    /** Journals and applies an add inside the id's critical section; returns the slot to map the id to. */
+    private Slot insert(Slot existing, Slot slot) {
+        if (existing != null) {
+            throw new IllegalArgumentException("Employee id already exists: " + slot.employee().getId());
+        }
+        journal.put(slot.employee());
+        inOrder.put(slot.sequence(), slot.employee());
+        recordChange(slot.employee(), false);
+        return slot;
+    }
+
+    /** Journals a delete and drops the employee from the listing; the caller unmaps the id and name. */
+    private void remove(Slot slot) {
+        journal.delete(slot.employee());
+        inOrder.remove(slot.sequence());
+        recordChange(slot.employee(), true);
+    }
+
+    /** Folds case exactly as {@link String#equalsIgnoreCase(String)} compares characters. */
+    static String fold(String name) {
+        char[] chars = name.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * One page of {@link #page(long, int)}.
+     *
+     * @param lastSequence sequence of the last employee returned, to pass as {@code afterSequence} for the next page
+     * @param hasMore whether employees were left after this page when it was read
+     */
+    public record Page(List<MockEmployee> employees, long lastSequence, boolean hasMore) {}
+
+    /**
+     * One mutation in the change feed.
+     *
+     * @param employee the employee as added, or as it was when deleted
+     */
+    public record Change(long version, MockEmployee employee, boolean deleted) {}
+
+    private record Slot(long sequence, MockEmployee employee) {}
+}
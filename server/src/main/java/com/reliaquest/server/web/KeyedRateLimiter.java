@@ -0,0 +1,62 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Base for limiters whose whole per-key state fits in one {@code long}, updated with compare-and-set only.
+ *
+ * <p>Keys are created on first use. Once more than {@code maxKeys} exist, keys whose state is idle are swept at most
+ * once per second. An idle key is one that would behave exactly like a fresh key. A request racing with the sweep of
+ * its key may have its update lost, which admits at most that one request too many.
+ */
+abstract class KeyedRateLimiter implements RateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    protected final LongSupplier nanoClock;
+    private final int maxKeys;
+    private final ConcurrentMap<String, AtomicLong> states = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos;
+
+    KeyedRateLimiter(int maxKeys, LongSupplier nanoClock) {
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+        this.lastSweepNanos = new AtomicLong(nanoClock.getAsLong() - SWEEP_INTERVAL_NANOS);
+    }
+
+    @Override
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong state = states.get(key);
+        if (state == null) {
+            sweepIfFull(now);
+            state = states.computeIfAbsent(key, ignored -> new AtomicLong(initialState(now)));
+        }
+        return tryAcquire(state, now);
+    }
+
+    /** Number of keys currently tracked. */
+    int keyCount() {
+        return states.size();
+    }
+
+    /** Admits or rejects one request against {@code state}, see {@link RateLimiter#tryAcquire(String)}. */
+    abstract long tryAcquire(AtomicLong state, long now);
+
+    abstract long initialState(long now);
+
+    abstract boolean isIdle(long state, long now);
+
+    private void sweepIfFull(long now) {
+        long lastSweep = lastSweepNanos.get();
+        if (states.size() >= maxKeys
+                && now - lastSweep >= SWEEP_INTERVAL_NANOS
+                && lastSweepNanos.compareAndSet(lastSweep, now)) {
+            states.values().removeIf(state -> isIdle(state.get(), now));
+        }
+    }
+}
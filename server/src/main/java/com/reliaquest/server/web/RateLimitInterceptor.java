@@ -0,0 +1,44 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.config.MockServerProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/** Answers 429 with a {@code Retry-After} in whole seconds when the client's {@link RateLimiter} has no permit. */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimiter rateLimiter;
+    private final MockServerProperties.ClientKey clientKey;
+    private final String keyHeader;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long waitNanos = rateLimiter.tryAcquire(resolveKey(request));
+        if (waitNanos == 0) {
+            return true;
+        }
+        long retryAfterSeconds = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return false;
+    }
+
+    private String resolveKey(HttpServletRequest request) {
+        return switch (clientKey) {
+            case GLOBAL -> "";
+            case IP -> request.getRemoteAddr();
+            case HEADER -> {
+                String value = request.getHeader(keyHeader);
+                yield value == null || value.isBlank() ? "ip:" + request.getRemoteAddr() : "header:" + value;
+            }
+        };
+    }
+}
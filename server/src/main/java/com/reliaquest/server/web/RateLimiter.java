@@ -0,0 +1,12 @@
+package com.reliaquest.server.web;
+
+/** Admission control for incoming requests, with independent state per client key. */
+public interface RateLimiter {
+
+    /**
+     * Takes one permit for {@code key} if one is available.
+     *
+     * @return {@code 0} if the request is admitted, otherwise the nanoseconds until a permit could be available
+     */
+    long tryAcquire(String key);
+}
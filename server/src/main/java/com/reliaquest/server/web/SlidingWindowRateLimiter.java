@@ -0,0 +1,85 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding window admitting {@code limit} requests per {@code window}, approximated from two fixed windows: the count
+ * of the previous window is weighted by how much of it still overlaps the sliding window ending now.
+ *
+ * <p>The index of the current fixed window (low 32 bits), its count and the previous window's count (16 bits each)
+ * are packed into one {@code long}, so {@code limit} may be at most {@value #MAX_LIMIT}.
+ */
+public class SlidingWindowRateLimiter extends KeyedRateLimiter {
+
+    static final int MAX_LIMIT = 0xFFFF;
+
+    private final int limit;
+    private final long windowNanos;
+    private final long epochNanos;
+
+    public SlidingWindowRateLimiter(int limit, Duration window, int maxKeys) {
+        this(limit, window, maxKeys, System::nanoTime);
+    }
+
+    SlidingWindowRateLimiter(int limit, Duration window, int maxKeys, LongSupplier nanoClock) {
+        super(maxKeys, nanoClock);
+        if (limit < 1 || limit > MAX_LIMIT || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException(
+                    "Sliding window needs a limit between 1 and " + MAX_LIMIT + " and a positive window");
+        }
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+        this.epochNanos = nanoClock.getAsLong();
+    }
+
+    @Override
+    long tryAcquire(AtomicLong state, long now) {
+        long elapsed = now - epochNanos;
+        int index = (int) (elapsed / windowNanos);
+        double progress = (double) (elapsed % windowNanos) / windowNanos;
+        while (true) {
+            long packed = state.get();
+            int storedIndex = (int) (packed >>> 32);
+            int current = (int) (packed >>> 16) & 0xFFFF;
+            int previous = (int) packed & 0xFFFF;
+            if (storedIndex != index) {
+                previous = storedIndex == index - 1 ? current : 0;
+                current = 0;
+            }
+            if (previous * (1.0 - progress) + current + 1 > limit) {
+                return retryAfterNanos(current, previous, progress);
+            }
+            if (state.compareAndSet(packed, pack(index, current + 1, previous))) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    long initialState(long now) {
+        return pack((int) ((now - epochNanos) / windowNanos), 0, 0);
+    }
+
+    @Override
+    boolean isIdle(long state, long now) {
+        return (int) ((now - epochNanos) / windowNanos) - (int) (state >>> 32) >= 2;
+    }
+
+    /** Time until the weighted count leaves room for one more request, assuming no other request is admitted. */
+    private long retryAfterNanos(int current, int previous, double progress) {
+        double room = limit - current - 1;
+        double progressNeeded;
+        if (room >= 0) {
+            progressNeeded = 1.0 - room / previous;
+        } else {
+            progressNeeded = 1.0 + Math.max(0.0, 1.0 - (limit - 1.0) / current);
+        }
+        return Math.max(1, (long) Math.ceil((progressNeeded - progress) * windowNanos));
+    }
+
+    private static long pack(int index, int current, int previous) {
+        return ((long) index << 32) | ((long) current << 16) | previous;
+    }
+}
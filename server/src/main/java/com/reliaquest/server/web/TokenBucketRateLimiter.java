@@ -0,0 +1,56 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket holding {@code capacity} permits and refilling all of them over {@code period}.
+ *
+ * <p>Implemented as the generic cell rate algorithm. The only state per key is its theoretical arrival time (TAT):
+ * the instant at which the bucket would be full again. A request at {@code now} is admitted if pushing the TAT one
+ * emission interval further keeps it within {@code period} of {@code now}.
+ */
+public class TokenBucketRateLimiter extends KeyedRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+
+    public TokenBucketRateLimiter(int capacity, Duration period, int maxKeys) {
+        this(capacity, period, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, Duration period, int maxKeys, LongSupplier nanoClock) {
+        super(maxKeys, nanoClock);
+        if (capacity < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Token bucket needs a positive capacity and period");
+        }
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.toleranceNanos = emissionIntervalNanos * capacity;
+    }
+
+    @Override
+    long tryAcquire(AtomicLong state, long now) {
+        while (true) {
+            long arrival = state.get();
+            long next = Math.max(arrival, now) + emissionIntervalNanos;
+            long excess = next - now - toleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (state.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    long initialState(long now) {
+        return now;
+    }
+
+    @Override
+    boolean isIdle(long state, long now) {
+        return state - now <= 0;
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.server.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class ServerConfigurationTest {
+
+    private final Locale defaultLocale = Locale.getDefault();
+
+    @AfterEach
+    void restoreDefaultLocale() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    @ParameterizedTest
+    @EnumSource(MockServerProperties.Generation.class)
+    void seededDataDoesNotDependOnTheDefaultLocale(MockServerProperties.Generation generation) {
+        Locale.setDefault(Locale.GERMANY);
+        List<MockEmployee> german = generate(generation, null);
+        Locale.setDefault(Locale.JAPAN);
+        List<MockEmployee> japanese = generate(generation, null);
+
+        assertThat(german).hasSize(5).isEqualTo(japanese);
+        assertThat(japanese).isEqualTo(generate(generation, Locale.US));
+    }
+
+    @Test
+    void configuredLocaleWinsOverTheSeedDefault() {
+        assertThat(generate(MockServerProperties.Generation.REFLECTIVE, Locale.GERMANY))
+                .isNotEqualTo(generate(MockServerProperties.Generation.REFLECTIVE, Locale.US));
+    }
+
+    @Test
+    void countsTheEmployeesAndChangesInAResponseAsResults() {
+        List<MockEmployee> employees = generate(MockServerProperties.Generation.REFLECTIVE, Locale.US);
+
+        assertThat(ServerConfiguration.results(employees)).isEqualTo(5);
+        assertThat(ServerConfiguration.results(new MockEmployeePage(employees, null)))
+                .isEqualTo(5);
+        assertThat(ServerConfiguration.results(new MockEmployeeChanges(List.of(), "7", false)))
+                .isZero();
+        assertThat(ServerConfiguration.results(employees.get(0))).isEqualTo(1);
+        assertThat(ServerConfiguration.results(true)).isNull();
+    }
+
+    private static List<MockEmployee> generate(MockServerProperties.Generation generation, Locale locale) {
+        MockServerProperties properties = new MockServerProperties();
+        properties.getEmployees().setMax(5);
+        properties.getEmployees().setSeed(42L);
+        properties.getEmployees().setGeneration(generation);
+        properties.getEmployees().setParallelism(1);
+        properties.getEmployees().setLocale(locale);
+        ServerConfiguration configuration = new ServerConfiguration(properties);
+        return configuration.mockEmployees(configuration.faker());
+    }
+}
@@ -0,0 +1,138 @@
+package com.reliaquest.server.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.validation.Validation;
+import java.util.List;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class MockEmployeeControllerTest {
+
+    private MockEmployeeService service;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockEmployeeStore store = new MockEmployeeStore(List.of(employee("Ada"), employee("Grace"), employee("Linus")));
+        store.startChangeFeed(100);
+        service = new MockEmployeeService(
+                new Faker(), Validation.buildDefaultValidatorFactory().getValidator(), store);
+        mockMvc = MockMvcBuilders.standaloneSetup(new MockEmployeeController(service))
+                .setControllerAdvice(new MockEmployeeControllerAdvice())
+                .build();
+    }
+
+    @Test
+    void pagesFollowTheCursorAndOnlyTheFirstCarriesTheVersion() throws Exception {
+        String body = mockMvc.perform(get("/api/v1/employee").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(MockEmployeeController.VERSION_HEADER, service.getVersion()))
+                .andExpect(jsonPath("$.data.employees[*].employee_name").value(List.of("Ada", "Grace")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String cursor = JsonPath.read(body, "$.data.nextCursor");
+
+        mockMvc.perform(get("/api/v1/employee").param("limit", "2").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(MockEmployeeController.VERSION_HEADER))
+                .andExpect(jsonPath("$.data.employees[*].employee_name").value(List.of("Linus")))
+                .andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void invalidCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/employee").param("limit", "2").param("cursor", "not a cursor!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("Failed to process request."))
+                .andExpect(jsonPath("$.error").value(containsString("Invalid cursor")));
+    }
+
+    @Test
+    void changesSinceTheListingVersionAreServedUntilTheyFallBehind() throws Exception {
+        String since = mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(MockEmployeeController.VERSION_HEADER);
+        service.delete(deleteInput("Grace"));
+
+        mockMvc.perform(get("/api/v1/employee/changes").param("since", since))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.reset").value(false))
+                .andExpect(jsonPath("$.data.changes[0].type").value("DELETE"))
+                .andExpect(jsonPath("$.data.changes[0].employee").doesNotExist())
+                .andExpect(jsonPath("$.data.version").value(service.getVersion()));
+
+        mockMvc.perform(get("/api/v1/employee/changes").param("since", "garbage"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.reset").value(true))
+                .andExpect(jsonPath("$.data.changes").isEmpty())
+                .andExpect(jsonPath("$.data.version").doesNotExist());
+    }
+
+    @Test
+    void batchResultsFollowInputOrder() throws Exception {
+        mockMvc.perform(post("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                                """
+                                [{"name":"Barbara","salary":120000,"age":40,"title":"Engineer"},
+                                 {"name":"","salary":120000,"age":40,"title":"Engineer"},
+                                 {"name":"Edsger","salary":120000,"age":40,"title":"Engineer"}]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].status").value(List.of(200, 400, 200)))
+                .andExpect(jsonPath("$.data[0].data.employee_name").value("Barbara"))
+                .andExpect(jsonPath("$.data[1].data").doesNotExist())
+                .andExpect(jsonPath("$.data[1].error").value(containsString("name")))
+                .andExpect(jsonPath("$.data[2].data.employee_name").value("Edsger"));
+
+        mockMvc.perform(delete("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"Nobody\"},{\"name\":\"Ada\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].status").value(List.of(404, 200)))
+                .andExpect(jsonPath("$.data[*].data").value(List.of(false, true)));
+    }
+
+    @Test
+    void emptyBatchIsABadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/employee/batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static DeleteMockEmployeeInput deleteInput(String name) {
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100_000)
+                .age(36)
+                .title("Engineer")
+                .email(name.toLowerCase() + "@company.com")
+                .build();
+    }
+}
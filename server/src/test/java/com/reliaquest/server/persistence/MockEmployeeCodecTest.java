@@ -0,0 +1,56 @@
+package com.reliaquest.server.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeCodecTest {
+
+    @Test
+    void employeeRoundTrips() throws IOException {
+        MockEmployee employee = MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Zo\u00eb \u00c5ngstr\u00f6m")
+                .salary(123_456)
+                .age(41)
+                .title("Staff Engineer")
+                .email("zoe@company.com")
+                .build();
+
+        assertThat(roundTrip(employee)).isEqualTo(employee);
+    }
+
+    @Test
+    void missingFieldsRoundTripAsNull() throws IOException {
+        MockEmployee employee = MockEmployee.builder().id(UUID.randomUUID()).build();
+
+        assertThat(roundTrip(employee)).isEqualTo(employee);
+    }
+
+    @Test
+    void idRoundTrips() throws IOException {
+        UUID id = UUID.randomUUID();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MockEmployeeCodec.writeId(new DataOutputStream(bytes), id);
+
+        assertThat(bytes.size()).isEqualTo(16);
+        assertThat(MockEmployeeCodec.readId(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))))
+                .isEqualTo(id);
+    }
+
+    private static MockEmployee roundTrip(MockEmployee employee) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MockEmployeeCodec.writeEmployee(new DataOutputStream(bytes), employee);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        MockEmployee read = MockEmployeeCodec.readEmployee(in);
+        assertThat(in.available()).isZero();
+        return read;
+    }
+}
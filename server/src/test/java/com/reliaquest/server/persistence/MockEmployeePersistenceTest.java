@@ -0,0 +1,168 @@
+package com.reliaquest.server.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.server.config.MockServerProperties;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeePersistenceTest {
+
+    private static final Supplier<Collection<MockEmployee>> NO_SEED = () -> {
+        throw new AssertionError("Store should have been recovered, not seeded");
+    };
+
+    @TempDir
+    Path directory;
+
+    private MockServerProperties.Persistence settings;
+
+    @BeforeEach
+    void setUp() {
+        settings = new MockServerProperties.Persistence();
+        settings.setDirectory(directory);
+        settings.setGroupCommitWindow(Duration.ofMillis(1));
+        settings.setSnapshotOnShutdown(false);
+    }
+
+    @Test
+    void seedIsSnapshottedOnceAndMutationsAreReplayed() throws IOException {
+        MockEmployee ada = employee("Ada");
+        MockEmployee grace = employee("Grace");
+        MockEmployee linus = employee("Linus");
+        try (MockEmployeePersistence persistence = new MockEmployeePersistence(settings)) {
+            MockEmployeeStore store = persistence.open(() -> List.of(ada, grace));
+            store.add(linus);
+            store.removeById(ada.getId());
+        }
+
+        try (MockEmployeePersistence persistence = new MockEmployeePersistence(settings)) {
+            assertThat(persistence.open(NO_SEED).findAll()).containsExactly(grace, linus);
+        }
+    }
+
+    @Test
+    void logIsReplayedOnTopOfAFuzzySnapshot() throws IOException {
+        MockEmployee ada = employee("Ada");
+        MockEmployee grace = employee("Grace");
+        MockEmployee linus = employee("Linus");
+        try (MockEmployeePersistence persistence = new MockEmployeePersistence(settings)) {
+            MockEmployeeStore store = persistence.open(() -> List.of(ada));
+            store.add(grace); // lsn 1
+            store.add(linus); // lsn 2
+            store.removeById(ada.getId()); // lsn 3
+            // taken at lsn 1, but the scan ran late enough to see lsn 2 and 3 as well
+            SnapshotFile.write(directory, 1, store.findAll());
+            store.removeById(grace.getId()); // lsn 4
+        }
+
+        try (MockEmployeePersistence persistence = new MockEmployeePersistence(settings)) {
+            assertThat(persistence.open(NO_SEED).findAll()).containsExactly(linus);
+        }
+    }
+
+    @Test
+    void snapshotCompactsTheLog() throws IOException {
+        MockEmployee ada = employee("Ada");
+        MockEmployee grace = employee("Grace");
+        MockEmployee linus = employee("Linus");
+        try (MockEmployeePersistence persistence = new MockEmployeePersistence(settings)) {
+            MockEmployeeStore store = persistence.open(() -> List.of(ada));
+            store.add(grace);
+            store.sync();
+            persistence.snapshot();
+            store.add(linus);
+            store.sync();
+            persistence.snapshot();
+
+            assertThat(fileNames()).containsExactly("snapshot-%020d.snap".formatted(2), "wal-%020d.log".formatted(2));
+        }
+
+        try (MockEmployeePersistence persistence = new MockEmployeePersistence(settings)) {
+            MockEmployeeStore store = persistence.open(NO_SEED);
+            assertThat(store.findAll()).containsExactly(ada, grace, linus);
+            store.removeById(ada.getId());
+        }
+        try (MockEmployeePersistence persistence = new MockEmployeePersistence(settings)) {
+            assertThat(persistence.open(NO_SEED).findAll()).containsExactly(grace, linus);
+        }
+    }
+
+    @Test
+    void shutdownSnapshotLeavesNoLogToReplay() throws IOException {
+        settings.setSnapshotOnShutdown(true);
+        MockEmployee ada = employee("Ada");
+        MockEmployee grace = employee("Grace");
+        try (MockEmployeePersistence persistence = new MockEmployeePersistence(settings)) {
+            persistence.open(() -> List.of(ada)).add(grace);
+        }
+
+        assertThat(fileNames()).contains("snapshot-%020d.snap".formatted(1));
+        assertThat(WriteAheadLog.replay(directory, 1, (lsn, type, payload) -> {}).records()).isZero();
+        try (MockEmployeePersistence persistence = new MockEmployeePersistence(settings)) {
+            assertThat(persistence.open(NO_SEED).findAll()).containsExactly(ada, grace);
+        }
+    }
+
+    @Test
+    void failedLogRejectsEveryLaterMutation() throws IOException {
+        Path data = directory.resolve("data");
+        settings.setDirectory(data);
+        MockEmployee ada = employee("Ada");
+        MockEmployee grace = employee("Grace");
+        MockEmployee linus = employee("Linus");
+        MockEmployeePersistence persistence = new MockEmployeePersistence(settings);
+        MockEmployeeStore store = persistence.open(() -> List.of(ada));
+        // the writer opens its first segment lazily, so losing the directory fails the first batch
+        deleteRecursively(data);
+
+        store.add(grace);
+        assertThatThrownBy(store::sync).isInstanceOf(UncheckedIOException.class);
+
+        assertThatThrownBy(() -> store.add(linus)).isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> store.removeById(ada.getId())).isInstanceOf(UncheckedIOException.class);
+        assertThat(store.findAll()).containsExactly(ada, grace);
+        assertThat(store.findById(linus.getId())).isEmpty();
+        assertThatThrownBy(persistence::close).isInstanceOf(UncheckedIOException.class);
+    }
+
+    private List<String> fileNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100_000)
+                .age(36)
+                .title("Engineer")
+                .email(name.toLowerCase() + "@company.com")
+                .build();
+    }
+}
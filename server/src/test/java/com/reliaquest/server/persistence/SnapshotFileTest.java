@@ -0,0 +1,88 @@
+package com.reliaquest.server.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void latestSnapshotIsReadBack() throws IOException {
+        List<MockEmployee> older = List.of(employee("Ada"));
+        List<MockEmployee> newer = List.of(employee("Ada"), employee("Grace"));
+        SnapshotFile.write(directory, 3, older);
+        SnapshotFile.write(directory, 7, newer);
+
+        assertThat(SnapshotFile.readLatest(directory)).contains(new SnapshotFile.Snapshot(7, newer));
+    }
+
+    @Test
+    void noSnapshotIsEmpty() throws IOException {
+        assertThat(SnapshotFile.readLatest(directory)).isEmpty();
+    }
+
+    @Test
+    void corruptSnapshotFallsBackToTheOlderOne() throws IOException {
+        List<MockEmployee> older = List.of(employee("Ada"));
+        SnapshotFile.write(directory, 3, older);
+        SnapshotFile.write(directory, 7, List.of(employee("Grace")));
+        flipLastByte(directory.resolve("snapshot-%020d.snap".formatted(7)));
+
+        assertThat(SnapshotFile.readLatest(directory)).contains(new SnapshotFile.Snapshot(3, older));
+    }
+
+    @Test
+    void onlyCorruptSnapshotsAreAnError() throws IOException {
+        SnapshotFile.write(directory, 3, List.of(employee("Ada")));
+        flipLastByte(directory.resolve("snapshot-%020d.snap".formatted(3)));
+
+        assertThatThrownBy(() -> SnapshotFile.readLatest(directory)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void olderSnapshotsAndLeftoverTemporaryFilesAreDeleted() throws IOException {
+        SnapshotFile.write(directory, 3, List.of(employee("Ada")));
+        SnapshotFile.write(directory, 7, List.of(employee("Grace")));
+        Files.write(directory.resolve("snapshot-%020d.snap.tmp".formatted(9)), new byte[] {1, 2, 3});
+
+        SnapshotFile.deleteBefore(directory, 7);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString()).toList())
+                    .containsExactly("snapshot-%020d.snap".formatted(7));
+        }
+    }
+
+    private static void flipLastByte(Path path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            int last = file.read();
+            file.seek(file.length() - 1);
+            file.write(last ^ 0xFF);
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.nameUUIDFromBytes(name.getBytes()))
+                .name(name)
+                .salary(100_000)
+                .age(36)
+                .title("Engineer")
+                .email(name.toLowerCase() + "@company.com")
+                .build();
+    }
+}
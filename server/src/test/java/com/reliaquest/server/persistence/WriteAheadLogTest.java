@@ -0,0 +1,204 @@
+package com.reliaquest.server.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.server.config.MockServerProperties;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class WriteAheadLogTest {
+
+    private static final byte TYPE = 7;
+
+    @TempDir
+    Path directory;
+
+    private MockServerProperties.Persistence settings;
+
+    @BeforeEach
+    void setUp() {
+        settings = new MockServerProperties.Persistence();
+        settings.setGroupCommitWindow(Duration.ofMillis(1));
+        settings.setFsyncInterval(Duration.ofMillis(10));
+    }
+
+    @Test
+    void recordsAreReplayedAfterRestart() throws IOException {
+        try (WriteAheadLog wal = new WriteAheadLog(directory, 0, settings)) {
+            assertThat(wal.append(TYPE, payload("one"))).isEqualTo(1);
+            assertThat(wal.append(TYPE, payload("two"))).isEqualTo(2);
+            wal.sync();
+        }
+
+        List<String> replayed = new ArrayList<>();
+        WriteAheadLog.Replay replay = replayInto(replayed, 0);
+
+        assertThat(replayed).containsExactly("1:one", "2:two");
+        assertThat(replay).isEqualTo(new WriteAheadLog.Replay(2, 2));
+
+        try (WriteAheadLog wal = new WriteAheadLog(directory, replay.lastLsn(), settings)) {
+            assertThat(wal.append(TYPE, payload("three"))).isEqualTo(3);
+        }
+        replayed.clear();
+        assertThat(replayInto(replayed, 1)).isEqualTo(new WriteAheadLog.Replay(3, 2));
+        assertThat(replayed).containsExactly("2:two", "3:three");
+    }
+
+    @Test
+    void tornTailIsTruncated() throws IOException {
+        try (WriteAheadLog wal = new WriteAheadLog(directory, 0, settings)) {
+            wal.append(TYPE, payload("one"));
+            wal.append(TYPE, payload("two"));
+        }
+        Path segment = onlySegment();
+        long intact = Files.size(segment);
+        // a frame header promising more bytes than made it to disk
+        Files.write(segment, new byte[] {0, 0, 0, 40, 1, 2, 3, 4, 0, 0}, StandardOpenOption.APPEND);
+
+        List<String> replayed = new ArrayList<>();
+        assertThat(replayInto(replayed, 0)).isEqualTo(new WriteAheadLog.Replay(2, 2));
+
+        assertThat(replayed).containsExactly("1:one", "2:two");
+        assertThat(Files.size(segment)).isEqualTo(intact);
+    }
+
+    @Test
+    void corruptRecordCutsTheSegmentThere() throws IOException {
+        try (WriteAheadLog wal = new WriteAheadLog(directory, 0, settings)) {
+            wal.append(TYPE, payload("one"));
+            wal.append(TYPE, payload("two"));
+        }
+        Path segment = onlySegment();
+        long size = Files.size(segment);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(size - 1);
+            int last = file.read();
+            file.seek(size - 1);
+            file.write(last ^ 0xFF);
+        }
+
+        List<String> replayed = new ArrayList<>();
+        assertThat(replayInto(replayed, 0)).isEqualTo(new WriteAheadLog.Replay(1, 1));
+
+        assertThat(replayed).containsExactly("1:one");
+        assertThat(Files.size(segment)).isEqualTo(size / 2);
+        try (WriteAheadLog wal = new WriteAheadLog(directory, 1, settings)) {
+            assertThat(wal.append(TYPE, payload("two again"))).isEqualTo(2);
+        }
+        replayed.clear();
+        replayInto(replayed, 0);
+        assertThat(replayed).containsExactly("1:one", "2:two again");
+    }
+
+    @Test
+    void segmentsCoveredByAnLsnAreDeletedAfterRotation() throws IOException {
+        try (WriteAheadLog wal = new WriteAheadLog(directory, 0, settings)) {
+            wal.append(TYPE, payload("one"));
+            wal.append(TYPE, payload("two"));
+            wal.sync();
+            wal.requestRotation();
+            wal.append(TYPE, payload("three"));
+            wal.sync();
+
+            assertThat(segmentNames()).containsExactly(segmentName(1), segmentName(3));
+
+            WriteAheadLog.deleteSegmentsCoveredBy(directory, 1);
+            assertThat(segmentNames()).containsExactly(segmentName(1), segmentName(3));
+
+            WriteAheadLog.deleteSegmentsCoveredBy(directory, 2);
+            assertThat(segmentNames()).containsExactly(segmentName(3));
+
+            WriteAheadLog.deleteSegmentsCoveredBy(directory, 3);
+            assertThat(segmentNames()).containsExactly(segmentName(3));
+        }
+
+        List<String> replayed = new ArrayList<>();
+        assertThat(replayInto(replayed, 2)).isEqualTo(new WriteAheadLog.Replay(3, 1));
+        assertThat(replayed).containsExactly("3:three");
+    }
+
+    @ParameterizedTest
+    @EnumSource(MockServerProperties.FsyncPolicy.class)
+    void syncedRecordsAreOnDiskUnderEveryPolicy(MockServerProperties.FsyncPolicy policy) throws IOException {
+        settings.setFsync(policy);
+        try (WriteAheadLog wal = new WriteAheadLog(directory, 0, settings)) {
+            for (int i = 1; i <= 100; i++) {
+                wal.append(TYPE, payload("record " + i));
+            }
+            wal.sync();
+
+            List<String> replayed = new ArrayList<>();
+            assertThat(replayInto(replayed, 0)).isEqualTo(new WriteAheadLog.Replay(100, 100));
+            assertThat(replayed).first().isEqualTo("1:record 1");
+            assertThat(replayed).last().isEqualTo("100:record 100");
+        }
+    }
+
+    @Test
+    void syncFailsOnceTheWriterHasFailed() throws IOException {
+        Path missing = directory.resolve("missing");
+        WriteAheadLog wal = new WriteAheadLog(missing, 0, settings);
+        wal.append(TYPE, payload("one"));
+
+        assertThatThrownBy(wal::sync).isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> wal.append(TYPE, payload("two"))).isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(wal::close).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void appendAfterCloseIsRejected() throws IOException {
+        WriteAheadLog wal = new WriteAheadLog(directory, 0, settings);
+        wal.close();
+
+        assertThatThrownBy(() -> wal.append(TYPE, payload("late"))).isInstanceOf(IllegalStateException.class);
+    }
+
+    private WriteAheadLog.Replay replayInto(List<String> replayed, long afterLsn) throws IOException {
+        return WriteAheadLog.replay(directory, afterLsn, (lsn, type, payload) -> {
+            assertThat(type).isEqualTo(TYPE);
+            replayed.add(lsn + ":" + payload.readUTF());
+        });
+    }
+
+    private Path onlySegment() throws IOException {
+        assertThat(segmentNames()).hasSize(1);
+        return directory.resolve(segmentNames().get(0));
+    }
+
+    private List<String> segmentNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("wal-"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String segmentName(long firstLsn) {
+        return "wal-%020d.log".formatted(firstLsn);
+    }
+
+    private static byte[] payload(String text) {
+        byte[] utf = text.getBytes(StandardCharsets.UTF_8);
+        byte[] payload = new byte[utf.length + 2];
+        payload[0] = (byte) (utf.length >>> 8);
+        payload[1] = (byte) utf.length;
+        System.arraycopy(utf, 0, payload, 2, utf.length);
+        return payload;
+    }
+}
@@ -0,0 +1,226 @@
+package com.reliaquest.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockBatchResult;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import jakarta.validation.Validation;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeServiceTest {
+
+    private MockEmployeeStore store;
+    private MockEmployeeService service;
+
+    @BeforeEach
+    void setUp() {
+        store = new MockEmployeeStore(List.of(employee("A"), employee("B"), employee("C"), employee("D")));
+        store.startChangeFeed(100);
+        service = new MockEmployeeService(
+                new Faker(), Validation.buildDefaultValidatorFactory().getValidator(), store);
+    }
+
+    @Test
+    void pagesCoverTheListingOnce() {
+        List<String> names = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockEmployeePage page = service.getMockEmployeePage(cursor, 3);
+            page.employees().forEach(employee -> names.add(employee.getName()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(names).containsExactly("A", "B", "C", "D");
+    }
+
+    @Test
+    void cursorStaysStableWhenEmployeesChangeBetweenPages() {
+        MockEmployeePage first = service.getMockEmployeePage(null, 2);
+        service.delete(delete("B"));
+        service.delete(delete("C"));
+        store.add(employee("E"));
+        MockEmployeePage second = service.getMockEmployeePage(first.nextCursor(), 2);
+
+        assertThat(first.employees()).extracting(MockEmployee::getName).containsExactly("A", "B");
+        assertThat(second.employees()).extracting(MockEmployee::getName).containsExactly("D", "E");
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        MockEmployeePage page = service.getMockEmployeePage(null, 4);
+
+        assertThat(page.employees()).hasSize(4);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> service.getMockEmployeePage("not a cursor!", 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+        assertThatThrownBy(() -> service.getMockEmployeePage(encode("garbage"), 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cursorFromAnotherServerInstanceHasExpired() {
+        String issued = decode(service.getMockEmployeePage(null, 2).nextCursor());
+        String fromBeforeRestart = encode("0-" + issued.substring(issued.lastIndexOf('-') + 1));
+
+        assertThatThrownBy(() -> service.getMockEmployeePage(fromBeforeRestart, 2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expired");
+    }
+
+    @Test
+    void pageLimitMustBeInRange() {
+        assertThatThrownBy(() -> service.getMockEmployeePage(null, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getMockEmployeePage(null, MockEmployeeService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void changesSinceAVersionArriveInOrder() {
+        String since = service.getVersion();
+        MockEmployee added = store.add(employee("E"));
+        MockEmployee removed = store.removeFirstByName("A").orElseThrow();
+
+        MockEmployeeChanges changes = service.getMockEmployeeChanges(since, 10);
+
+        assertThat(changes.reset()).isFalse();
+        assertThat(changes.changes())
+                .containsExactly(MockEmployeeChange.put(added), MockEmployeeChange.delete(removed.getId()));
+        assertThat(changes.version()).isEqualTo(service.getVersion());
+        assertThat(service.getMockEmployeeChanges(changes.version(), 10).changes()).isEmpty();
+    }
+
+    @Test
+    void changesBehindRetentionRequireAReset() {
+        MockEmployeeStore small = new MockEmployeeStore(List.of());
+        small.startChangeFeed(2);
+        MockEmployeeService smallService = new MockEmployeeService(
+                new Faker(), Validation.buildDefaultValidatorFactory().getValidator(), small);
+        String since = smallService.getVersion();
+        for (int i = 0; i < 3; i++) {
+            small.add(employee("Employee " + i));
+        }
+
+        MockEmployeeChanges changes = smallService.getMockEmployeeChanges(since, 10);
+
+        assertThat(changes.reset()).isTrue();
+        assertThat(changes.changes()).isEmpty();
+        assertThat(changes.version()).isNull();
+    }
+
+    @Test
+    void moreChangesThanTheLimitRequireAReset() {
+        String since = service.getVersion();
+        store.add(employee("E"));
+        store.add(employee("F"));
+
+        assertThat(service.getMockEmployeeChanges(since, 1).reset()).isTrue();
+        assertThat(service.getMockEmployeeChanges(since, 2).reset()).isFalse();
+    }
+
+    @Test
+    void versionsNotIssuedByThisServerRequireAReset() {
+        String current = service.getVersion();
+        String fromBeforeRestart = "0-" + current.substring(current.lastIndexOf('-') + 1);
+
+        assertThat(service.getMockEmployeeChanges(fromBeforeRestart, 10).reset()).isTrue();
+        assertThat(service.getMockEmployeeChanges("garbage", 10).reset()).isTrue();
+    }
+
+    @Test
+    void changesLimitMustBeInRange() {
+        String since = service.getVersion();
+
+        assertThatThrownBy(() -> service.getMockEmployeeChanges(since, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getMockEmployeeChanges(since, MockEmployeeService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void batchCreateKeepsInputOrderAndFailsInvalidItemsAlone() {
+        List<MockBatchResult<MockEmployee>> results = service.createAll(List.of(create("E"), create(" "), create("F")));
+
+        assertThat(results).extracting(MockBatchResult::status).containsExactly(200, 400, 200);
+        assertThat(results.get(0).data().getName()).isEqualTo("E");
+        assertThat(results.get(1).data()).isNull();
+        assertThat(results.get(1).error()).contains("name");
+        assertThat(results.get(2).data().getName()).isEqualTo("F");
+        assertThat(service.getMockEmployees())
+                .extracting(MockEmployee::getName)
+                .containsExactly("A", "B", "C", "D", "E", "F");
+    }
+
+    @Test
+    void batchDeleteKeepsInputOrderAndFailsMissingItemsAlone() {
+        List<MockBatchResult<Boolean>> results = service.deleteAll(List.of(delete("B"), delete("Z"), delete("")));
+
+        assertThat(results).extracting(MockBatchResult::status).containsExactly(200, 404, 400);
+        assertThat(results).extracting(MockBatchResult::data).containsExactly(true, false, false);
+        assertThat(results.get(1).error()).isEqualTo("No employee named Z");
+        assertThat(service.getMockEmployees()).extracting(MockEmployee::getName).containsExactly("A", "C", "D");
+    }
+
+    @Test
+    void batchSizeMustBeInRange() {
+        List<CreateMockEmployeeInput> tooMany =
+                Collections.nCopies(MockEmployeeService.MAX_BATCH_SIZE + 1, create("E"));
+
+        assertThatThrownBy(() -> service.createAll(List.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.createAll(tooMany)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.deleteAll(List.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.getMockEmployees()).hasSize(4);
+    }
+
+    private static CreateMockEmployeeInput create(String name) {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(100_000);
+        input.setAge(36);
+        input.setTitle("Engineer");
+        return input;
+    }
+
+    private static DeleteMockEmployeeInput delete(String name) {
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+
+    private static String encode(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String decode(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100_000)
+                .age(36)
+                .title("Engineer")
+                .email(name.toLowerCase() + "@company.com")
+                .build();
+    }
+}
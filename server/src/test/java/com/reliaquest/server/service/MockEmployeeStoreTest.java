@@ -0,0 +1,354 @@
+package com.reliaquest.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    @Test
+    void addedEmployeesAreFoundByIdAndListedInInsertionOrder() {
+        MockEmployee ada = employee("Ada");
+        MockEmployee grace = employee("Grace");
+        MockEmployeeStore store = new MockEmployeeStore(List.of(ada));
+
+        store.add(grace);
+
+        assertThat(store.findById(grace.getId())).contains(grace);
+        assertThat(store.findAll()).containsExactly(ada, grace);
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void deletedEmployeesLeaveEveryIndex() {
+        MockEmployee ada = employee("Ada");
+        MockEmployee grace = employee("Grace");
+        MockEmployeeStore store = new MockEmployeeStore(List.of(ada, grace));
+
+        assertThat(store.removeById(ada.getId())).contains(ada);
+        assertThat(store.removeFirstByName("GRACE")).contains(grace);
+
+        assertThat(store.findById(ada.getId())).isEmpty();
+        assertThat(store.findById(grace.getId())).isEmpty();
+        assertThat(store.findAll()).isEmpty();
+        assertThat(store.size()).isZero();
+        assertThat(store.removeFirstByName("Ada")).isEmpty();
+        assertThat(store.removeById(grace.getId())).isEmpty();
+    }
+
+    @Test
+    void duplicateNamesAreRemovedOldestFirst() {
+        MockEmployee first = employee("Sam Lee");
+        MockEmployee second = employee("sam lee");
+        MockEmployee third = employee("SAM LEE");
+        MockEmployeeStore store = new MockEmployeeStore(List.of(first, second, third));
+
+        assertThat(store.removeFirstByName("Sam Lee")).contains(first);
+        assertThat(store.removeById(third.getId())).contains(third);
+        assertThat(store.removeFirstByName("Sam Lee")).contains(second);
+        assertThat(store.removeFirstByName("Sam Lee")).isEmpty();
+    }
+
+    @Test
+    void removingByIdKeepsOtherEmployeesOfTheSameName() {
+        MockEmployee first = employee("Sam Lee");
+        MockEmployee second = employee("Sam Lee");
+        MockEmployeeStore store = new MockEmployeeStore(List.of(first, second));
+
+        store.removeById(first.getId());
+
+        assertThat(store.findAll()).containsExactly(second);
+        assertThat(store.removeFirstByName("sam lee")).contains(second);
+    }
+
+    @Test
+    void employeesWithoutNameAreIndexedByIdOnly() {
+        MockEmployee nameless = MockEmployee.builder().id(UUID.randomUUID()).build();
+        MockEmployeeStore store = new MockEmployeeStore(List.of());
+
+        store.add(nameless);
+
+        assertThat(store.findById(nameless.getId())).contains(nameless);
+        assertThat(store.removeById(nameless.getId())).contains(nameless);
+        assertThat(store.findAll()).isEmpty();
+    }
+
+    @Test
+    void duplicateIdIsRejectedWithoutSideEffects() {
+        MockEmployee ada = employee("Ada");
+        MockEmployeeStore store = new MockEmployeeStore(List.of(ada));
+        store.startChangeFeed(10);
+        MockEmployee impostor = ada.toBuilder().name("Impostor").build();
+
+        assertThatThrownBy(() -> store.add(impostor)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(store.findAll()).containsExactly(ada);
+        assertThat(store.removeFirstByName("Impostor")).isEmpty();
+        assertThat(store.version()).isEqualTo(1);
+    }
+
+    @Test
+    void changeFeedRecordsEveryMutationInOrder() {
+        MockEmployee ada = employee("Ada");
+        MockEmployee grace = employee("Grace");
+        MockEmployeeStore store = new MockEmployeeStore(List.of(ada));
+        store.startChangeFeed(10);
+        long since = store.version();
+
+        store.add(grace);
+        store.removeFirstByName("Ada");
+
+        assertThat(store.changesSince(since, 10))
+                .containsExactly(
+                        new MockEmployeeStore.Change(since + 1, grace, false),
+                        new MockEmployeeStore.Change(since + 2, ada, true));
+        assertThat(store.changesSince(since + 2, 10)).isEmpty();
+    }
+
+    @Test
+    void changesBeyondRetentionOrLimitAreNotServed() {
+        MockEmployeeStore store = new MockEmployeeStore(List.of());
+        store.startChangeFeed(2);
+        for (int i = 0; i < 3; i++) {
+            store.add(employee("Employee " + i));
+        }
+
+        assertThat(store.changesSince(0, 10)).isNull();
+        assertThat(store.changesSince(1, 10)).hasSize(2);
+        assertThat(store.changesSince(1, 1)).isNull();
+        assertThat(store.changesSince(4, 10)).isNull();
+        assertThat(store.changesSince(-1, 10)).isNull();
+    }
+
+    @Test
+    void journalSeesEveryMutation() {
+        MockEmployee ada = employee("Ada");
+        MockEmployee grace = employee("Grace");
+        MockEmployeeStore store = new MockEmployeeStore(List.of(ada));
+        List<String> journaled = new ArrayList<>();
+        store.attach(new MockEmployeeStore.Journal() {
+            @Override
+            public void put(MockEmployee employee) {
+                journaled.add("put " + employee.getName());
+            }
+
+            @Override
+            public void delete(MockEmployee employee) {
+                journaled.add("delete " + employee.getName());
+            }
+
+            @Override
+            public void sync() {}
+        });
+
+        store.add(grace);
+        store.removeById(ada.getId());
+        store.removeFirstByName("Grace");
+
+        assertThat(journaled).containsExactly("put Grace", "delete Ada", "delete Grace");
+    }
+
+    @Test
+    void pagesStayStableWhileEmployeesAreAdded() {
+        MockEmployeeStore store = new MockEmployeeStore(List.of(employee("A"), employee("B"), employee("C")));
+
+        MockEmployeeStore.Page first = store.page(0, 2);
+        store.add(employee("D"));
+        MockEmployeeStore.Page second = store.page(first.lastSequence(), 2);
+
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.employees()).extracting(MockEmployee::getName).containsExactly("C", "D");
+        assertThat(second.hasMore()).isFalse();
+    }
+
+    @Test
+    void mutationsTheJournalRejectsAreNotApplied() {
+        MockEmployee ada = employee("Ada");
+        MockEmployee grace = employee("Grace");
+        MockEmployee nameless = MockEmployee.builder().id(UUID.randomUUID()).build();
+        MockEmployeeStore store = new MockEmployeeStore(List.of(ada, nameless));
+        store.startChangeFeed(10);
+        long version = store.version();
+        AtomicBoolean failing = new AtomicBoolean(true);
+        store.attach(new MockEmployeeStore.Journal() {
+            @Override
+            public void put(MockEmployee employee) {
+                check();
+            }
+
+            @Override
+            public void delete(MockEmployee employee) {
+                check();
+            }
+
+            @Override
+            public void sync() {}
+
+            private void check() {
+                if (failing.get()) {
+                    throw new IllegalStateException("journal unavailable");
+                }
+            }
+        });
+
+        assertThatThrownBy(() -> store.add(grace)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> store.removeFirstByName("Ada")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> store.removeById(ada.getId())).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> store.removeById(nameless.getId())).isInstanceOf(IllegalStateException.class);
+
+        assertThat(store.findById(grace.getId())).isEmpty();
+        assertThat(store.findAll()).containsExactly(ada, nameless);
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(store.version()).isEqualTo(version);
+        assertThat(store.changesSince(version, 10)).isEmpty();
+
+        failing.set(false);
+        store.add(grace);
+        assertThat(store.removeFirstByName("Ada")).contains(ada);
+        assertThat(store.removeFirstByName("Grace")).contains(grace);
+        assertThat(store.removeById(nameless.getId())).contains(nameless);
+        assertThat(store.findAll()).isEmpty();
+    }
+
+    @Test
+    void quiescedWaitsForMutationsTheJournalHasAccepted() throws Exception {
+        MockEmployee grace = employee("Grace");
+        MockEmployeeStore store = new MockEmployeeStore(List.of());
+        CountDownLatch journaled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        store.attach(new MockEmployeeStore.Journal() {
+            @Override
+            public void put(MockEmployee employee) {
+                journaled.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void delete(MockEmployee employee) {}
+
+            @Override
+            public void sync() {}
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> adding = executor.submit(() -> store.add(grace));
+            assertThat(journaled.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<Optional<MockEmployee>> quiesced =
+                    executor.submit(() -> store.quiesced(() -> store.findById(grace.getId())));
+
+            Thread.sleep(50);
+            assertThat(quiesced.isDone()).isFalse();
+
+            release.countDown();
+            adding.get(10, TimeUnit.SECONDS);
+            assertThat(quiesced.get(10, TimeUnit.SECONDS)).contains(grace);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentAddsAndDeletesKeepTheIndexesConsistent() throws Exception {
+        int threads = 8;
+        int operationsPerThread = 2_000;
+        MockEmployeeStore store = new MockEmployeeStore(List.of());
+        store.startChangeFeed(threads * operationsPerThread * 2);
+        Set<UUID> removed = ConcurrentHashMap.newKeySet();
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger removals = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    List<UUID> mine = new ArrayList<>();
+                    for (int i = 0; i < operationsPerThread; i++) {
+                        String name = "Name " + random.nextInt(16);
+                        Optional<MockEmployee> gone = Optional.empty();
+                        switch (random.nextInt(3)) {
+                            case 0 -> gone = store.removeFirstByName(name);
+                            case 1 -> {
+                                if (!mine.isEmpty()) {
+                                    gone = store.removeById(mine.remove(mine.size() - 1));
+                                }
+                            }
+                            default -> {
+                                MockEmployee employee = store.add(employee(name));
+                                mine.add(employee.getId());
+                                added.incrementAndGet();
+                            }
+                        }
+                        gone.ifPresent(employee -> {
+                            assertThat(removed.add(employee.getId())).isTrue();
+                            removals.incrementAndGet();
+                        });
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<MockEmployee> remaining = store.findAll();
+        assertThat(remaining).hasSize(added.get() - removals.get());
+        assertThat(store.size()).isEqualTo(remaining.size());
+        for (MockEmployee employee : remaining) {
+            assertThat(removed).doesNotContain(employee.getId());
+            assertThat(store.findById(employee.getId())).contains(employee);
+        }
+        for (UUID id : removed) {
+            assertThat(store.findById(id)).isEmpty();
+        }
+        assertThat(store.version()).isEqualTo(added.get() + removals.get());
+        assertThat(store.changesSince(0, Integer.MAX_VALUE)).hasSize(added.get() + removals.get());
+
+        // the name index must hold exactly the remaining employees
+        int drained = 0;
+        for (int i = 0; i < 16; i++) {
+            while (store.removeFirstByName("name " + i).isPresent()) {
+                drained++;
+            }
+        }
+        assertThat(drained).isEqualTo(remaining.size());
+        assertThat(store.size()).isZero();
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100_000)
+                .age(36)
+                .title("Engineer")
+                .email("employee@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class KeyedRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void keysAreKeptUntilTheLimitIsReached() {
+        KeyedRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofSeconds(1), 3, nanos::get);
+
+        limiter.tryAcquire("first");
+        limiter.tryAcquire("second");
+        advance(Duration.ofMinutes(1));
+        limiter.tryAcquire("third");
+
+        assertThat(limiter.keyCount()).isEqualTo(3);
+    }
+
+    @Test
+    void idleTokenBucketsAreEvictedOnceFull() {
+        KeyedRateLimiter limiter = new TokenBucketRateLimiter(2, Duration.ofSeconds(4), 2, nanos::get);
+        limiter.tryAcquire("idle");
+        limiter.tryAcquire("busy");
+        limiter.tryAcquire("busy");
+
+        // "idle" has refilled after 2s, "busy" needs 4s
+        advance(Duration.ofSeconds(3));
+        limiter.tryAcquire("new");
+
+        assertThat(limiter.keyCount()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("busy")).isZero();
+        assertThat(limiter.tryAcquire("busy")).isPositive();
+    }
+
+    @Test
+    void idleSlidingWindowsAreEvictedOnceFull() {
+        KeyedRateLimiter limiter = new SlidingWindowRateLimiter(1, Duration.ofSeconds(10), 2, nanos::get);
+        limiter.tryAcquire("old");
+        advance(Duration.ofSeconds(10));
+        limiter.tryAcquire("recent");
+
+        // "old" last counted two windows ago, "recent" still weighs on the sliding window
+        advance(Duration.ofSeconds(10));
+        limiter.tryAcquire("new");
+
+        assertThat(limiter.keyCount()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("recent")).isPositive();
+    }
+
+    @Test
+    void sweepRunsAtMostOncePerSecond() {
+        KeyedRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofMillis(100), 1, nanos::get);
+        limiter.tryAcquire("first");
+        advance(Duration.ofSeconds(1));
+        limiter.tryAcquire("second");
+        assertThat(limiter.keyCount()).isEqualTo(1);
+
+        advance(Duration.ofMillis(500));
+        limiter.tryAcquire("third");
+        assertThat(limiter.keyCount()).isEqualTo(2);
+
+        advance(Duration.ofMillis(500));
+        limiter.tryAcquire("fourth");
+        assertThat(limiter.keyCount()).isEqualTo(1);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
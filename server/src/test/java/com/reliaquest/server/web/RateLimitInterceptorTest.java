@@ -0,0 +1,77 @@
+package com.reliaquest.server.web;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.reliaquest.server.config.MockServerProperties;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+class RateLimitInterceptorTest {
+
+    private static final String KEY_HEADER = "X-Client-Id";
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        RateLimiter rateLimiter = new TokenBucketRateLimiter(1, Duration.ofSeconds(10), 100, nanos::get);
+        mockMvc = MockMvcBuilders.standaloneSetup(new PingController())
+                .addInterceptors(
+                        new RateLimitInterceptor(rateLimiter, MockServerProperties.ClientKey.HEADER, KEY_HEADER))
+                .build();
+    }
+
+    @Test
+    void exhaustedClientGetsTooManyRequestsWithRetryAfter() throws Exception {
+        mockMvc.perform(get("/ping").header(KEY_HEADER, "alice"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.RETRY_AFTER));
+
+        mockMvc.perform(get("/ping").header(KEY_HEADER, "alice"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"));
+    }
+
+    @Test
+    void retryAfterRoundsUpToWholeSeconds() throws Exception {
+        mockMvc.perform(get("/ping").header(KEY_HEADER, "alice")).andExpect(status().isOk());
+
+        nanos.addAndGet(Duration.ofMillis(9_500).toNanos());
+
+        mockMvc.perform(get("/ping").header(KEY_HEADER, "alice"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+        nanos.addAndGet(Duration.ofMillis(500).toNanos());
+
+        mockMvc.perform(get("/ping").header(KEY_HEADER, "alice")).andExpect(status().isOk());
+    }
+
+    @Test
+    void clientsAreLimitedByTheirOwnKey() throws Exception {
+        mockMvc.perform(get("/ping").header(KEY_HEADER, "alice")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/ping").header(KEY_HEADER, "bob")).andExpect(status().isOk());
+        mockMvc.perform(get("/ping")).andExpect(status().isOk());
+        mockMvc.perform(get("/ping")).andExpect(status().isTooManyRequests());
+    }
+
+    @RestController
+    static class PingController {
+
+        @GetMapping("/ping")
+        String ping() {
+            return "pong";
+        }
+    }
+}
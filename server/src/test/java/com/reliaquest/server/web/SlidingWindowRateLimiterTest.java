@@ -0,0 +1,93 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void limitIsAdmittedWithinOneWindow() {
+        SlidingWindowRateLimiter limiter = newLimiter(4, Duration.ofSeconds(10));
+
+        drain(limiter, 4);
+
+        // the four requests weigh less than one more only a quarter into the next window
+        assertThat(limiter.tryAcquire("client")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(12_500));
+    }
+
+    @Test
+    void previousWindowIsWeightedByItsOverlapAfterRollover() {
+        SlidingWindowRateLimiter limiter = newLimiter(4, Duration.ofSeconds(10));
+        drain(limiter, 4);
+
+        advance(Duration.ofMillis(12_500));
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(2_500));
+
+        advance(Duration.ofMillis(2_500));
+        assertThat(limiter.tryAcquire("client")).isZero();
+    }
+
+    @Test
+    void windowOlderThanThePreviousOneIsForgotten() {
+        SlidingWindowRateLimiter limiter = newLimiter(4, Duration.ofSeconds(10));
+        drain(limiter, 4);
+
+        advance(Duration.ofSeconds(20));
+
+        drain(limiter, 4);
+        assertThat(limiter.tryAcquire("client")).isPositive();
+    }
+
+    @Test
+    void rejectedRequestsAreNotCounted() {
+        SlidingWindowRateLimiter limiter = newLimiter(2, Duration.ofSeconds(10));
+        drain(limiter, 2);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("client")).isPositive();
+        }
+
+        advance(Duration.ofSeconds(20));
+
+        drain(limiter, 2);
+    }
+
+    @Test
+    void keysHaveIndependentWindows() {
+        SlidingWindowRateLimiter limiter = newLimiter(1, Duration.ofSeconds(10));
+
+        assertThat(limiter.tryAcquire("first")).isZero();
+        assertThat(limiter.tryAcquire("first")).isPositive();
+        assertThat(limiter.tryAcquire("second")).isZero();
+    }
+
+    @Test
+    void limitMustFitThePackedCounters() {
+        assertThatThrownBy(() -> newLimiter(0, Duration.ofSeconds(1))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> newLimiter(SlidingWindowRateLimiter.MAX_LIMIT + 1, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> newLimiter(1, Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private SlidingWindowRateLimiter newLimiter(int limit, Duration window) {
+        return new SlidingWindowRateLimiter(limit, window, 100, nanos::get);
+    }
+
+    private void drain(SlidingWindowRateLimiter limiter, int permits) {
+        for (int i = 0; i < permits; i++) {
+            assertThat(limiter.tryAcquire("client")).isZero();
+        }
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void fullBucketServesItsCapacityAsABurst() {
+        TokenBucketRateLimiter limiter = newLimiter(3, Duration.ofSeconds(3));
+
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void permitsRefillOneEmissionIntervalAtATime() {
+        TokenBucketRateLimiter limiter = newLimiter(3, Duration.ofSeconds(3));
+        drain(limiter, 3);
+
+        advance(Duration.ofMillis(400));
+        assertThat(limiter.tryAcquire("client")).isEqualTo(TimeUnit.MILLISECONDS.toNanos(600));
+
+        advance(Duration.ofMillis(600));
+        assertThat(limiter.tryAcquire("client")).isZero();
+        assertThat(limiter.tryAcquire("client")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void idleTimeRefillsNoMoreThanTheCapacity() {
+        TokenBucketRateLimiter limiter = newLimiter(3, Duration.ofSeconds(3));
+        drain(limiter, 3);
+
+        advance(Duration.ofMinutes(5));
+
+        drain(limiter, 3);
+        assertThat(limiter.tryAcquire("client")).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumePermits() {
+        TokenBucketRateLimiter limiter = newLimiter(1, Duration.ofSeconds(10));
+        drain(limiter, 1);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("client")).isEqualTo(TimeUnit.SECONDS.toNanos(10));
+        }
+        advance(Duration.ofSeconds(10));
+        assertThat(limiter.tryAcquire("client")).isZero();
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        TokenBucketRateLimiter limiter = newLimiter(1, Duration.ofSeconds(10));
+
+        assertThat(limiter.tryAcquire("first")).isZero();
+        assertThat(limiter.tryAcquire("first")).isPositive();
+        assertThat(limiter.tryAcquire("second")).isZero();
+    }
+
+    @Test
+    void capacityAndPeriodMustBePositive() {
+        assertThatThrownBy(() -> newLimiter(0, Duration.ofSeconds(1))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> newLimiter(1, Duration.ZERO)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TokenBucketRateLimiter newLimiter(int capacity, Duration period) {
+        return new TokenBucketRateLimiter(capacity, period, 100, nanos::get);
+    }
+
+    private void drain(TokenBucketRateLimiter limiter, int permits) {
+        for (int i = 0; i < permits; i++) {
+            assertThat(limiter.tryAcquire("client")).isZero();
+        }
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
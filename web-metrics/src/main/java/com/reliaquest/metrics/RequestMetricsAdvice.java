@@ -0,0 +1,49 @@
+package com.reliaquest.metrics;
+
+import java.util.function.Function;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks the end of handling, and the start of serialization, for {@link RequestMetricsFilter}, and counts the
+ * results in the body. Applications register it as a bean, with a counter that knows their response types.
+ */
+@ControllerAdvice
+public class RequestMetricsAdvice implements ResponseBodyAdvice<Object> {
+
+    private final Function<Object, Integer> resultCounter;
+
+    /**
+     * @param resultCounter the number of results in a response body, or {@code null} for a body that has no count
+     */
+    public RequestMetricsAdvice(Function<Object, Integer> resultCounter) {
+        this.resultCounter = resultCounter;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(RequestTimings.ATTRIBUTE)
+                        instanceof RequestTimings timings) {
+            timings.handled(resultCounter.apply(body));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,212 @@
+package com.reliaquest.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records each request by method, route and, for the total, status and exception: its latency split into time
+ * waiting on an upstream, local compute and serialization, the bytes written and the number of results returned.
+ * Upstream time is only recorded for requests that called one through {@link RequestTimings#upstream}. Streamed
+ * bodies are written by the handler itself, so their serialization counts as compute and their results are not
+ * counted; results are otherwise counted by the {@link RequestMetricsAdvice}.
+ */
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final String requests;
+    private final String phases;
+    private final String responseSize;
+    private final String results;
+
+    /** Records under {@code <prefix>.requests}, {@code .requests.phase}, {@code .requests.response-size} and so on. */
+    public RequestMetricsFilter(MeterRegistry meterRegistry, String prefix) {
+        this.meterRegistry = meterRegistry;
+        this.requests = prefix + ".requests";
+        this.phases = requests + ".phase";
+        this.responseSize = requests + ".response-size";
+        this.results = requests + ".results";
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = new RequestTimings(System.nanoTime());
+        request.setAttribute(RequestTimings.ATTRIBUTE, timings);
+        CountingResponse countingResponse = new CountingResponse(response);
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, countingResponse, timings, null);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {}
+
+                    @Override
+                    public void onError(AsyncEvent event) {}
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {}
+                });
+            } else {
+                record(request, countingResponse, timings, failure);
+            }
+        }
+    }
+
+    /**
+     * A request the chain threw for is tagged 500, as the container answers it after every filter has returned and the
+     * response still shows the status from before.
+     */
+    private void record(
+            HttpServletRequest request, CountingResponse response, RequestTimings timings, Throwable failure) {
+        long endNanos = System.nanoTime();
+        long handledNanos = timings.handledNanos(endNanos);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", route(request));
+        Timer.builder(requests)
+                .description("Requests served, from the first filter to the last byte written")
+                .tags(tags)
+                .tag("status", failure == null ? String.valueOf(response.getStatus()) : "500")
+                .tag("exception", failure == null ? "none" : exceptionName(failure))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(endNanos - timings.startNanos(), TimeUnit.NANOSECONDS);
+        if (timings.calledUpstream()) {
+            recordPhase(tags, "upstream", timings.upstreamNanos());
+        }
+        recordPhase(tags, "compute", handledNanos - timings.startNanos() - timings.upstreamNanos());
+        recordPhase(tags, "serialization", endNanos - handledNanos);
+        DistributionSummary.builder(responseSize)
+                .description("Response body bytes written, before any compression")
+                .baseUnit("bytes")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(response.bytesWritten());
+        if (timings.results() != null) {
+            DistributionSummary.builder(results)
+                    .description("Results in the response body, such as employees")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(timings.results());
+        }
+    }
+
+    private void recordPhase(Tags tags, String phase, long nanos) {
+        Timer.builder(phases)
+                .description("Request time by where it was spent")
+                .tags(tags)
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Math.max(0, nanos), TimeUnit.NANOSECONDS);
+    }
+
+    /** Names what the handler threw, which reaches filters wrapped in a {@link ServletException}. */
+    private static String exceptionName(Throwable failure) {
+        Throwable cause =
+                failure instanceof ServletException && failure.getCause() != null ? failure.getCause() : failure;
+        String name = cause.getClass().getSimpleName();
+        return name.isEmpty() ? cause.getClass().getName() : name;
+    }
+
+    /** The matched route pattern, so ids and search strings do not each get their own series. */
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+
+    /**
+     * Counts the bytes written through the output stream, without buffering them. The writer is left alone, as wrapping
+     * it would add a buffer nobody flushes.
+     */
+    private static class CountingResponse extends HttpServletResponseWrapper {
+
+        private final AtomicLong bytesWritten = new AtomicLong();
+        private ServletOutputStream outputStream;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        long bytesWritten() {
+            return bytesWritten.get();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream(), bytesWritten);
+            }
+            return outputStream;
+        }
+    }
+
+    private static class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private final AtomicLong bytesWritten;
+
+        CountingOutputStream(ServletOutputStream delegate, AtomicLong bytesWritten) {
+            this.delegate = delegate;
+            this.bytesWritten = bytesWritten;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            bytesWritten.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            bytesWritten.addAndGet(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
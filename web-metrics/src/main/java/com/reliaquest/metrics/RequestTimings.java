@@ -0,0 +1,84 @@
+package com.reliaquest.metrics;
+
+import java.util.function.Supplier;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Where one request's time went, filled in while it is handled and recorded by {@link RequestMetricsFilter}: time
+ * spent waiting on an upstream, when the handler returned its body, and how many results that body holds.
+ *
+ * <p>Only touched from the thread handling the request, so the fields need no synchronization.
+ */
+public final class RequestTimings {
+
+    static final String ATTRIBUTE = RequestTimings.class.getName();
+
+    private final long startNanos;
+    private boolean calledUpstream;
+    private long upstreamNanos;
+    private long upstreamStartNanos;
+    private int upstreamDepth;
+    private long handledNanos;
+    private Integer results;
+
+    RequestTimings(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Runs {@code call} and counts its time as upstream time of the current request, if there is one. Nested calls
+     * are only counted once.
+     */
+    public static <T> T upstream(Supplier<T> call) {
+        RequestTimings timings = current();
+        if (timings == null) {
+            return call.get();
+        }
+        timings.calledUpstream = true;
+        if (timings.upstreamDepth++ == 0) {
+            timings.upstreamStartNanos = System.nanoTime();
+        }
+        try {
+            return call.get();
+        } finally {
+            if (--timings.upstreamDepth == 0) {
+                timings.upstreamNanos += System.nanoTime() - timings.upstreamStartNanos;
+            }
+        }
+    }
+
+    static RequestTimings current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null
+                ? null
+                : (RequestTimings) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /** The handler returned {@code results} results, or a body without a count when null; writing it starts now. */
+    void handled(Integer results) {
+        this.handledNanos = System.nanoTime();
+        this.results = results;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    boolean calledUpstream() {
+        return calledUpstream;
+    }
+
+    long upstreamNanos() {
+        return upstreamNanos;
+    }
+
+    /** When the body started to be written, or {@code endNanos} for a body that was streamed or never written. */
+    long handledNanos(long endNanos) {
+        return handledNanos == 0 ? endNanos : handledNanos;
+    }
+
+    Integer results() {
+        return results;
+    }
+}
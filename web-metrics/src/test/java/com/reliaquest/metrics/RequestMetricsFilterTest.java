@@ -0,0 +1,143 @@
+package com.reliaquest.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+class RequestMetricsFilterTest {
+
+    private static final String REQUESTS = "test.requests";
+    private static final String PHASES = "test.requests.phase";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new ItemController())
+                .setControllerAdvice(
+                        new RequestMetricsAdvice(body -> body instanceof Collection<?> items ? items.size() : null))
+                .addFilters(new RequestMetricsFilter(meterRegistry, "test"))
+                .build();
+    }
+
+    @Test
+    void recordsLatencySizeAndResultsByRoute() throws Exception {
+        mockMvc.perform(get("/items/7")).andExpect(status().isOk());
+
+        assertThat(meterRegistry
+                        .get(REQUESTS)
+                        .tags("method", "GET", "uri", "/items/{id}", "status", "200", "exception", "none")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+        assertThat(meterRegistry
+                        .get("test.requests.response-size")
+                        .tag("uri", "/items/{id}")
+                        .summary()
+                        .totalAmount())
+                .isEqualTo("[\"a\",\"b\",\"c\"]".length());
+        assertThat(meterRegistry
+                        .get("test.requests.results")
+                        .tag("uri", "/items/{id}")
+                        .summary()
+                        .totalAmount())
+                .isEqualTo(3);
+    }
+
+    @Test
+    void splitsUpstreamTimeFromCompute() throws Exception {
+        mockMvc.perform(get("/items/7")).andExpect(status().isOk());
+
+        double upstreamMillis = meterRegistry
+                .get(PHASES)
+                .tag("phase", "upstream")
+                .timer()
+                .totalTime(TimeUnit.MILLISECONDS);
+        double totalMillis = meterRegistry.get(REQUESTS).timer().totalTime(TimeUnit.MILLISECONDS);
+        assertThat(upstreamMillis).isBetween((double) ItemController.UPSTREAM_MILLIS, totalMillis);
+        for (String phase : List.of("compute", "serialization")) {
+            assertThat(meterRegistry.get(PHASES).tag("phase", phase).timer().count())
+                    .isEqualTo(1);
+        }
+    }
+
+    @Test
+    void requestsWithoutUpstreamCallsHaveNoUpstreamPhase() throws Exception {
+        mockMvc.perform(get("/local")).andExpect(status().isOk());
+
+        assertThat(meterRegistry.find(PHASES).tag("phase", "upstream").timer()).isNull();
+        assertThat(meterRegistry
+                        .get(PHASES)
+                        .tags("uri", "/local", "phase", "compute")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.find("test.requests.results").summary()).isNull();
+    }
+
+    @Test
+    void unmatchedRequestsShareOneRoute() throws Exception {
+        mockMvc.perform(get("/unknown/path")).andExpect(status().isNotFound());
+
+        assertThat(meterRegistry
+                        .get(REQUESTS)
+                        .tags("uri", "UNKNOWN", "status", "404")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void requestsTheChainThrewForAreTaggedWithTheException() {
+        assertThatThrownBy(() -> mockMvc.perform(get("/items/broken"))).hasCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry
+                        .get(REQUESTS)
+                        .tags("uri", "/items/broken", "status", "500", "exception", "IllegalStateException")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @RestController
+    static class ItemController {
+
+        static final long UPSTREAM_MILLIS = 20;
+
+        @GetMapping("/items/{id}")
+        List<String> items(@PathVariable String id) {
+            return RequestTimings.upstream(() -> {
+                try {
+                    Thread.sleep(UPSTREAM_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return List.of("a", "b", "c");
+            });
+        }
+
+        @GetMapping("/items/broken")
+        List<String> broken() {
+            throw new IllegalStateException("broken");
+        }
+
+        @GetMapping("/local")
+        String local() {
+            return "local";
+        }
+    }
+}